@@ -0,0 +1,111 @@
+package com.eklesa.subscription.entitlement;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Diccionario featureCode -> índice.
+ * 
+ * Límites: los primeros índices son los de LimitedFeature (columnas de
+ * plans); después van los códigos que solo existen en filas LIMIT.
+ * Capabilities: un índice por código MODULE/CAPABILITY (bit de PlanCapabilities).
+ * Todas las PlanLimits de un mismo FeatureRegistry comparten el diccionario.
+ * 
+ * NOTA: Inmutable. Un cambio en plan_features compila un diccionario nuevo.
+ */
+public final class FeatureIndex {
+    
+    /**
+     * Índice de un código desconocido (en límites: feature ilimitada).
+     */
+    public static final int NOT_FOUND = -1;
+    
+    /**
+     * Solo las features de columnas (planes sin filas LIMIT).
+     */
+    public static final FeatureIndex BASE = of(Set.of());
+    
+    private final Map<String, Integer> indexByCode;
+    private final String[] codes;
+    private final String[] displayNames;
+    
+    private FeatureIndex(String[] codes, String[] displayNames) {
+        this.codes = codes;
+        this.displayNames = displayNames;
+        this.indexByCode = new HashMap<>(codes.length * 2);
+        for (int i = 0; i < codes.length; i++) {
+            indexByCode.put(codes[i], i);
+        }
+    }
+    
+    /**
+     * Construye el diccionario: features de columnas + códigos extra (en mayúsculas).
+     */
+    public static FeatureIndex of(Collection<String> extraCodes) {
+        Set<String> codes = new LinkedHashSet<>();
+        for (LimitedFeature feature : LimitedFeature.values()) {
+            codes.add(feature.name());
+        }
+        codes.addAll(extraCodes);
+        return build(codes);
+    }
+    
+    /**
+     * Diccionario solo con los códigos dados (features MODULE/CAPABILITY).
+     */
+    public static FeatureIndex ofCodes(Collection<String> codes) {
+        return build(new LinkedHashSet<>(codes));
+    }
+    
+    /**
+     * Resuelve un featureCode (sin importar mayúsculas).
+     * 
+     * RETORNA: NOT_FOUND si el código no está en el diccionario
+     * (en límites: la feature no tiene límite numérico).
+     * 
+     * NOTA: Los códigos ya en mayúsculas (el caso normal) no asignan memoria.
+     */
+    public int indexOf(String featureCode) {
+        if (featureCode == null) {
+            return NOT_FOUND;
+        }
+        Integer index = indexByCode.get(featureCode);
+        if (index == null) {
+            index = indexByCode.get(featureCode.toUpperCase(Locale.ROOT));
+        }
+        return index != null ? index : NOT_FOUND;
+    }
+    
+    public int size() {
+        return codes.length;
+    }
+    
+    public String code(int index) {
+        return codes[index];
+    }
+    
+    /**
+     * Nombre para mensajes al usuario ("contactos", "usuarios"...).
+     */
+    public String displayName(int index) {
+        return displayNames[index];
+    }
+    
+    private static FeatureIndex build(Set<String> codes) {
+        String[] codeArray = codes.toArray(new String[0]);
+        String[] names = new String[codeArray.length];
+        for (int i = 0; i < codeArray.length; i++) {
+            LimitedFeature base = i < LimitedFeature.values().length && LimitedFeature.values()[i].name().equals(codeArray[i])
+                ? LimitedFeature.values()[i]
+                : null;
+            names[i] = base != null
+                ? base.getDisplayName()
+                : codeArray[i].toLowerCase(Locale.ROOT).replace('_', ' ');
+        }
+        return new FeatureIndex(codeArray, names);
+    }
+}
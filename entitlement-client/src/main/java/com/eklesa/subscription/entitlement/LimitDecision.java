@@ -0,0 +1,58 @@
+package com.eklesa.subscription.entitlement;
+
+/**
+ * Resultado de LimitEvaluator.decide().
+ * 
+ * Solo enteros (y el límite ya boxeado de PlanLimits): cada lado arma
+ * su propia respuesta (DTO del servidor, resultado del cliente).
+ * 
+ * remaining y usageBasisPoints no aplican en INACTIVE ni UNLIMITED (0).
+ */
+public record LimitDecision(
+    Outcome outcome,
+    int feature,
+    int currentUsage,
+    Integer maxLimit,
+    int remaining,
+    int usageBasisPoints
+) {
+    
+    public enum Outcome {
+        /**
+         * Subscription sin acceso o en solo lectura (grace period, suspended...).
+         */
+        INACTIVE,
+        
+        /**
+         * El plan no limita la feature.
+         */
+        UNLIMITED,
+        
+        /**
+         * Dentro del límite.
+         */
+        ALLOWED,
+        
+        /**
+         * Sobre el límite pero dentro del soft limit: se permite con aviso.
+         */
+        NEAR_LIMIT,
+        
+        /**
+         * Sobre el soft limit: no se permite.
+         */
+        EXCEEDED
+    }
+    
+    static LimitDecision inactive(int currentUsage) {
+        return new LimitDecision(Outcome.INACTIVE, FeatureIndex.NOT_FOUND, currentUsage, null, 0, 0);
+    }
+    
+    static LimitDecision unlimited(int feature, int currentUsage) {
+        return new LimitDecision(Outcome.UNLIMITED, feature, currentUsage, null, 0, 0);
+    }
+    
+    public boolean allowed() {
+        return outcome != Outcome.INACTIVE && outcome != Outcome.EXCEEDED;
+    }
+}
@@ -0,0 +1,111 @@
+package com.eklesa.subscription.entitlement;
+
+import java.math.BigDecimal;
+
+/**
+ * Aritmética de límites con enteros.
+ * 
+ * Los porcentajes se manejan en basis points (1 bp = 0.01%): 8400 = 84.00%.
+ * Solo los DTOs de respuesta convierten a BigDecimal (toPercentage).
+ * 
+ * decide() es LA regla de validateFeatureLimit: la usan FeatureLimitService
+ * (servidor) y EntitlementClient (en el proceso del llamador), así las
+ * decisiones son idénticas.
+ * 
+ * USADO POR: FeatureLimitService, UsageTrackingService, PlanLimits, EntitlementClient
+ */
+public final class LimitEvaluator {
+    
+    /**
+     * Soft limit: se permite hasta 110% del límite del plan.
+     */
+    public static final int SOFT_LIMIT_GRACE_PERCENT = 110;
+    
+    /**
+     * 100% en basis points.
+     */
+    public static final int FULL_BASIS_POINTS = 10_000;
+    
+    private LimitEvaluator() {
+    }
+    
+    /**
+     * Decide si se permite un uso.
+     * 
+     * REGLAS:
+     * - Subscription sin acceso o en solo lectura: INACTIVE
+     * - Feature sin límite en el plan: UNLIMITED
+     * - Nuevo uso por encima del soft limit (110%): EXCEEDED
+     * - Nuevo uso por encima del límite (hasta 110%): NEAR_LIMIT (se permite)
+     * - Resto: ALLOWED
+     */
+    public static LimitDecision decide(
+        boolean active,
+        PlanLimits limits,
+        String featureCode,
+        int currentCount,
+        int incrementBy
+    ) {
+        if (!active) {
+            return LimitDecision.inactive(currentCount);
+        }
+        
+        int feature = limits.indexOf(featureCode);
+        if (limits.isUnlimited(feature)) {
+            return LimitDecision.unlimited(feature, currentCount);
+        }
+        
+        int maxLimit = limits.maxLimit(feature);
+        Integer maxLimitValue = limits.maxLimitOrNull(feature); // ya boxeado
+        int newUsage = currentCount + incrementBy;
+        
+        if (newUsage > limits.softLimit(feature)) {
+            return new LimitDecision(LimitDecision.Outcome.EXCEEDED, feature, currentCount, maxLimitValue,
+                0, usageBasisPoints(currentCount, maxLimit));
+        }
+        
+        return new LimitDecision(
+            newUsage > maxLimit ? LimitDecision.Outcome.NEAR_LIMIT : LimitDecision.Outcome.ALLOWED,
+            feature,
+            currentCount,
+            maxLimitValue,
+            remaining(newUsage, maxLimit),
+            usageBasisPoints(newUsage, maxLimit)
+        );
+    }
+    
+    /**
+     * Soft limit de un límite (truncado, igual que antes con 1.10).
+     */
+    public static int softLimitOf(int maxLimit) {
+        return (int) ((long) maxLimit * SOFT_LIMIT_GRACE_PERCENT / 100);
+    }
+    
+    /**
+     * Uso como porcentaje del límite en basis points (HALF_UP).
+     * 
+     * Equivale a current / max con 4 decimales: 4200 de 5000 = 8400.
+     * Límite 0 o negativo retorna 0.
+     */
+    public static int usageBasisPoints(int current, int maxLimit) {
+        if (maxLimit <= 0 || current <= 0) {
+            return 0;
+        }
+        long basisPoints = ((long) current * FULL_BASIS_POINTS * 2 + maxLimit) / (2L * maxLimit);
+        return (int) Math.min(basisPoints, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Cuánto queda antes del límite (nunca negativo).
+     */
+    public static int remaining(int usage, int maxLimit) {
+        return Math.max(0, maxLimit - usage);
+    }
+    
+    /**
+     * Convierte basis points a porcentaje con 2 decimales (8400 -> 84.00).
+     */
+    public static BigDecimal toPercentage(int basisPoints) {
+        return basisPoints == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(basisPoints, 2);
+    }
+}
@@ -0,0 +1,36 @@
+package com.eklesa.subscription.entitlement;
+
+/**
+ * Features con límite en columnas fijas de plans (max_contacts, max_users...).
+ * 
+ * Ocupan los primeros índices de FeatureIndex (índice = ordinal), así
+ * getCurrentLimits las lee sin resolver códigos. Las demás features con
+ * límite salen de las filas LIMIT de plan_features (FeatureRegistry).
+ */
+public enum LimitedFeature {
+    
+    CONTACTS("contactos"),
+    USERS("usuarios"),
+    PIPELINES("pipelines"),
+    DEALS("deals");
+    
+    /**
+     * Nombre para mensajes al usuario.
+     */
+    private final String displayName;
+    
+    LimitedFeature(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * Índice en las tablas de PlanLimits.
+     */
+    public int index() {
+        return ordinal();
+    }
+}
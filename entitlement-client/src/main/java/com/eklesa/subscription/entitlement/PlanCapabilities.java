@@ -0,0 +1,72 @@
+package com.eklesa.subscription.entitlement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Features MODULE/CAPABILITY habilitadas de un plan, compiladas a un bitset.
+ * 
+ * El bit i corresponde al código i del FeatureIndex de capabilities del
+ * registro. has() es un lookup en el diccionario + una operación de bits.
+ * 
+ * NOTA: Inmutable (long[] en lugar de java.util.BitSet, que es mutable).
+ */
+public final class PlanCapabilities {
+    
+    /**
+     * Plan sin features compiladas.
+     */
+    public static final PlanCapabilities NONE = of(FeatureIndex.ofCodes(Set.of()), Set.of());
+    
+    private final FeatureIndex features;
+    private final long[] bits;
+    
+    private PlanCapabilities(FeatureIndex features, long[] bits) {
+        this.features = features;
+        this.bits = bits;
+    }
+    
+    /**
+     * Construye el bitset con los códigos habilitados (los desconocidos se ignoran).
+     */
+    public static PlanCapabilities of(FeatureIndex features, Collection<String> enabledCodes) {
+        long[] bits = new long[(features.size() + 63) >>> 6];
+        for (String code : enabledCodes) {
+            int feature = features.indexOf(code);
+            if (feature != FeatureIndex.NOT_FOUND) {
+                bits[feature >>> 6] |= 1L << feature;
+            }
+        }
+        return new PlanCapabilities(features, bits);
+    }
+    
+    /**
+     * Verifica si el plan incluye la feature (sin importar mayúsculas).
+     */
+    public boolean has(String featureCode) {
+        return has(features.indexOf(featureCode));
+    }
+    
+    public boolean has(int feature) {
+        if (feature == FeatureIndex.NOT_FOUND) {
+            return false;
+        }
+        int word = feature >>> 6;
+        return word < bits.length && (bits[word] & (1L << feature)) != 0;
+    }
+    
+    /**
+     * Códigos habilitados, en orden de índice.
+     */
+    public List<String> enabledCodes() {
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < features.size(); i++) {
+            if (has(i)) {
+                codes.add(features.code(i));
+            }
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,116 @@
+package com.eklesa.subscription.entitlement;
+
+import java.util.Arrays;
+
+/**
+ * Límites de un plan pre-calculados en tablas de enteros.
+ * 
+ * Se compila UNA vez por plan (FeatureRegistry en el servidor, feed en
+ * EntitlementClient): el límite y el soft
+ * limit de cada feature se leen por índice (FeatureIndex), sin
+ * BigDecimal ni doubles.
+ */
+public final class PlanLimits {
+    
+    /**
+     * Valor en las tablas para "sin límite".
+     */
+    public static final int UNLIMITED = -1;
+    
+    private final FeatureIndex features;
+    private final int[] maxLimits;
+    private final int[] softLimits;
+    
+    /**
+     * Mismos valores ya boxeados: los DTOs los reutilizan sin asignar Integers.
+     */
+    private final Integer[] boxedMaxLimits;
+    private final Integer[] boxedSoftLimits;
+    
+    private PlanLimits(FeatureIndex features, int[] maxLimits) {
+        this.features = features;
+        this.maxLimits = maxLimits;
+        this.softLimits = new int[maxLimits.length];
+        this.boxedMaxLimits = new Integer[maxLimits.length];
+        this.boxedSoftLimits = new Integer[maxLimits.length];
+        for (int i = 0; i < maxLimits.length; i++) {
+            if (maxLimits[i] != UNLIMITED) {
+                softLimits[i] = LimitEvaluator.softLimitOf(maxLimits[i]);
+                boxedMaxLimits[i] = maxLimits[i];
+                boxedSoftLimits[i] = softLimits[i];
+            } else {
+                softLimits[i] = UNLIMITED;
+            }
+        }
+    }
+    
+    /**
+     * Construye los límites de un plan.
+     * 
+     * maxLimits: un valor por feature del diccionario (UNLIMITED = sin límite).
+     */
+    public static PlanLimits of(FeatureIndex features, int[] maxLimits) {
+        if (maxLimits.length != features.size()) {
+            throw new IllegalArgumentException(
+                "Expected " + features.size() + " limits, got " + maxLimits.length);
+        }
+        return new PlanLimits(features, maxLimits.clone());
+    }
+    
+    /**
+     * Índice de un featureCode (FeatureIndex.NOT_FOUND = ilimitada).
+     */
+    public int indexOf(String featureCode) {
+        return features.indexOf(featureCode);
+    }
+    
+    public String displayName(int feature) {
+        return features.displayName(feature);
+    }
+    
+    /**
+     * Features desconocidas (NOT_FOUND) son ilimitadas.
+     */
+    public boolean isUnlimited(int feature) {
+        return feature == FeatureIndex.NOT_FOUND || maxLimits[feature] == UNLIMITED;
+    }
+    
+    /**
+     * Límite del plan. Llamar solo si !isUnlimited(feature).
+     */
+    public int maxLimit(int feature) {
+        return maxLimits[feature];
+    }
+    
+    /**
+     * Soft limit (110% del límite). Llamar solo si !isUnlimited(feature).
+     */
+    public int softLimit(int feature) {
+        return softLimits[feature];
+    }
+    
+    /**
+     * Límite como Integer para DTOs (null = ilimitado).
+     */
+    public Integer maxLimitOrNull(int feature) {
+        return feature != FeatureIndex.NOT_FOUND ? boxedMaxLimits[feature] : null;
+    }
+    
+    /**
+     * Soft limit como Integer (null = ilimitado).
+     */
+    public Integer softLimitOrNull(int feature) {
+        return feature != FeatureIndex.NOT_FOUND ? boxedSoftLimits[feature] : null;
+    }
+    
+    public FeatureIndex getFeatures() {
+        return features;
+    }
+    
+    /**
+     * Copia de los límites por índice (para el feed de EntitlementClient).
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(maxLimits, maxLimits.length);
+    }
+}
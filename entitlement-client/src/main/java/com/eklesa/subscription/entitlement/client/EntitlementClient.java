@@ -0,0 +1,359 @@
+package com.eklesa.subscription.entitlement.client;
+
+import com.eklesa.subscription.entitlement.FeatureIndex;
+import com.eklesa.subscription.entitlement.LimitDecision;
+import com.eklesa.subscription.entitlement.LimitEvaluator;
+import com.eklesa.subscription.entitlement.PlanCapabilities;
+import com.eklesa.subscription.entitlement.PlanLimits;
+import com.eklesa.subscription.entitlement.feed.EntitlementFeed;
+import com.eklesa.subscription.entitlement.feed.OrganizationEntry;
+import com.eklesa.subscription.entitlement.feed.PlanEntry;
+import com.eklesa.subscription.entitlement.feed.RegistryEntry;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Cliente de entitlements con evaluación local.
+ * 
+ * RESPONSABILIDADES:
+ * - Mantener una copia local de los límites de los planes y de la foto
+ *   de cada organización (feed versionado de subscription-service)
+ * - Evaluar validateFeatureLimit en el proceso del llamador, con la MISMA
+ *   regla que el servidor (LimitEvaluator.decide)
+ * - Refrescar de forma incremental (cursor) y re-sincronizar todo cada
+ *   fullResyncInterval
+ * 
+ * USO (crm-service):
+ * <pre>
+ * EntitlementClient client = EntitlementClient.builder("http://subscription-service:8080")
+ *     .bearerToken(tokenProvider::getToken)
+ *     .build();
+ * client.start();
+ * 
+ * Optional&lt;LimitDecision&gt; decision = client.validate(orgId, "CONTACTS", currentCount, 1);
+ * // empty: org aún no sincronizada -> POST /api/limits/validate
+ * </pre>
+ * 
+ * NOTA: La copia local puede atrasarse hasta refreshInterval (+ el lag del
+ * feed). Para decisiones atómicas entre pods usar POST /api/limits/reserve.
+ */
+public class EntitlementClient implements AutoCloseable {
+    
+    private static final System.Logger log = System.getLogger(EntitlementClient.class.getName());
+    
+    private static final String FEED_PATH = "/api/entitlements/feed";
+    
+    private final String baseUrl;
+    private final Supplier<String> bearerToken;
+    private final Duration refreshInterval;
+    private final Duration fullResyncInterval;
+    private final int pageSize;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    
+    private volatile Map<Long, OrganizationEntry> organizations = new ConcurrentHashMap<>();
+    
+    private volatile Registry registry;
+    private volatile String cursor;
+    private volatile long lastFullResyncNanos;
+    private ScheduledExecutorService scheduler;
+    
+    private EntitlementClient(Builder builder) {
+        this.baseUrl = builder.baseUrl.endsWith("/")
+            ? builder.baseUrl.substring(0, builder.baseUrl.length() - 1)
+            : builder.baseUrl;
+        this.bearerToken = builder.bearerToken;
+        this.refreshInterval = builder.refreshInterval;
+        this.fullResyncInterval = builder.fullResyncInterval;
+        this.pageSize = builder.pageSize;
+        this.httpClient = builder.httpClient != null
+            ? builder.httpClient
+            : HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.objectMapper = builder.objectMapper != null
+            ? builder.objectMapper
+            : new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+    
+    public static Builder builder(String baseUrl) {
+        return new Builder(baseUrl);
+    }
+    
+    // ============================================
+    // EVALUACIÓN LOCAL
+    // ============================================
+    
+    /**
+     * Evalúa un uso con la misma regla que POST /api/limits/validate.
+     * 
+     * RETORNA: empty si la org (o su plan) aún no está en la copia local;
+     * el llamador debe consultar al servidor.
+     */
+    public Optional<LimitDecision> validate(long organizationId, String featureCode, int currentCount, int incrementBy) {
+        OrganizationEntry organization = organizations.get(organizationId);
+        Registry current = registry;
+        if (organization == null || current == null) {
+            return Optional.empty();
+        }
+        
+        PlanLimits limits = current.limits().get(organization.planId());
+        if (limits == null) {
+            return Optional.empty();
+        }
+        
+        return Optional.of(LimitEvaluator.decide(
+            !organization.readOnly() && organization.canAccess(),
+            limits,
+            featureCode,
+            currentCount,
+            incrementBy
+        ));
+    }
+    
+    /**
+     * Verifica una feature MODULE/CAPABILITY (misma respuesta que
+     * GET /api/entitlements/{orgId}/features/{code}).
+     * 
+     * RETORNA: empty si la org aún no está en la copia local.
+     */
+    public Optional<Boolean> hasFeature(long organizationId, String featureCode) {
+        OrganizationEntry organization = organizations.get(organizationId);
+        Registry current = registry;
+        if (organization == null || current == null) {
+            return Optional.empty();
+        }
+        
+        PlanCapabilities capabilities = current.capabilities().get(organization.planId());
+        if (capabilities == null) {
+            return Optional.empty();
+        }
+        return Optional.of(organization.canAccess() && capabilities.has(featureCode));
+    }
+    
+    /**
+     * Foto local de una organización.
+     */
+    public Optional<OrganizationEntry> getOrganization(long organizationId) {
+        return Optional.ofNullable(organizations.get(organizationId));
+    }
+    
+    /**
+     * true después del primer refresh completo.
+     */
+    public boolean isReady() {
+        return registry != null;
+    }
+    
+    // ============================================
+    // SINCRONIZACIÓN
+    // ============================================
+    
+    /**
+     * Inicia el refresh periódico en un hilo daemon.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "entitlement-client-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Trae los cambios desde el último cursor (todas las páginas pendientes).
+     * 
+     * Cada fullResyncInterval descarta el cursor y vuelve a traer todo,
+     * para cubrir cambios que el feed incremental pudo no ver.
+     * 
+     * RESYNC: se llena un mapa nuevo y se publica al terminar la última
+     * página; las orgs que ya no vienen en el feed desaparecen y, mientras
+     * tanto, validate() sigue leyendo la copia anterior completa. Si el
+     * resync falla a mitad, se descarta y el siguiente ciclo lo repite.
+     */
+    public void refresh() throws IOException, InterruptedException {
+        refreshLock.lock();
+        try {
+            if (cursor != null && System.nanoTime() - lastFullResyncNanos > fullResyncInterval.toNanos()) {
+                cursor = null;
+            }
+            
+            boolean fullResync = cursor == null;
+            Map<Long, OrganizationEntry> target = fullResync ? new ConcurrentHashMap<>() : organizations;
+            String nextCursor = cursor;
+            
+            EntitlementFeed page;
+            do {
+                page = fetch(nextCursor, registry != null ? registry.version() : null);
+                
+                if (page.registry() != null) {
+                    registry = Registry.from(page.registry());
+                    log.log(System.Logger.Level.INFO, "Entitlement registry updated to version {0}", registry.version());
+                }
+                if (page.organizations() != null) {
+                    page.organizations().forEach(organization ->
+                        target.put(organization.organizationId(), organization));
+                }
+                nextCursor = page.cursor();
+                if (!fullResync) {
+                    cursor = nextCursor;
+                }
+            } while (page.hasMore());
+            
+            if (fullResync) {
+                organizations = target;
+                cursor = nextCursor;
+                lastFullResyncNanos = System.nanoTime();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Se sigue usando la copia local; el siguiente ciclo reintenta
+            log.log(System.Logger.Level.WARNING, "Error refreshing entitlements from " + baseUrl, e);
+        }
+    }
+    
+    private EntitlementFeed fetch(String fromCursor, String registryVersion) throws IOException, InterruptedException {
+        StringBuilder uri = new StringBuilder(baseUrl).append(FEED_PATH).append("?limit=").append(pageSize);
+        if (fromCursor != null) {
+            uri.append("&cursor=").append(URLEncoder.encode(fromCursor, StandardCharsets.UTF_8));
+        }
+        if (registryVersion != null) {
+            uri.append("&registryVersion=").append(URLEncoder.encode(registryVersion, StandardCharsets.UTF_8));
+        }
+        
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri.toString()))
+            .timeout(Duration.ofSeconds(10))
+            .header("Accept", "application/json")
+            .GET();
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken.get());
+        }
+        
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("Entitlement feed returned HTTP " + response.statusCode());
+        }
+        return objectMapper.readValue(response.body(), EntitlementFeed.class);
+    }
+    
+    /**
+     * Registro local: límites y capabilities por plan, con sus diccionarios.
+     */
+    private record Registry(
+        String version,
+        Map<Long, PlanLimits> limits,
+        Map<Long, PlanCapabilities> capabilities
+    ) {
+        
+        static Registry from(RegistryEntry entry) {
+            FeatureIndex limitFeatures = FeatureIndex.ofCodes(entry.limitFeatures());
+            FeatureIndex capabilityFeatures = FeatureIndex.ofCodes(entry.capabilityFeatures());
+            
+            Map<Long, PlanLimits> limits = new HashMap<>();
+            Map<Long, PlanCapabilities> capabilities = new HashMap<>();
+            for (PlanEntry plan : entry.plans()) {
+                limits.put(plan.planId(), PlanLimits.of(limitFeatures, plan.maxLimits()));
+                capabilities.put(plan.planId(), PlanCapabilities.of(capabilityFeatures, plan.capabilities()));
+            }
+            return new Registry(entry.version(), Map.copyOf(limits), Map.copyOf(capabilities));
+        }
+    }
+    
+    /**
+     * Configuración del cliente.
+     */
+    public static final class Builder {
+        
+        private final String baseUrl;
+        private Supplier<String> bearerToken;
+        private Duration refreshInterval = Duration.ofSeconds(5);
+        private Duration fullResyncInterval = Duration.ofMinutes(10);
+        private int pageSize = 1000;
+        private HttpClient httpClient;
+        private ObjectMapper objectMapper;
+        
+        private Builder(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+        
+        /**
+         * Token JWT para el header Authorization (se pide en cada llamada al feed).
+         */
+        public Builder bearerToken(Supplier<String> bearerToken) {
+            this.bearerToken = bearerToken;
+            return this;
+        }
+        
+        public Builder refreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+            return this;
+        }
+        
+        public Builder fullResyncInterval(Duration fullResyncInterval) {
+            this.fullResyncInterval = fullResyncInterval;
+            return this;
+        }
+        
+        public Builder pageSize(int pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+        
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+        
+        public Builder objectMapper(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            return this;
+        }
+        
+        public EntitlementClient build() {
+            return new EntitlementClient(this);
+        }
+    }
+}
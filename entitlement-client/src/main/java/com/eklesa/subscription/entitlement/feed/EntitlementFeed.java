@@ -0,0 +1,24 @@
+package com.eklesa.subscription.entitlement.feed;
+
+import java.util.List;
+
+/**
+ * Página del feed versionado de entitlements (GET /api/entitlements/feed).
+ * 
+ * FLOW EN EL CLIENTE:
+ * 1. Primera llamada sin cursor: todas las organizaciones (paginado)
+ * 2. Llamadas siguientes con el cursor recibido: solo las que cambiaron
+ * 3. registry viene solo si cambió respecto del registryVersion enviado
+ * 
+ * @param cursor        Posición a enviar en la siguiente llamada
+ * @param hasMore       true si hay más cambios (pedir otra página ya)
+ * @param registry      Límites y capabilities de los planes (null = sin cambios)
+ * @param organizations Organizaciones nuevas o modificadas desde el cursor
+ */
+public record EntitlementFeed(
+    String cursor,
+    boolean hasMore,
+    RegistryEntry registry,
+    List<OrganizationEntry> organizations
+) {
+}
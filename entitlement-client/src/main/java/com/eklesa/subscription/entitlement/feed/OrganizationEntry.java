@@ -0,0 +1,25 @@
+package com.eklesa.subscription.entitlement.feed;
+
+/**
+ * Foto de entitlements de una organización (lo mínimo para validar límites).
+ * 
+ * @param organizationId Id de la organización
+ * @param subscriptionId Id de la subscription
+ * @param planId         Plan actual (PlanEntry.planId)
+ * @param planCode       Código del plan
+ * @param status         SubscriptionStatus
+ * @param canAccess      Si la subscription da acceso
+ * @param readOnly       Si está en solo lectura (grace period)
+ * @param version        Version (optimistic locking) de la subscription
+ */
+public record OrganizationEntry(
+    long organizationId,
+    long subscriptionId,
+    long planId,
+    String planCode,
+    String status,
+    boolean canAccess,
+    boolean readOnly,
+    long version
+) {
+}
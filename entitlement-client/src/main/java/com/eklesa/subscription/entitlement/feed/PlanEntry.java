@@ -0,0 +1,17 @@
+package com.eklesa.subscription.entitlement.feed;
+
+import java.util.List;
+
+/**
+ * Límites y capabilities de un plan.
+ * 
+ * @param planId       Id del plan
+ * @param maxLimits    Un límite por código de limitFeatures (-1 = ilimitado)
+ * @param capabilities Códigos MODULE/CAPABILITY habilitados
+ */
+public record PlanEntry(
+    long planId,
+    int[] maxLimits,
+    List<String> capabilities
+) {
+}
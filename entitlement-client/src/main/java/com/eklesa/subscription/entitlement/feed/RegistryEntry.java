@@ -0,0 +1,19 @@
+package com.eklesa.subscription.entitlement.feed;
+
+import java.util.List;
+
+/**
+ * Registro compilado de planes (FeatureRegistry del servidor).
+ * 
+ * @param version            Huella de plans/plan_features
+ * @param limitFeatures      Códigos con límite, en orden de índice (PlanEntry.maxLimits)
+ * @param capabilityFeatures Códigos MODULE/CAPABILITY, en orden de índice
+ * @param plans              Todos los planes (activos e inactivos)
+ */
+public record RegistryEntry(
+    String version,
+    List<String> limitFeatures,
+    List<String> capabilityFeatures,
+    List<PlanEntry> plans
+) {
+}
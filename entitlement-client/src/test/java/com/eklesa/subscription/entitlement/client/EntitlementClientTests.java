@@ -0,0 +1,144 @@
+package com.eklesa.subscription.entitlement.client;
+
+import com.eklesa.subscription.entitlement.LimitDecision;
+import com.eklesa.subscription.entitlement.feed.EntitlementFeed;
+import com.eklesa.subscription.entitlement.feed.OrganizationEntry;
+import com.eklesa.subscription.entitlement.feed.PlanEntry;
+import com.eklesa.subscription.entitlement.feed.RegistryEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Refresh de EntitlementClient contra un feed servido en proceso:
+ * paginado por cursor, cambios incrementales y resync completo.
+ */
+class EntitlementClientTests {
+
+	private static final long PLAN_ID = 1L;
+	private static final RegistryEntry REGISTRY = new RegistryEntry(
+		"v1",
+		List.of("CONTACTS"),
+		List.of("REPORTS"),
+		List.of(new PlanEntry(PLAN_ID, new int[] {10}, List.of("REPORTS")))
+	);
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Deque<EntitlementFeed> pages = new ArrayDeque<>();
+	private final List<String> queries = new ArrayList<>();
+
+	private HttpServer server;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/api/entitlements/feed", exchange -> {
+			queries.add(exchange.getRequestURI().getQuery());
+			EntitlementFeed page = pages.poll();
+			byte[] body = page != null ? objectMapper.writeValueAsBytes(page) : new byte[0];
+			exchange.sendResponseHeaders(page != null ? 200 : 503, page != null ? body.length : -1);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void refreshFollowsCursorAndAppliesIncrementalChanges() throws Exception {
+		EntitlementClient client = client(Duration.ofHours(1));
+		pages.add(new EntitlementFeed("c1", true, REGISTRY, List.of(organization(100L, true, 1))));
+		pages.add(new EntitlementFeed("c2", false, null, List.of(organization(200L, true, 1))));
+
+		client.refresh();
+
+		assertThat(client.isReady()).isTrue();
+		assertThat(client.getOrganization(100L)).isPresent();
+		assertThat(client.getOrganization(200L)).isPresent();
+		assertThat(queries.get(1)).contains("cursor=c1").contains("registryVersion=v1");
+
+		// Incremental: solo la org modificada, desde el último cursor
+		pages.add(new EntitlementFeed("c3", false, null, List.of(organization(100L, false, 2))));
+		client.refresh();
+
+		assertThat(queries.get(2)).contains("cursor=c2");
+		assertThat(client.getOrganization(100L).orElseThrow().version()).isEqualTo(2);
+		assertThat(client.getOrganization(200L)).isPresent();
+		assertThat(client.validate(100L, "CONTACTS", 0, 1).orElseThrow().outcome())
+			.isEqualTo(LimitDecision.Outcome.INACTIVE);
+	}
+
+	@Test
+	void fullResyncDropsOrganizationsMissingFromFeed() throws Exception {
+		EntitlementClient client = client(Duration.ZERO);
+		pages.add(new EntitlementFeed("c1", false, REGISTRY, List.of(organization(100L, true, 1), organization(200L, true, 1))));
+		client.refresh();
+
+		pages.add(new EntitlementFeed("c2", false, null, List.of(organization(100L, true, 1))));
+		client.refresh();
+
+		assertThat(queries.get(1)).doesNotContain("cursor=");
+		assertThat(client.getOrganization(100L)).isPresent();
+		assertThat(client.getOrganization(200L)).isEmpty();
+		assertThat(client.validate(200L, "CONTACTS", 0, 1)).isEmpty();
+	}
+
+	@Test
+	void failedResyncKeepsPreviousCopy() throws Exception {
+		EntitlementClient client = client(Duration.ZERO);
+		pages.add(new EntitlementFeed("c1", false, REGISTRY, List.of(organization(100L, true, 1), organization(200L, true, 1))));
+		client.refresh();
+
+		// Primera página del resync llega; la segunda falla
+		pages.add(new EntitlementFeed("c2", true, null, List.of(organization(100L, true, 2))));
+		assertThatThrownBy(client::refresh).isInstanceOf(IOException.class);
+
+		assertThat(client.getOrganization(100L).orElseThrow().version()).isEqualTo(1);
+		assertThat(client.getOrganization(200L)).isPresent();
+	}
+
+	@Test
+	void validateUsesPlanLimitsFromRegistry() throws Exception {
+		EntitlementClient client = client(Duration.ofHours(1));
+		pages.add(new EntitlementFeed("c1", false, REGISTRY, List.of(organization(100L, true, 1))));
+		client.refresh();
+
+		assertThat(client.validate(100L, "CONTACTS", 5, 1).orElseThrow().outcome())
+			.isEqualTo(LimitDecision.Outcome.ALLOWED);
+		assertThat(client.validate(100L, "contacts", 11, 1).orElseThrow().outcome())
+			.isEqualTo(LimitDecision.Outcome.EXCEEDED);
+		assertThat(client.hasFeature(100L, "REPORTS")).contains(true);
+		assertThat(client.validate(999L, "CONTACTS", 0, 1)).isEmpty();
+	}
+
+	private EntitlementClient client(Duration fullResyncInterval) {
+		return EntitlementClient.builder("http://127.0.0.1:" + server.getAddress().getPort() + "/")
+			.fullResyncInterval(fullResyncInterval)
+			.build();
+	}
+
+	private OrganizationEntry organization(long organizationId, boolean canAccess, long version) {
+		return new OrganizationEntry(organizationId, organizationId + 1, PLAN_ID, "STARTER",
+			canAccess ? "ACTIVE" : "SUSPENDED", canAccess, false, version);
+	}
+
+}
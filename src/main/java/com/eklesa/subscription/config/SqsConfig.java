@@ -1,28 +0,0 @@
-package com.eklesa.subscription.config;
-
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Profile;
-import software.amazon.awssdk.auth.credentials.InstanceProfileCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.sqs.SqsClient;
-
-/**
- * Configuración de AWS SES para emails.
- * NOTA: Deshabilitado temporalmente hasta configurar SES en AWS.
- */
-@Configuration
-public class SqsConfig {
-    
-    @Value("${cloud.aws.region.static:us-east-2}")  // ✅ Valor por defecto
-    private String region;
-    
-    @Bean
-public SqsClient sqsClient() {
-    return SqsClient.builder()
-        .region(Region.of(region))
-        .credentialsProvider(software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider.create())
-        .build();
-    }
-}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.model.Plan;
+import com.eklesa.subscription.model.PlanFeature;
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.UsageCounter;
+import com.eklesa.subscription.model.enums.FeatureType;
+import com.eklesa.subscription.model.enums.PlanTier;
+import com.eklesa.subscription.model.enums.SubscriptionStatus;
+import com.eklesa.subscription.repository.PlanRepository;
+import com.eklesa.subscription.repository.SubscriptionRepository;
+import com.eklesa.subscription.repository.UsageCounterRepository;
+import com.eklesa.subscription.repository.UsageRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Datos y repositorios en memoria para los benchmarks.
+ * 
+ * Los repositorios son proxies que solo responden los métodos usados en
+ * los hot paths; cualquier otro método lanza UnsupportedOperationException.
+ */
+final class BenchmarkFixtures {
+    
+    static final long ORGANIZATION_ID = 100L;
+    static final long SUBSCRIPTION_ID = 1L;
+    
+    private BenchmarkFixtures() {
+    }
+    
+    static Plan professionalPlan() {
+        Plan plan = Plan.builder()
+            .code("PROFESSIONAL")
+            .name("Professional")
+            .tier(PlanTier.PROFESSIONAL)
+            .description("Plan para equipos en crecimiento")
+            .monthlyPrice(new BigDecimal("49000"))
+            .annualPrice(new BigDecimal("490000"))
+            .currency("COP")
+            .maxContacts(5000)
+            .maxUsers(10)
+            .maxPipelines(5)
+            .maxDeals(2000)
+            .maxStorageGb(10)
+            .sortOrder(2)
+            .build();
+        plan.setId(3L);
+        
+        String[][] features = {
+            {"CRM_BASIC", "CRM", "MODULE", null},
+            {"TURNS_SERVICE", "Turnos", "MODULE", null},
+            {"ADVANCED_REPORTS", "Reportes avanzados", "CAPABILITY", null},
+            {"API_ACCESS", "Acceso API", "CAPABILITY", null},
+            {"MAX_USERS", "Usuarios", "LIMIT", "10"},
+            {"MAX_PIPELINES", "Pipelines", "LIMIT", "5"}
+        };
+        for (int i = 0; i < features.length; i++) {
+            PlanFeature feature = PlanFeature.builder()
+                .plan(plan)
+                .featureCode(features[i][0])
+                .featureName(features[i][1])
+                .type(FeatureType.valueOf(features[i][2]))
+                .limitValue(features[i][3])
+                .enabled(i != 3)
+                .sortOrder(features.length - i)
+                .build();
+            feature.setId((long) i + 1);
+            plan.getFeatures().add(feature);
+        }
+        
+        return plan;
+    }
+    
+    static Subscription activeSubscription(Plan plan) {
+        Subscription subscription = Subscription.builder()
+            .organizationId(ORGANIZATION_ID)
+            .plan(plan)
+            .status(SubscriptionStatus.ACTIVE)
+            .build();
+        subscription.setId(SUBSCRIPTION_ID);
+        return subscription;
+    }
+    
+    /**
+     * Arma FeatureLimitService + UsageTrackingService sobre repositorios en memoria.
+     */
+    static Services services(int serverUsage) {
+        Plan plan = professionalPlan();
+        Subscription subscription = activeSubscription(plan);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        
+        SubscriptionRepository subscriptionRepository = stub(SubscriptionRepository.class, Map.of(
+            "findByOrganizationId", args -> Optional.of(subscription),
+            "findByOrganizationIdIn", args -> List.of(subscription),
+            "getReferenceById", args -> subscription
+        ));
+        UsageCounter counter = UsageCounter.builder()
+            .subscription(subscription)
+            .featureCode("CONTACTS")
+            .usedCount(serverUsage)
+            .build();
+        UsageCounterRepository usageCounterRepository = stub(UsageCounterRepository.class, Map.of(
+            "findBySubscriptionIdAndFeatureCode", args -> Optional.of(counter)
+        ));
+        UsageRecordRepository usageRecordRepository = stub(UsageRecordRepository.class, Map.of());
+        PlatformTransactionManager transactionManager = stub(PlatformTransactionManager.class, Map.of());
+        
+        PlanRepository planRepository = stub(PlanRepository.class, Map.of(
+            "findAllWithFeatures", args -> List.of(plan),
+            "getCatalogFingerprint", args -> "benchmark"
+        ));
+        
+        FeatureRegistryService featureRegistryService = new FeatureRegistryService(planRepository);
+        EntitlementCacheService entitlementCacheService = new EntitlementCacheService(
+            subscriptionRepository, featureRegistryService, meterRegistry, 10_000, Duration.ofHours(1));
+        UsageIngestionBuffer usageIngestionBuffer = new UsageIngestionBuffer(
+            usageRecordRepository, usageCounterRepository, transactionManager, meterRegistry, 50_000, 1_000);
+        UsageTrackingService usageTrackingService = new UsageTrackingService(
+            usageRecordRepository, subscriptionRepository, usageCounterRepository,
+            entitlementCacheService, usageIngestionBuffer);
+        FeatureLimitService featureLimitService = new FeatureLimitService(
+            usageTrackingService, entitlementCacheService);
+        
+        return new Services(entitlementCacheService, usageTrackingService, featureLimitService);
+    }
+    
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> handlers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = handlers.get(method.getName());
+            if (handler != null) {
+                return handler.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "(in-memory)";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+    }
+    
+    record Services(
+        EntitlementCacheService entitlementCacheService,
+        UsageTrackingService usageTrackingService,
+        FeatureLimitService featureLimitService
+    ) {
+    }
+}
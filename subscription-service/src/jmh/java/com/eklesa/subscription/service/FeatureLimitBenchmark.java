@@ -0,0 +1,90 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.request.ValidateFeatureLimitRequest;
+import com.eklesa.subscription.dto.response.FeatureLimitValidationResponse;
+import com.eklesa.subscription.entitlement.EntitlementSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot path de POST /api/limits/validate y recordUsage (entitlements en cache).
+ * 
+ * - validate*: validateFeatureLimit completo (cache hit + evaluate)
+ * - evaluate*: solo la decisión (getLimit, soft limit, porcentaje)
+ * - recordUsage: cálculo de límite/porcentaje + encolado en el buffer
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeatureLimitBenchmark {
+    
+    private FeatureLimitService featureLimitService;
+    private UsageTrackingService usageTrackingService;
+    private EntitlementSnapshot entitlements;
+    
+    private ValidateFeatureLimitRequest clientCountRequest;
+    private ValidateFeatureLimitRequest serverCountRequest;
+    
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.Services services = BenchmarkFixtures.services(4_200);
+        featureLimitService = services.featureLimitService();
+        usageTrackingService = services.usageTrackingService();
+        entitlements = services.entitlementCacheService().get(BenchmarkFixtures.ORGANIZATION_ID).orElseThrow();
+        
+        clientCountRequest = ValidateFeatureLimitRequest.builder()
+            .organizationId(BenchmarkFixtures.ORGANIZATION_ID)
+            .featureCode("CONTACTS")
+            .currentCount(4_200)
+            .incrementBy(1)
+            .build();
+        serverCountRequest = ValidateFeatureLimitRequest.builder()
+            .organizationId(BenchmarkFixtures.ORGANIZATION_ID)
+            .featureCode("CONTACTS")
+            .incrementBy(1)
+            .build();
+    }
+    
+    @Benchmark
+    public FeatureLimitValidationResponse validateWithClientCount() {
+        return featureLimitService.validateFeatureLimit(clientCountRequest);
+    }
+    
+    @Benchmark
+    public FeatureLimitValidationResponse validateWithServerCount() {
+        return featureLimitService.validateFeatureLimit(serverCountRequest);
+    }
+    
+    @Benchmark
+    public FeatureLimitValidationResponse evaluateBelowLimit() {
+        return featureLimitService.evaluate(entitlements, "CONTACTS", 1_000, 1);
+    }
+    
+    @Benchmark
+    public FeatureLimitValidationResponse evaluateNearLimit() {
+        return featureLimitService.evaluate(entitlements, "CONTACTS", 4_800, 1);
+    }
+    
+    @Benchmark
+    public FeatureLimitValidationResponse evaluateUnlimited() {
+        return featureLimitService.evaluate(entitlements, "API_CALLS", 4_800, 1);
+    }
+    
+    @Benchmark
+    public void recordUsage() {
+        usageTrackingService.recordUsage(BenchmarkFixtures.ORGANIZATION_ID, "CONTACTS", 4_200);
+    }
+}
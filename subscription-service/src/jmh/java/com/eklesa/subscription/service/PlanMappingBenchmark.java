@@ -0,0 +1,44 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.response.PlanDTO;
+import com.eklesa.subscription.model.Plan;
+import com.eklesa.subscription.repository.PlanRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PlanService.mapToDTO (filtro/orden de features + formatPrice).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlanMappingBenchmark {
+    
+    private PlanService planService;
+    private Plan plan;
+    
+    @Setup
+    public void setUp() {
+        planService = new PlanService(BenchmarkFixtures.stub(PlanRepository.class, Map.of()));
+        plan = BenchmarkFixtures.professionalPlan();
+    }
+    
+    @Benchmark
+    public PlanDTO mapToDTO() {
+        return planService.mapToDTO(plan);
+    }
+}
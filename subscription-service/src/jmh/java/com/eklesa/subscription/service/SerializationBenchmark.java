@@ -0,0 +1,60 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.request.ValidateFeatureLimitRequest;
+import com.eklesa.subscription.dto.response.FeatureLimitValidationResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización Jackson de la respuesta de POST /api/limits/validate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    
+    private ObjectMapper objectMapper;
+    private FeatureLimitService featureLimitService;
+    private FeatureLimitValidationResponse nearLimitResponse;
+    private ValidateFeatureLimitRequest request;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        featureLimitService = BenchmarkFixtures.services(0).featureLimitService();
+        
+        request = ValidateFeatureLimitRequest.builder()
+            .organizationId(BenchmarkFixtures.ORGANIZATION_ID)
+            .featureCode("CONTACTS")
+            .currentCount(4_800)
+            .incrementBy(1)
+            .build();
+        nearLimitResponse = featureLimitService.validateFeatureLimit(request);
+    }
+    
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(nearLimitResponse);
+    }
+    
+    @Benchmark
+    public byte[] validateAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(featureLimitService.validateFeatureLimit(request));
+    }
+}
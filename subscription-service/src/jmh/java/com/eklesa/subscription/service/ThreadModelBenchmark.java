@@ -0,0 +1,129 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.request.ValidateFeatureLimitRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform threads (pool de Tomcat) vs virtual threads con I/O bloqueante.
+ * 
+ * Cada operación es una ráfaga de BURST requests concurrentes. Cada request
+ * simula la espera de I/O de un request real (BD, Feign a auth-service,
+ * SQS/SES) con un sleep de ioMillis y luego ejecuta validateFeatureLimit.
+ * 
+ * - PLATFORM: pool fijo de 200 hilos (server.tomcat.threads.max por defecto)
+ * - VIRTUAL: un virtual thread por request (spring.threads.virtual.enabled)
+ * 
+ * Throughput: BURST / tiempo promedio de la operación.
+ * Latencia: p50/p99 por request (incluye la cola del pool), impresos al
+ * final de cada iteración.
+ * 
+ * NOTA: Lo que se mide es el costo de agendar Thread.sleep en cada modelo.
+ * validateFeatureLimit corre sobre fixtures en memoria (siempre hit de
+ * cache) y su costo es despreciable frente al sleep. No detecta pinning
+ * (synchronized + JDBC real) ni mide el servicio bajo carga real.
+ * 
+ * Ejecutar: mvn -B -P jmh -DskipTests verify -Djmh.include=ThreadModelBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+    
+    private static final int BURST = 2_000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int MAX_SAMPLES = 1 << 18;
+    
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String threadModel;
+    
+    @Param({"5"})
+    private int ioMillis;
+    
+    private FeatureLimitService featureLimitService;
+    private ValidateFeatureLimitRequest request;
+    private ExecutorService executor;
+    
+    private final long[] latencies = new long[MAX_SAMPLES];
+    private final AtomicInteger sampleCount = new AtomicInteger();
+    
+    @Setup
+    public void setUp() {
+        featureLimitService = BenchmarkFixtures.services(4_200).featureLimitService();
+        request = ValidateFeatureLimitRequest.builder()
+            .organizationId(BenchmarkFixtures.ORGANIZATION_ID)
+            .featureCode("CONTACTS")
+            .currentCount(4_200)
+            .incrementBy(1)
+            .build();
+        
+        executor = "VIRTUAL".equals(threadModel)
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Setup(Level.Iteration)
+    public void resetSamples() {
+        sampleCount.set(0);
+    }
+    
+    @TearDown(Level.Iteration)
+    public void printPercentiles() {
+        int count = Math.min(sampleCount.get(), MAX_SAMPLES);
+        if (count == 0) {
+            return;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("%n%s request latency: p50=%.2f ms p99=%.2f ms (%d requests)%n",
+            threadModel, sorted[count / 2] / 1e6, sorted[(int) (count * 0.99)] / 1e6, count);
+    }
+    
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(BURST);
+        
+        for (int i = 0; i < BURST; i++) {
+            long submittedAt = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(ioMillis);
+                    featureLimitService.validateFeatureLimit(request);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latencies[sampleCount.getAndIncrement() & (MAX_SAMPLES - 1)] = System.nanoTime() - submittedAt;
+                    done.countDown();
+                }
+            });
+        }
+        
+        done.await();
+    }
+}
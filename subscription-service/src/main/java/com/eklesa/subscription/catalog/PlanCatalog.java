@@ -0,0 +1,51 @@
+package com.eklesa.subscription.catalog;
+
+import com.eklesa.subscription.dto.response.PlanDTO;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Foto inmutable del catálogo de planes activos.
+ * 
+ * Contiene los DTOs ya mapeados (features + precios formateados) y el
+ * JSON ya serializado de GET /api/plans con su ETag.
+ * 
+ * USADO POR: PlanCatalogService y PlanController
+ */
+@Value
+@Builder
+public class PlanCatalog {
+    
+    /**
+     * Planes activos en orden de presentación (inmutable).
+     */
+    List<PlanDTO> plans;
+    
+    /**
+     * Planes activos por código (inmutable).
+     */
+    Map<String, PlanDTO> plansByCode;
+    
+    /**
+     * Plan destacado (null si no hay).
+     */
+    PlanDTO featuredPlan;
+    
+    /**
+     * Body de GET /api/plans ya serializado.
+     */
+    byte[] plansJson;
+    
+    /**
+     * ETag (fuerte) de plansJson.
+     */
+    String etag;
+    
+    /**
+     * Huella de las tablas plans/plan_features con la que se construyó.
+     */
+    String fingerprint;
+}
@@ -0,0 +1,88 @@
+package com.eklesa.subscription.client;
+
+import com.paypal.base.rest.APIContext;
+import com.paypal.base.rest.OAuthTokenCredential;
+import com.paypal.base.rest.PayPalRESTException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Entrega un APIContext de PayPal con un access token vigente.
+ * 
+ * RESPONSABILIDADES:
+ * - Pedir el access token (OAuth client_credentials) en la primera llamada
+ * - Renovarlo cuando vence (expires_in de PayPal, ~9 horas)
+ * - Un APIContext nuevo por llamada (guarda request id y headers propios)
+ * 
+ * NOTA: OAuthTokenCredential.getAccessToken entra a un monitor y hace HTTP
+ * adentro. Mientras el token sigue vigente los requests lo leen del campo
+ * volátil, sin pasar por el SDK. Al vencer, un solo hilo lo renueva
+ * (ReentrantLock, no fija virtual threads) y los demás esperan en el lock.
+ * 
+ * NOTA: El SDK cachea el token por clientId/secret y solo pide uno nuevo
+ * cuando el anterior ya venció, así que la renovación usa su mismo
+ * vencimiento (no se puede adelantar).
+ * 
+ * USADO POR: PayPalService
+ */
+@Slf4j
+public class PayPalApiContextProvider {
+    
+    private final OAuthTokenCredential credential;
+    private final Map<String, String> config;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    
+    private volatile AccessToken accessToken;
+    
+    public PayPalApiContextProvider(String clientId, String clientSecret, Map<String, String> config) {
+        this.credential = new OAuthTokenCredential(clientId, clientSecret, new HashMap<>(config));
+        this.config = Map.copyOf(config);
+    }
+    
+    /**
+     * APIContext para una llamada a PayPal.
+     * 
+     * RETORNA: Un contexto nuevo con el token vigente (lo renueva si venció).
+     */
+    public APIContext get() throws PayPalRESTException {
+        APIContext context = new APIContext(currentToken());
+        context.setConfigurationMap(new HashMap<>(config));
+        return context;
+    }
+    
+    private String currentToken() throws PayPalRESTException {
+        AccessToken token = accessToken;
+        if (token != null && !token.isExpired()) {
+            return token.value();
+        }
+        
+        refreshLock.lock();
+        try {
+            // Otro hilo pudo renovarlo mientras esperábamos
+            token = accessToken;
+            if (token == null || token.isExpired()) {
+                // expiresIn() del SDK retorna el vencimiento en epoch seconds
+                token = new AccessToken(credential.getAccessToken(), credential.expiresIn());
+                accessToken = token;
+                log.info("PayPal access token refreshed, expires at {}", Instant.ofEpochSecond(token.expiresAtEpochSecond()));
+            }
+            return token.value();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+    
+    /**
+     * Token y su vencimiento, con el mismo reloj que usa el SDK.
+     */
+    private record AccessToken(String value, long expiresAtEpochSecond) {
+        
+        boolean isExpired() {
+            return System.currentTimeMillis() / 1000 >= expiresAtEpochSecond;
+        }
+    }
+}
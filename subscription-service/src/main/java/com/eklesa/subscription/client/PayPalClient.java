@@ -1,8 +1,5 @@
 package com.eklesa.subscription.client;
 
-import com.paypal.base.rest.APIContext;
-import com.paypal.base.rest.OAuthTokenCredential;
-import com.paypal.base.rest.PayPalRESTException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -31,21 +28,18 @@ public class PayPalClient {
     private String mode; // sandbox o live
     
     /**
-     * Crea el contexto de API de PayPal.
+     * Crea el proveedor de APIContext de PayPal.
+     * 
+     * NOTA: No pide el token al arrancar. El proveedor lo pide en la primera
+     * llamada y lo renueva al vencer (ver PayPalApiContextProvider).
      */
     @Bean
-    public APIContext apiContext() throws PayPalRESTException {
-        log.info("Initializing PayPal API Context in mode: {}", mode);
+    public PayPalApiContextProvider apiContextProvider() {
+        log.info("Initializing PayPal API Context provider in mode: {}", mode);
         
         Map<String, String> config = new HashMap<>();
         config.put("mode", mode);
         
-        OAuthTokenCredential credential = new OAuthTokenCredential(clientId, clientSecret, config);
-        APIContext context = new APIContext(credential.getAccessToken());
-        context.setConfigurationMap(config);
-        
-        log.info("PayPal API Context initialized successfully");
-        
-        return context;
+        return new PayPalApiContextProvider(clientId, clientSecret, config);
     }
 }
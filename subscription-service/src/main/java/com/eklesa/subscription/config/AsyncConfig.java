@@ -0,0 +1,105 @@
+package com.eklesa.subscription.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors de los listeners de eventos de dominio (event.listener).
+ * 
+ * Un executor acotado por tipo de efecto secundario, para dimensionarlos y
+ * medirlos por separado. Actuator publica executor.active, executor.queued,
+ * executor.completed, etc. con tag name = nombre del bean.
+ * 
+ * - notificationExecutor: emails (SES). Cola llena: corre en el hilo que
+ *   hizo commit (backpressure, no se pierden emails)
+ * - eventRelayExecutor / authSyncRelayExecutor: despiertan los relays de
+ *   los outboxes. Un hilo y una posición en cola: mientras hay una corrida
+ *   pendiente, los demás avisos se descartan (esa corrida los cubre)
+ * 
+ * NOTA: Con cualquier Executor declarado, Boot no crea su
+ * applicationTaskExecutor (@ConditionalOnMissingBean(Executor.class)), el
+ * que usan DeferredResult/SseEmitter y @Async sin nombre. Se declara acá
+ * con los builders de Boot, así respeta spring.task.execution.* y
+ * spring.threads.virtual.enabled.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+    
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    public static final String EVENT_RELAY_EXECUTOR = "eventRelayExecutor";
+    public static final String AUTH_SYNC_RELAY_EXECUTOR = "authSyncRelayExecutor";
+    
+    /**
+     * Executor por defecto de la aplicación: virtual threads con
+     * spring.threads.virtual.enabled, si no el pool de spring.task.execution.
+     */
+    @Lazy
+    @Bean(name = {
+        TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+        AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public AsyncTaskExecutor applicationTaskExecutor(
+        Environment environment,
+        ThreadPoolTaskExecutorBuilder threadPoolTaskExecutorBuilder,
+        SimpleAsyncTaskExecutorBuilder simpleAsyncTaskExecutorBuilder
+    ) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return simpleAsyncTaskExecutorBuilder.build();
+        }
+        return threadPoolTaskExecutorBuilder.build();
+    }
+    
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationExecutor(
+        @Value("${app.events.async.notification.pool-size:4}") int poolSize,
+        @Value("${app.events.async.notification.queue-capacity:1000}") int queueCapacity
+    ) {
+        return executor("notification-", poolSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    @Bean(name = EVENT_RELAY_EXECUTOR)
+    public ThreadPoolTaskExecutor eventRelayExecutor() {
+        return executor("event-relay-", 1, 1, new ThreadPoolExecutor.DiscardPolicy());
+    }
+    
+    @Bean(name = AUTH_SYNC_RELAY_EXECUTOR)
+    public ThreadPoolTaskExecutor authSyncRelayExecutor() {
+        return executor("auth-sync-relay-", 1, 1, new ThreadPoolExecutor.DiscardPolicy());
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private ThreadPoolTaskExecutor executor(
+        String threadNamePrefix,
+        int poolSize,
+        int queueCapacity,
+        RejectedExecutionHandler rejectedExecutionHandler
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(rejectedExecutionHandler);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -6,7 +6,7 @@ import org.springframework.context.annotation.Profile;
 /**
  * Configuración adicional de PayPal.
  * 
- * El bean principal (APIContext) está en PayPalClient.java
+ * El bean principal (PayPalApiContextProvider) está en PayPalClient.java
  */
 @Configuration
 public class PayPalConfig {
@@ -3,16 +3,19 @@ package com.eklesa.subscription.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Profile;
 
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.auth.credentials.InstanceProfileCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ses.SesClient;
+import software.amazon.awssdk.services.ses.SesClientBuilder;
+
+import java.net.URI;
 
 /**
  * Configuración de AWS SES para emails.
- * NOTA: Deshabilitado temporalmente hasta configurar SES en AWS.
+ * 
+ * NOTA: app.ses.endpoint apunta a un SES local (LocalStack, ver
+ * docker-compose.yml) para desarrollo y pruebas. Vacío = AWS.
  */
 @Configuration
 public class SesConfig {
@@ -20,11 +23,18 @@ public class SesConfig {
     @Value("${cloud.aws.region.static:us-east-2}")  // ✅ Valor por defecto
     private String region;
     
+    @Value("${app.ses.endpoint:}")
+    private String endpoint;
+    
     @Bean
     public SesClient sesClient() {
-    return SesClient.builder()
-        .region(Region.of(region))
-        .credentialsProvider(DefaultCredentialsProvider.create())
-        .build();
+        SesClientBuilder builder = SesClient.builder()
+            .region(Region.of(region))
+            .credentialsProvider(DefaultCredentialsProvider.create());
+        
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
     }
-}
\ No newline at end of file
+}
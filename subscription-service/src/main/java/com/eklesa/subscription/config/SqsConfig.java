@@ -0,0 +1,42 @@
+package com.eklesa.subscription.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
+
+import java.net.URI;
+
+/**
+ * Configuración de AWS SQS para eventos de dominio.
+ * 
+ * Cliente async: EventOutboxService envía varios SendMessageBatch en
+ * paralelo sin ocupar un hilo por llamada.
+ * 
+ * NOTA: app.sqs.endpoint apunta a un SQS local (ElasticMQ, ver
+ * docker-compose.yml) para desarrollo y pruebas. Vacío = AWS.
+ */
+@Configuration
+public class SqsConfig {
+    
+    @Value("${cloud.aws.region.static:us-east-2}")  // ✅ Valor por defecto
+    private String region;
+    
+    @Value("${app.sqs.endpoint:}")
+    private String endpoint;
+    
+    @Bean
+    public SqsAsyncClient sqsAsyncClient() {
+        SqsAsyncClientBuilder builder = SqsAsyncClient.builder()
+            .region(Region.of(region))
+            .credentialsProvider(DefaultCredentialsProvider.create());
+        
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+}
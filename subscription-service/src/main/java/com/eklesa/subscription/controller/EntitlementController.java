@@ -0,0 +1,154 @@
+package com.eklesa.subscription.controller;
+
+import com.eklesa.subscription.dto.response.EntitlementChangesResponse;
+import com.eklesa.subscription.dto.response.FeatureAccessBatchResponse;
+import com.eklesa.subscription.dto.response.FeatureAccessResponse;
+import com.eklesa.subscription.entitlement.feed.EntitlementFeed;
+import com.eklesa.subscription.service.EntitlementChangeService;
+import com.eklesa.subscription.service.EntitlementFeedService;
+import com.eklesa.subscription.service.EntitlementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Controller para verificar features MODULE/CAPABILITY de una organización.
+ * 
+ * ENDPOINTS:
+ * - GET /api/entitlements/{orgId}/features/{featureCode}
+ * - GET /api/entitlements/{orgId}/features?codes=A,B
+ * - GET /api/entitlements/feed
+ * - GET /api/entitlements/changes (long-poll)
+ * - GET /api/entitlements/changes/stream (SSE)
+ * 
+ * LLAMADO POR: crm-service y frontend (en lugar de leer el PlanDTO completo),
+ * EntitlementClient (feed), consumidores que cachean entitlements (changes)
+ */
+@RestController
+@RequestMapping("/api/entitlements")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Entitlements", description = "Verificación de features del plan")
+public class EntitlementController {
+    
+    private final EntitlementService entitlementService;
+    private final EntitlementFeedService entitlementFeedService;
+    private final EntitlementChangeService entitlementChangeService;
+    
+    /**
+     * Verifica si la organización tiene una feature.
+     * 
+     * EJEMPLO:
+     * GET /api/entitlements/123/features/TURNS_SERVICE
+     * 
+     * RESPONSE:
+     * {
+     *   "organizationId": 123,
+     *   "featureCode": "TURNS_SERVICE",
+     *   "enabled": true,
+     *   "planCode": "PROFESSIONAL"
+     * }
+     */
+    @GetMapping("/{organizationId}/features/{featureCode}")
+    @Operation(summary = "Verificar feature", description = "Indica si el plan de la organización incluye la feature")
+    public ResponseEntity<FeatureAccessResponse> hasFeature(
+        @PathVariable Long organizationId,
+        @PathVariable String featureCode
+    ) {
+        log.debug("REST request to check feature {} for org: {}", featureCode, organizationId);
+        
+        return ResponseEntity.ok(entitlementService.hasFeature(organizationId, featureCode));
+    }
+    
+    /**
+     * Verifica varias features en una sola llamada.
+     * 
+     * Sin el parámetro codes retorna todas las features habilitadas del plan.
+     */
+    @GetMapping("/{organizationId}/features")
+    @Operation(summary = "Verificar features", description = "Indica qué features del listado incluye el plan de la organización")
+    public ResponseEntity<FeatureAccessBatchResponse> getFeatures(
+        @PathVariable Long organizationId,
+        @RequestParam(required = false) List<String> codes
+    ) {
+        log.debug("REST request to check features {} for org: {}", codes, organizationId);
+        
+        return ResponseEntity.ok(entitlementService.getFeatures(organizationId, codes));
+    }
+    
+    /**
+     * Feed versionado para EntitlementClient (evaluación local en los llamadores).
+     * 
+     * FLOW:
+     * 1. Sin cursor: todas las organizaciones + registro de planes
+     * 2. Con el cursor recibido: solo organizaciones modificadas
+     * 3. registry solo viene si cambió respecto de registryVersion
+     * 4. hasMore=true: pedir la siguiente página de inmediato
+     */
+    @GetMapping("/feed")
+    @Operation(summary = "Feed de entitlements", description = "Cambios de organizaciones y planes desde un cursor")
+    public ResponseEntity<EntitlementFeed> getFeed(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) String registryVersion,
+        @RequestParam(defaultValue = "1000") int limit
+    ) {
+        log.debug("REST request to get entitlement feed from cursor: {}", cursor);
+        
+        return ResponseEntity.ok(entitlementFeedService.getFeed(cursor, registryVersion, limit));
+    }
+    
+    /**
+     * Cambios de entitlements después de un cursor (long-poll).
+     * 
+     * FLOW:
+     * 1. Sin cursor: retorna el cursor actual (descartar cache local)
+     * 2. Con cursor: retorna apenas haya cambios, o vacío después de waitSeconds
+     * 3. resetRequired=true: descartar TODO el cache local
+     * 4. Invalidar las organizaciones de changes y seguir con el nuevo cursor
+     * 
+     * EJEMPLO:
+     * GET /api/entitlements/changes?cursor=48211_1523&waitSeconds=25
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Cambios de entitlements", description = "Cambios de status/plan desde un cursor, con long-poll opcional")
+    public DeferredResult<EntitlementChangesResponse> getChanges(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "100") int limit,
+        @RequestParam(defaultValue = "0") int waitSeconds
+    ) {
+        log.debug("REST request to get entitlement changes from cursor: {}", cursor);
+        
+        return entitlementChangeService.poll(cursor, limit, Duration.ofSeconds(waitSeconds));
+    }
+    
+    /**
+     * Stream SSE de cambios de entitlements.
+     * 
+     * EVENTOS:
+     * - ready: cursor inicial (solo si no se envió cursor)
+     * - change: un cambio (id del evento = cursor)
+     * - reset: el cursor salió de la retención; descartar TODO el cache local
+     * 
+     * Al reconectar, el header Last-Event-ID tiene prioridad sobre cursor.
+     */
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream de cambios de entitlements", description = "Server-Sent Events con los cambios de status/plan")
+    public SseEmitter streamChanges(
+        @RequestParam(required = false) String cursor,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        String from = lastEventId != null ? lastEventId : cursor;
+        log.debug("REST request to stream entitlement changes from cursor: {}", from);
+        
+        return entitlementChangeService.stream(from);
+    }
+}
@@ -0,0 +1,201 @@
+package com.eklesa.subscription.controller;
+
+import com.eklesa.subscription.dto.request.BatchValidateFeatureLimitRequest;
+import com.eklesa.subscription.dto.request.DecrementUsageRequest;
+import com.eklesa.subscription.dto.request.ReserveUsageRequest;
+import com.eklesa.subscription.dto.request.ValidateFeatureLimitRequest;
+import com.eklesa.subscription.dto.response.BatchFeatureLimitValidationResponse;
+import com.eklesa.subscription.dto.response.FeatureLimitValidationResponse;
+import com.eklesa.subscription.dto.response.UsageLimitsDTO;
+import com.eklesa.subscription.dto.response.UsageReservationResponse;
+import com.eklesa.subscription.service.FeatureLimitService;
+import com.eklesa.subscription.service.UsageCounterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller para validación de límites de features.
+ * 
+ * ENDPOINTS:
+ * - POST /api/limits/validate
+ * - POST /api/limits/validate-batch
+ * - POST /api/limits/reserve
+ * - POST /api/limits/reservations/{reservationId}/commit
+ * - POST /api/limits/reservations/{reservationId}/release
+ * - POST /api/limits/usage/decrement
+ * - GET  /api/limits/{orgId}
+ * 
+ * LLAMADO POR: crm-service antes de crear recursos
+ */
+@RestController
+@RequestMapping("/api/limits")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Limits", description = "Validación de límites de features")
+public class LimitsController {
+    
+    private final FeatureLimitService featureLimitService;
+    private final UsageCounterService usageCounterService;
+    
+    /**
+     * Valida si puede crear un recurso.
+     * 
+     * CRÍTICO: Este endpoint es llamado por crm-service
+     * antes de crear contactos, deals, etc.
+     * 
+     * EJEMPLO:
+     * POST /api/limits/validate
+     * {
+     *   "organizationId": 123,
+     *   "featureCode": "CONTACTS",
+     *   "currentCount": 450,
+     *   "incrementBy": 1
+     * }
+     * 
+     * RESPONSE:
+     * {
+     *   "allowed": true,
+     *   "currentUsage": 450,
+     *   "maxLimit": 500,
+     *   "remaining": 50,
+     *   "usagePercentage": 90.0
+     * }
+     */
+    @PostMapping("/validate")
+    @Operation(summary = "Validar límite", description = "Valida si puede usar una feature según el plan")
+    public ResponseEntity<FeatureLimitValidationResponse> validateFeatureLimit(
+        @Valid @RequestBody ValidateFeatureLimitRequest request
+    ) {
+        log.debug("REST request to validate feature limit for org: {}, feature: {}", 
+            request.getOrganizationId(), request.getFeatureCode());
+        
+        FeatureLimitValidationResponse response = featureLimitService.validateFeatureLimit(request);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Valida varios límites en una sola llamada.
+     * 
+     * LLAMADO POR: crm-service al importar CSVs de contactos/deals,
+     * en lugar de llamar /validate por cada fila.
+     * 
+     * EJEMPLO:
+     * POST /api/limits/validate-batch
+     * {
+     *   "items": [
+     *     { "organizationId": 123, "featureCode": "CONTACTS", "currentCount": 450, "incrementBy": 200 },
+     *     { "organizationId": 123, "featureCode": "DEALS", "currentCount": 10, "incrementBy": 50 }
+     *   ]
+     * }
+     * 
+     * RESPONSE: results[] en el mismo orden que items[]
+     */
+    @PostMapping("/validate-batch")
+    @Operation(summary = "Validar límites en batch", description = "Valida varios límites con una sola consulta de subscriptions")
+    public ResponseEntity<BatchFeatureLimitValidationResponse> validateFeatureLimits(
+        @Valid @RequestBody BatchValidateFeatureLimitRequest request
+    ) {
+        log.debug("REST request to validate {} feature limits in batch", request.getItems().size());
+        
+        BatchFeatureLimitValidationResponse response = featureLimitService.validateFeatureLimits(request.getItems());
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Reserva uso de una feature con el contador del servidor.
+     * 
+     * A diferencia de /validate, el conteo actual lo lleva este servicio
+     * y la decisión es atómica entre pods de crm-service.
+     * 
+     * FLOW EN CRM:
+     * 1. POST /api/limits/reserve -> reservationId
+     * 2. Crear el recurso
+     * 3. POST /api/limits/reservations/{id}/commit (o /release si falló)
+     * 
+     * Las reservas sin commit expiran (app.usage.reservation-ttl).
+     */
+    @PostMapping("/reserve")
+    @Operation(summary = "Reservar uso", description = "Reserva uso de una feature de forma atómica según el plan")
+    public ResponseEntity<UsageReservationResponse> reserveUsage(
+        @Valid @RequestBody ReserveUsageRequest request
+    ) {
+        log.debug("REST request to reserve usage for org: {}, feature: {}", 
+            request.getOrganizationId(), request.getFeatureCode());
+        
+        UsageReservationResponse response = usageCounterService.reserve(request);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Confirma una reserva.
+     */
+    @PostMapping("/reservations/{reservationId}/commit")
+    @Operation(summary = "Confirmar reserva", description = "Convierte el uso reservado en uso confirmado")
+    public ResponseEntity<Void> commitReservation(
+        @PathVariable String reservationId
+    ) {
+        log.debug("REST request to commit usage reservation: {}", reservationId);
+        
+        usageCounterService.commit(reservationId);
+        
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Libera una reserva.
+     */
+    @PostMapping("/reservations/{reservationId}/release")
+    @Operation(summary = "Liberar reserva", description = "Libera el uso reservado sin consumirlo")
+    public ResponseEntity<Void> releaseReservation(
+        @PathVariable String reservationId
+    ) {
+        log.debug("REST request to release usage reservation: {}", reservationId);
+        
+        usageCounterService.release(reservationId);
+        
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Resta uso confirmado.
+     * 
+     * LLAMADO POR: crm-service después de eliminar recursos
+     */
+    @PostMapping("/usage/decrement")
+    @Operation(summary = "Restar uso", description = "Resta uso confirmado de una feature")
+    public ResponseEntity<Void> decrementUsage(
+        @Valid @RequestBody DecrementUsageRequest request
+    ) {
+        log.debug("REST request to decrement usage for org: {}, feature: {}", 
+            request.getOrganizationId(), request.getFeatureCode());
+        
+        usageCounterService.decrement(request);
+        
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Obtiene los límites actuales de una organización.
+     * 
+     * LLAMADO POR: Frontend para mostrar usage bars
+     */
+    @GetMapping("/{organizationId}")
+    @Operation(summary = "Obtener límites", description = "Obtiene los límites y uso actual de todas las features")
+    public ResponseEntity<UsageLimitsDTO> getCurrentLimits(
+        @PathVariable Long organizationId
+    ) {
+        log.debug("REST request to get current limits for org: {}", organizationId);
+        
+        UsageLimitsDTO limits = featureLimitService.getCurrentLimits(organizationId);
+        
+        return ResponseEntity.ok(limits);
+    }
+}
@@ -0,0 +1,94 @@
+package com.eklesa.subscription.controller;
+
+import com.eklesa.subscription.catalog.PlanCatalog;
+import com.eklesa.subscription.dto.response.PlanDTO;
+import com.eklesa.subscription.service.PlanCatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Controller para gestión de planes.
+ * 
+ * ENDPOINTS:
+ * - GET /api/plans
+ * - GET /api/plans/{code}
+ * - GET /api/plans/featured
+ * 
+ * PÚBLICO: No requiere autenticación (para landing page)
+ */
+@RestController
+@RequestMapping("/api/plans")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Plans", description = "Consulta de planes disponibles")
+public class PlanController {
+    
+    /**
+     * El navegador/CDN siempre revalida (con ETag): un cambio de plan se ve de inmediato.
+     */
+    private static final CacheControl CATALOG_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+    
+    private final PlanCatalogService planCatalogService;
+    
+    /**
+     * Obtiene todos los planes activos.
+     * 
+     * LLAMADO POR: Frontend en PricingPage
+     * 
+     * PÚBLICO: Cualquiera puede ver los planes
+     * 
+     * CACHE: El body sale pre-serializado del catálogo. Si el cliente
+     * envía If-None-Match con el ETag actual, responde 304 sin body.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Listar planes", description = "Obtiene todos los planes de suscripción disponibles")
+    @ApiResponse(responseCode = "200", content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        array = @ArraySchema(schema = @Schema(implementation = PlanDTO.class))
+    ))
+    public ResponseEntity<byte[]> getAllPlans(WebRequest request) {
+        log.debug("REST request to get all plans");
+        
+        PlanCatalog catalog = planCatalogService.getCatalog();
+        
+        if (request.checkNotModified(catalog.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(catalog.getEtag())
+                .cacheControl(CATALOG_CACHE_CONTROL)
+                .build();
+        }
+        
+        return ResponseEntity.ok()
+            .eTag(catalog.getEtag())
+            .cacheControl(CATALOG_CACHE_CONTROL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(catalog.getPlansJson());
+    }
+    
+    /**
+     * Obtiene plan destacado.
+     * 
+     * USADO EN: Landing page para mostrar plan recomendado
+     */
+    @GetMapping("/featured")
+    @Operation(summary = "Plan destacado", description = "Obtiene el plan recomendado/destacado")
+    public ResponseEntity<PlanDTO> getFeaturedPlan() {
+        log.info("REST request to get featured plan");
+        
+        PlanDTO plan = planCatalogService.getFeaturedPlan();
+        
+        return ResponseEntity.ok(plan);
+    }
+}
@@ -0,0 +1,30 @@
+package com.eklesa.subscription.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request para validar varios límites en una sola llamada.
+ * 
+ * LLAMADO POR: crm-service durante importaciones masivas (CSV)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchValidateFeatureLimitRequest {
+    
+    /**
+     * Items a validar. Pueden ser de distintas organizaciones/features.
+     */
+    @NotEmpty(message = "Items es requerido")
+    @Size(max = 1000, message = "Máximo 1000 items por request")
+    private List<@Valid ValidateFeatureLimitRequest> items;
+}
@@ -0,0 +1,31 @@
+package com.eklesa.subscription.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request para restar uso de una feature.
+ * 
+ * LLAMADO POR: crm-service después de eliminar recursos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DecrementUsageRequest {
+    
+    @NotNull(message = "Organization ID es requerido")
+    private Long organizationId;
+    
+    @NotBlank(message = "Feature code es requerido")
+    private String featureCode;
+    
+    @Min(value = 1, message = "Amount debe ser mayor a 0")
+    @Builder.Default
+    private Integer amount = 1;
+}
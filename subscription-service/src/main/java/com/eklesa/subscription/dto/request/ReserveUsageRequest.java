@@ -0,0 +1,35 @@
+package com.eklesa.subscription.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request para reservar uso de una feature.
+ * 
+ * LLAMADO POR: crm-service antes de crear contactos, deals, etc.
+ * El conteo actual lo lleva el servidor (usage_counters).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReserveUsageRequest {
+    
+    @NotNull(message = "Organization ID es requerido")
+    private Long organizationId;
+    
+    @NotBlank(message = "Feature code es requerido")
+    private String featureCode; // "CONTACTS", "USERS", "DEALS", etc.
+    
+    /**
+     * Cantidad a reservar.
+     */
+    @Min(value = 1, message = "Amount debe ser mayor a 0")
+    @Builder.Default
+    private Integer amount = 1;
+}
@@ -26,8 +26,9 @@ public class ValidateFeatureLimitRequest {
     
     /**
      * Cantidad actual de uso.
+     * 
+     * OPCIONAL: Si es null, se usa el contador del servidor (usage_counters).
      */
-    @NotNull(message = "Current count es requerido")
     private Integer currentCount;
     
     /**
@@ -0,0 +1,24 @@
+package com.eklesa.subscription.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response de validación de límites en batch.
+ * 
+ * Los resultados vienen en el mismo orden que los items del request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchFeatureLimitValidationResponse {
+    
+    private List<FeatureLimitValidationResponse> results;
+    private Integer allowedCount;
+    private Integer deniedCount;
+}
@@ -0,0 +1,32 @@
+package com.eklesa.subscription.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio de entitlements de una organización (stream de cambios).
+ * 
+ * cursor: posición del cambio (usar como cursor / Last-Event-ID para continuar).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntitlementChangeDTO {
+    
+    private Long id;
+    private String cursor;
+    private Long organizationId;
+    private Long subscriptionId;
+    private String changeType;
+    
+    // Estado después del cambio
+    private String planCode;
+    private String status;
+    
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,26 @@
+package com.eklesa.subscription.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página del stream de cambios de entitlements.
+ * 
+ * resetRequired: el cursor es anterior a la retención del log; el
+ * consumidor debe descartar TODO su cache y seguir desde cursor.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntitlementChangesResponse {
+    
+    private String cursor;
+    private Boolean hasMore;
+    private Boolean resetRequired;
+    private List<EntitlementChangeDTO> changes;
+}
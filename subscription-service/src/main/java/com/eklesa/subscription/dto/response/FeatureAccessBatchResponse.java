@@ -0,0 +1,27 @@
+package com.eklesa.subscription.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Response de verificación de varias features MODULE/CAPABILITY de una org.
+ * 
+ * features: featureCode -> habilitada, en el orden del request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeatureAccessBatchResponse {
+    
+    private Long organizationId;
+    private String planCode;
+    private Map<String, Boolean> features;
+    
+    // Si ninguna está habilitada por el estado de la subscription
+    private String reason;
+}
@@ -0,0 +1,24 @@
+package com.eklesa.subscription.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response de verificación de una feature MODULE/CAPABILITY.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeatureAccessResponse {
+    
+    private Long organizationId;
+    private String featureCode;
+    private Boolean enabled;
+    private String planCode;
+    
+    // Si no está habilitada
+    private String reason;
+}
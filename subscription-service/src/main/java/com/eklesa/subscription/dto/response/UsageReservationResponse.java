@@ -0,0 +1,38 @@
+package com.eklesa.subscription.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response de una reserva de uso.
+ * 
+ * Si allowed = true, crm-service debe llamar commit (o release)
+ * con reservationId antes de expiresAt.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsageReservationResponse {
+    
+    private String reservationId;
+    private LocalDateTime expiresAt;
+    
+    private Boolean allowed;
+    private String featureCode;
+    private Integer currentUsage;
+    private Integer reservedUsage;
+    private Integer maxLimit;
+    private Integer remaining;
+    private BigDecimal usagePercentage;
+    
+    // Si no está permitido
+    private String reason;
+    private String upgradeMessage;
+    private String recommendedPlan;
+}
@@ -0,0 +1,83 @@
+package com.eklesa.subscription.entitlement;
+
+import com.eklesa.subscription.model.Plan;
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.enums.PlanTier;
+import com.eklesa.subscription.model.enums.SubscriptionStatus;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Foto inmutable de los entitlements de una organización.
+ * 
+ * Contiene solo lo necesario para validar límites sin tocar la BD:
+ * status, flags de acceso y límites del plan.
+ * 
+ * USADO POR: EntitlementCacheService y FeatureLimitService
+ */
+@Value
+@Builder
+public class EntitlementSnapshot {
+    
+    Long organizationId;
+    Long subscriptionId;
+    
+    /**
+     * Version (optimistic locking) de la subscription al momento de la foto.
+     * EntitlementCacheService no reemplaza una foto por otra más vieja.
+     */
+    Long version;
+    
+    // Status
+    SubscriptionStatus status;
+    boolean readOnly;
+    boolean canAccess;
+    
+    // Plan
+    Long planId;
+    String planCode;
+    String planName;
+    PlanTier planTier;
+    
+    // Storage en GB (null = ilimitado)
+    Integer maxStorageGb;
+    
+    /**
+     * Límites compilados del plan (FeatureRegistry), compartidos entre
+     * todas las organizaciones del mismo plan.
+     */
+    PlanLimits limits;
+    
+    /**
+     * true si esta foto es de una versión anterior de la misma subscription.
+     * Fotos de subscriptions distintas (re-creada) no se comparan.
+     */
+    public boolean isOlderThan(EntitlementSnapshot other) {
+        return subscriptionId.equals(other.subscriptionId)
+            && version != null && other.version != null
+            && version < other.version;
+    }
+    
+    /**
+     * Construye la foto a partir de la entidad (plan ya cargado, EAGER)
+     * y los límites compilados de su plan.
+     */
+    public static EntitlementSnapshot from(Subscription subscription, PlanLimits limits) {
+        Plan plan = subscription.getPlan();
+        
+        return EntitlementSnapshot.builder()
+            .organizationId(subscription.getOrganizationId())
+            .subscriptionId(subscription.getId())
+            .version(subscription.getVersion())
+            .status(subscription.getStatus())
+            .readOnly(subscription.isReadOnly())
+            .canAccess(subscription.canAccess())
+            .planId(plan.getId())
+            .planCode(plan.getCode())
+            .planName(plan.getName())
+            .planTier(plan.getTier())
+            .maxStorageGb(plan.getMaxStorageGb())
+            .limits(limits)
+            .build();
+    }
+}
@@ -0,0 +1,293 @@
+package com.eklesa.subscription.entitlement;
+
+import com.eklesa.subscription.model.Plan;
+import com.eklesa.subscription.model.PlanFeature;
+import com.eklesa.subscription.model.enums.FeatureType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Límites y capabilities de todos los planes compilados a tablas de enteros.
+ * 
+ * ORIGEN DE LOS LÍMITES (en orden de prioridad):
+ * 1. Filas LIMIT habilitadas de plan_features:
+ *    - MAX_<FEATURE> con limit_value numérico ("5")
+ *    - UNLIMITED_<FEATURE> o limit_value "UNLIMITED"
+ * 2. Columnas max_* de plans (LimitedFeature)
+ * 
+ * Una feature nueva con límite solo necesita filas MAX_<FEATURE>: se le
+ * asigna un índice al compilar, sin cambios de código.
+ * 
+ * CAPABILITIES: Las filas MODULE/CAPABILITY habilitadas se compilan a un
+ * bitset por plan (PlanCapabilities). ALL_IN_<PLAN> incluye todas las
+ * features de otro plan (p. ej. ENTERPRISE -> ALL_IN_PROFESSIONAL).
+ * 
+ * NOTA: Inmutable. FeatureRegistryService compila uno nuevo y lo publica
+ * cuando cambia la huella de plans/plan_features.
+ */
+@Slf4j
+public final class FeatureRegistry {
+    
+    private static final String MAX_PREFIX = "MAX_";
+    private static final String UNLIMITED_PREFIX = "UNLIMITED_";
+    private static final String UNLIMITED_VALUE = "UNLIMITED";
+    private static final String INCLUDE_PREFIX = "ALL_IN_";
+    
+    private final FeatureIndex features;
+    private final Map<Long, PlanLimits> limitsByPlanId;
+    private final FeatureIndex capabilities;
+    private final Map<Long, PlanCapabilities> capabilitiesByPlanId;
+    private final String fingerprint;
+    
+    private FeatureRegistry(
+        FeatureIndex features,
+        Map<Long, PlanLimits> limitsByPlanId,
+        FeatureIndex capabilities,
+        Map<Long, PlanCapabilities> capabilitiesByPlanId,
+        String fingerprint
+    ) {
+        this.features = features;
+        this.limitsByPlanId = limitsByPlanId;
+        this.capabilities = capabilities;
+        this.capabilitiesByPlanId = capabilitiesByPlanId;
+        this.fingerprint = fingerprint;
+    }
+    
+    /**
+     * Compila los planes (con features ya cargadas).
+     * 
+     * FLOW:
+     * 1. Parsea las filas LIMIT de todos los planes
+     * 2. Arma el diccionario: features de columnas + códigos nuevos
+     * 3. Por plan: columnas, luego filas LIMIT encima
+     * 4. Por plan: bitset de MODULE/CAPABILITY (+ ALL_IN_<PLAN>)
+     */
+    public static FeatureRegistry compile(List<Plan> plans, String fingerprint) {
+        Map<Long, List<LimitRule>> rulesByPlan = new HashMap<>();
+        Set<String> codes = new LinkedHashSet<>();
+        
+        for (Plan plan : plans) {
+            List<LimitRule> rules = new ArrayList<>();
+            for (PlanFeature planFeature : plan.getFeatures()) {
+                LimitRule rule = LimitRule.parse(plan, planFeature);
+                if (rule != null) {
+                    rules.add(rule);
+                    codes.add(rule.featureCode());
+                }
+            }
+            rulesByPlan.put(plan.getId(), rules);
+        }
+        
+        FeatureIndex features = FeatureIndex.of(codes);
+        Map<Long, PlanLimits> limitsByPlanId = new HashMap<>(plans.size() * 2);
+        
+        for (Plan plan : plans) {
+            int[] maxLimits = new int[features.size()];
+            Arrays.fill(maxLimits, PlanLimits.UNLIMITED);
+            for (LimitedFeature feature : LimitedFeature.values()) {
+                maxLimits[feature.index()] = columnLimit(plan, feature);
+            }
+            for (LimitRule rule : rulesByPlan.get(plan.getId())) {
+                maxLimits[features.indexOf(rule.featureCode())] = rule.maxLimit();
+            }
+            limitsByPlanId.put(plan.getId(), PlanLimits.of(features, maxLimits));
+        }
+        
+        FeatureIndex capabilities = FeatureIndex.ofCodes(collectCapabilityCodes(plans));
+        
+        return new FeatureRegistry(
+            features,
+            Collections.unmodifiableMap(limitsByPlanId),
+            capabilities,
+            Collections.unmodifiableMap(compileCapabilities(plans, capabilities)),
+            fingerprint
+        );
+    }
+    
+    /**
+     * Límites compilados de un plan.
+     * 
+     * Un plan creado después de la última compilación usa solo sus
+     * columnas hasta el siguiente refresh.
+     */
+    public PlanLimits limitsFor(Plan plan) {
+        PlanLimits limits = limitsByPlanId.get(plan.getId());
+        return limits != null ? limits : columnLimits(plan);
+    }
+    
+    /**
+     * Capabilities compiladas de un plan (NONE si el plan no está compilado).
+     */
+    public PlanCapabilities capabilitiesFor(Long planId) {
+        return capabilitiesByPlanId.getOrDefault(planId, PlanCapabilities.NONE);
+    }
+    
+    public boolean contains(Long planId) {
+        return limitsByPlanId.containsKey(planId);
+    }
+    
+    public FeatureIndex getFeatures() {
+        return features;
+    }
+    
+    public int getPlanCount() {
+        return limitsByPlanId.size();
+    }
+    
+    /**
+     * Límites compilados por plan id.
+     * 
+     * USADO POR: EntitlementFeedService
+     */
+    public Map<Long, PlanLimits> getLimitsByPlanId() {
+        return limitsByPlanId;
+    }
+    
+    public FeatureIndex getCapabilities() {
+        return capabilities;
+    }
+    
+    public Map<Long, PlanCapabilities> getCapabilitiesByPlanId() {
+        return capabilitiesByPlanId;
+    }
+    
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private static Set<String> collectCapabilityCodes(List<Plan> plans) {
+        Set<String> codes = new TreeSet<>();
+        for (Plan plan : plans) {
+            for (PlanFeature planFeature : plan.getFeatures()) {
+                if (isCapability(planFeature)) {
+                    codes.add(normalize(planFeature.getFeatureCode()));
+                }
+            }
+        }
+        return codes;
+    }
+    
+    private static Map<Long, PlanCapabilities> compileCapabilities(List<Plan> plans, FeatureIndex capabilities) {
+        Map<String, Plan> plansByCode = new HashMap<>();
+        for (Plan plan : plans) {
+            plansByCode.put(normalize(plan.getCode()), plan);
+        }
+        
+        Map<Long, PlanCapabilities> capabilitiesByPlanId = new HashMap<>(plans.size() * 2);
+        for (Plan plan : plans) {
+            Set<String> codes = new HashSet<>();
+            collectCodes(plan, plansByCode, codes, new HashSet<>());
+            capabilitiesByPlanId.put(plan.getId(), PlanCapabilities.of(capabilities, codes));
+        }
+        return capabilitiesByPlanId;
+    }
+    
+    /**
+     * Junta los códigos del plan y de los planes que incluye (visited evita ciclos).
+     */
+    private static void collectCodes(
+        Plan plan,
+        Map<String, Plan> plansByCode,
+        Set<String> codes,
+        Set<Long> visited
+    ) {
+        if (!visited.add(plan.getId())) {
+            return;
+        }
+        for (PlanFeature planFeature : plan.getFeatures()) {
+            if (!isCapability(planFeature)) {
+                continue;
+            }
+            String code = normalize(planFeature.getFeatureCode());
+            codes.add(code);
+            
+            if (code.startsWith(INCLUDE_PREFIX)) {
+                Plan included = plansByCode.get(code.substring(INCLUDE_PREFIX.length()));
+                if (included != null) {
+                    collectCodes(included, plansByCode, codes, visited);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Límites solo desde las columnas (planes creados después de compilar).
+     */
+    private static PlanLimits columnLimits(Plan plan) {
+        int[] maxLimits = new int[FeatureIndex.BASE.size()];
+        for (LimitedFeature feature : LimitedFeature.values()) {
+            maxLimits[feature.index()] = columnLimit(plan, feature);
+        }
+        return PlanLimits.of(FeatureIndex.BASE, maxLimits);
+    }
+    
+    private static int columnLimit(Plan plan, LimitedFeature feature) {
+        Integer value = switch (feature) {
+            case CONTACTS -> plan.getMaxContacts();
+            case USERS -> plan.getMaxUsers();
+            case PIPELINES -> plan.getMaxPipelines();
+            case DEALS -> plan.getMaxDeals();
+        };
+        return value != null ? value : PlanLimits.UNLIMITED;
+    }
+    
+    private static boolean isCapability(PlanFeature planFeature) {
+        return (planFeature.getType() == FeatureType.MODULE || planFeature.getType() == FeatureType.CAPABILITY)
+            && Boolean.TRUE.equals(planFeature.getEnabled());
+    }
+    
+    private static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+    
+    /**
+     * Una fila LIMIT ya interpretada: feature y límite (UNLIMITED = sin límite).
+     */
+    private record LimitRule(String featureCode, int maxLimit) {
+        
+        static LimitRule parse(Plan plan, PlanFeature planFeature) {
+            if (planFeature.getType() != FeatureType.LIMIT || !Boolean.TRUE.equals(planFeature.getEnabled())) {
+                return null;
+            }
+            
+            String code = normalize(planFeature.getFeatureCode());
+            String value = planFeature.getLimitValue() != null ? planFeature.getLimitValue().trim() : null;
+            
+            if (code.startsWith(UNLIMITED_PREFIX)) {
+                return new LimitRule(code.substring(UNLIMITED_PREFIX.length()), PlanLimits.UNLIMITED);
+            }
+            
+            String featureCode = code.startsWith(MAX_PREFIX) ? code.substring(MAX_PREFIX.length()) : code;
+            if (value == null || value.isEmpty() || UNLIMITED_VALUE.equalsIgnoreCase(value)) {
+                return new LimitRule(featureCode, PlanLimits.UNLIMITED);
+            }
+            
+            try {
+                int maxLimit = Integer.parseInt(value);
+                if (maxLimit < 0) {
+                    throw new NumberFormatException("negative limit");
+                }
+                return new LimitRule(featureCode, maxLimit);
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalid limit_value '{}' for feature {} in plan {}",
+                    value, planFeature.getFeatureCode(), plan.getCode());
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.eklesa.subscription.event.listener;
+
+import com.eklesa.subscription.event.payload.BaseEvent;
+import com.eklesa.subscription.event.payload.TrialExpiringEvent;
+import com.eklesa.subscription.service.EntitlementCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalida la foto de entitlements de la org en el cache local.
+ * 
+ * Después del commit: invalidar antes permitiría que otro request vuelva
+ * a cachear el estado viejo mientras la transacción sigue abierta.
+ * 
+ * Síncrono (en el hilo que hizo commit): invalidar es barato, y al
+ * responder el request la instancia ya no sirve la foto vieja.
+ * 
+ * NOTA: Solo esta instancia. Las demás invalidan con entitlement_changes
+ * (EntitlementChangeService.dispatch).
+ */
+@Component
+@RequiredArgsConstructor
+public class EntitlementCacheEventListener {
+    
+    private final EntitlementCacheService entitlementCacheService;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionEvent(BaseEvent event) {
+        // Recordatorio: no cambia plan ni status
+        if (event instanceof TrialExpiringEvent) {
+            return;
+        }
+        entitlementCacheService.invalidate(event.getOrganizationId());
+    }
+}
@@ -0,0 +1,75 @@
+package com.eklesa.subscription.event.listener;
+
+import com.eklesa.subscription.config.AsyncConfig;
+import com.eklesa.subscription.event.payload.BaseEvent;
+import com.eklesa.subscription.event.payload.PaymentFailedEvent;
+import com.eklesa.subscription.event.payload.SubscriptionActivatedEvent;
+import com.eklesa.subscription.event.payload.TrialStartedEvent;
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.repository.SubscriptionRepository;
+import com.eklesa.subscription.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Envía los emails de las transiciones individuales de la subscription.
+ * 
+ * Corre después del commit en notificationExecutor: el request no espera
+ * a SES. La subscription se relee de la BD (estado ya confirmado).
+ * 
+ * NOTA: Los emails de trial por expirar y expirado los envían en bloque
+ * TrialReminderJob y TrialExpirationJob.
+ * 
+ * DESTINATARIO: Subscription.getNotificationEmail(). Sin email, no se envía.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationEventListener {
+    
+    private final SubscriptionRepository subscriptionRepository;
+    private final NotificationService notificationService;
+    
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrialStarted(TrialStartedEvent event) {
+        send(event, notificationService::sendTrialStartedEmail);
+    }
+    
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionActivated(SubscriptionActivatedEvent event) {
+        send(event, notificationService::sendSubscriptionActivatedEmail);
+    }
+    
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentFailed(PaymentFailedEvent event) {
+        send(event, notificationService::sendPaymentFailedEmail);
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private void send(BaseEvent event, BiConsumer<String, Subscription> sender) {
+        Subscription subscription = subscriptionRepository.findById(event.getSubscriptionId()).orElse(null);
+        if (subscription == null) {
+            log.warn("Subscription {} not found, skipping notification", event.getSubscriptionId());
+            return;
+        }
+        
+        String email = subscription.getNotificationEmail();
+        if (email == null) {
+            log.debug("No recipient for org: {}, skipping notification", subscription.getOrganizationId());
+            return;
+        }
+        
+        sender.accept(email, subscription);
+    }
+}
@@ -0,0 +1,49 @@
+package com.eklesa.subscription.event.listener;
+
+import com.eklesa.subscription.config.AsyncConfig;
+import com.eklesa.subscription.event.payload.BaseEvent;
+import com.eklesa.subscription.event.payload.TrialExpiringEvent;
+import com.eklesa.subscription.scheduler.AuthSyncRelayJob;
+import com.eklesa.subscription.scheduler.EventOutboxRelayJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Despierta los relays de los outboxes apenas hace commit una transición,
+ * en lugar de esperar al siguiente ciclo de polling.
+ * 
+ * Las filas de event_outbox y auth_sync_outbox ya están en la BD: si el
+ * aviso se descarta (executor ocupado) o la instancia muere, el polling
+ * de EventOutboxRelayJob / AuthSyncRelayJob las entrega igual.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRelayEventListener {
+    
+    private final EventOutboxRelayJob eventOutboxRelayJob;
+    private final AuthSyncRelayJob authSyncRelayJob;
+    
+    /**
+     * Publicación en SQS.
+     */
+    @Async(AsyncConfig.EVENT_RELAY_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionEvent(BaseEvent event) {
+        eventOutboxRelayJob.relay();
+    }
+    
+    /**
+     * Sincronización con auth-service.
+     */
+    @Async(AsyncConfig.AUTH_SYNC_RELAY_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionStatusEvent(BaseEvent event) {
+        // Recordatorio: no encola nada en auth_sync_outbox
+        if (event instanceof TrialExpiringEvent) {
+            return;
+        }
+        authSyncRelayJob.relay();
+    }
+}
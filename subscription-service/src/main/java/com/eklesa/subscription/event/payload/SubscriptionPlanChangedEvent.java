@@ -0,0 +1,19 @@
+package com.eklesa.subscription.event.payload;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class SubscriptionPlanChangedEvent extends BaseEvent {
+    private Long organizationId;
+    private Long subscriptionId;
+    private String previousPlanCode;
+    private String planCode;
+    private String billingPeriod;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,246 @@
+package com.eklesa.subscription.event.publisher;
+
+import com.eklesa.subscription.event.payload.*;
+import com.eklesa.subscription.model.EventOutbox;
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.repository.EventOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publicador de eventos de suscripción.
+ * 
+ * Cada evento:
+ * 1. Se guarda en event_outbox en la transacción del cambio de estado;
+ *    EventOutboxService lo publica en SQS después del commit
+ * 2. Se publica en proceso (ApplicationEventPublisher) con la misma clase
+ *    de payload; los listeners de event.listener corren después del commit
+ *    en sus propios executors (ver AsyncConfig)
+ * 
+ * EVENTOS:
+ * - TrialStartedEvent
+ * - TrialExpiringEvent
+ * - TrialExpiredEvent
+ * - SubscriptionActivatedEvent
+ * - SubscriptionPlanChangedEvent
+ * - SubscriptionCanceledEvent
+ * - SubscriptionSuspendedEvent
+ * - PaymentFailedEvent
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubscriptionEventPublisher {
+    
+    private final EventOutboxRepository eventOutboxRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    
+    /**
+     * Publica evento de trial iniciado.
+     */
+    public void publishTrialStarted(Subscription subscription, String ownerEmail) {
+        TrialStartedEvent event = TrialStartedEvent.builder()
+            .organizationId(subscription.getOrganizationId())
+            .subscriptionId(subscription.getId())
+            .trialEndDate(subscription.getTrialEndDate())
+            .ownerEmail(ownerEmail)
+            .timestamp(java.time.LocalDateTime.now())
+            .build();
+        
+        publishEvent("TRIAL_STARTED", event);
+    }
+    
+    /**
+     * Publica evento de trial próximo a expirar.
+     */
+    public void publishTrialExpiring(Subscription subscription, long daysLeft) {
+        publishEvent("TRIAL_EXPIRING", trialExpiringEvent(subscription, daysLeft));
+    }
+    
+    /**
+     * Publica eventos de trial próximo a expirar para una ola de
+     * recordatorios (un solo INSERT en event_outbox).
+     */
+    public void publishTrialsExpiring(List<Subscription> subscriptions, long daysLeft) {
+        publishEvents("TRIAL_EXPIRING",
+            subscriptions.stream().map(subscription -> trialExpiringEvent(subscription, daysLeft)).toList());
+    }
+    
+    /**
+     * Publica evento de trial expirado.
+     */
+    public void publishTrialExpired(Subscription subscription) {
+        publishEvent("TRIAL_EXPIRED", trialExpiredEvent(subscription));
+    }
+    
+    /**
+     * Publica eventos de trial expirado para una transición masiva
+     * (un solo INSERT en event_outbox).
+     */
+    public void publishTrialsExpired(List<Subscription> subscriptions) {
+        publishEvents("TRIAL_EXPIRED", subscriptions.stream().map(this::trialExpiredEvent).toList());
+    }
+    
+    /**
+     * Publica evento de suscripción activada.
+     */
+    public void publishSubscriptionActivated(Subscription subscription) {
+        SubscriptionActivatedEvent event = SubscriptionActivatedEvent.builder()
+            .organizationId(subscription.getOrganizationId())
+            .subscriptionId(subscription.getId())
+            .planCode(subscription.getPlan().getCode())
+            .billingPeriod(subscription.getBillingPeriod().name())
+            .amount(subscription.getAmount())
+            .timestamp(java.time.LocalDateTime.now())
+            .build();
+        
+        publishEvent("SUBSCRIPTION_ACTIVATED", event);
+    }
+    
+    /**
+     * Publica evento de cambio de plan (upgrade/downgrade).
+     */
+    public void publishPlanChanged(Subscription subscription, String previousPlanCode) {
+        SubscriptionPlanChangedEvent event = SubscriptionPlanChangedEvent.builder()
+            .organizationId(subscription.getOrganizationId())
+            .subscriptionId(subscription.getId())
+            .previousPlanCode(previousPlanCode)
+            .planCode(subscription.getPlan().getCode())
+            .billingPeriod(subscription.getBillingPeriod() != null ? subscription.getBillingPeriod().name() : null)
+            .timestamp(LocalDateTime.now())
+            .build();
+        
+        publishEvent("SUBSCRIPTION_PLAN_CHANGED", event);
+    }
+    
+    /**
+     * Publica evento de suscripción cancelada.
+     */
+    public void publishSubscriptionCanceled(Subscription subscription, String reason) {
+        SubscriptionCanceledEvent event = SubscriptionCanceledEvent.builder()
+            .organizationId(subscription.getOrganizationId())
+            .subscriptionId(subscription.getId())
+            .reason(reason)
+            .timestamp(java.time.LocalDateTime.now())
+            .build();
+        
+        publishEvent("SUBSCRIPTION_CANCELED", event);
+    }
+    
+    /**
+     * Publica evento de suscripción suspendida.
+     */
+    public void publishSubscriptionSuspended(Subscription subscription) {
+        publishEvent("SUBSCRIPTION_SUSPENDED", subscriptionSuspendedEvent(subscription));
+    }
+    
+    /**
+     * Publica eventos de suscripción suspendida para una transición masiva
+     * (un solo INSERT en event_outbox).
+     */
+    public void publishSubscriptionsSuspended(List<Subscription> subscriptions) {
+        publishEvents("SUBSCRIPTION_SUSPENDED", subscriptions.stream().map(this::subscriptionSuspendedEvent).toList());
+    }
+    
+    /**
+     * Publica evento de pago fallido.
+     */
+    public void publishPaymentFailed(Subscription subscription, String reason) {
+        PaymentFailedEvent event = PaymentFailedEvent.builder()
+            .organizationId(subscription.getOrganizationId())
+            .subscriptionId(subscription.getId())
+            .paypalSubscriptionId(subscription.getPaypalSubscriptionId())
+            .reason(reason)
+            .timestamp(java.time.LocalDateTime.now())
+            .build();
+        
+        publishEvent("PAYMENT_FAILED", event);
+    }
+    
+    // ============================================
+    // HELPER
+    // ============================================
+    
+    /**
+     * Guarda el evento en event_outbox, dentro de la transacción del llamador,
+     * y lo publica en proceso.
+     * 
+     * Si la transacción hace rollback, el evento no se publica en SQS ni
+     * llega a los listeners AFTER_COMMIT.
+     */
+    private void publishEvent(String eventType, BaseEvent event) {
+        eventOutboxRepository.save(toOutbox(eventType, event));
+        
+        applicationEventPublisher.publishEvent(event);
+        
+        log.info("Queued event: {} for org: {}", eventType, event.getOrganizationId());
+    }
+    
+    /**
+     * Versión multi-evento de publishEvent: un INSERT multi-fila.
+     */
+    private void publishEvents(String eventType, List<? extends BaseEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        
+        eventOutboxRepository.insertAll(events.stream().map(event -> toOutbox(eventType, event)).toList());
+        
+        events.forEach(applicationEventPublisher::publishEvent);
+        
+        log.info("Queued {} events: {}", events.size(), eventType);
+    }
+    
+    private EventOutbox toOutbox(String eventType, BaseEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event: " + eventType, e);
+        }
+        
+        return EventOutbox.builder()
+            .eventId(UUID.randomUUID().toString())
+            .organizationId(event.getOrganizationId())
+            .eventType(eventType)
+            .payload(payload)
+            .nextAttemptAt(LocalDateTime.now())
+            .build();
+    }
+    
+    private TrialExpiringEvent trialExpiringEvent(Subscription subscription, long daysLeft) {
+        return TrialExpiringEvent.builder()
+            .organizationId(subscription.getOrganizationId())
+            .subscriptionId(subscription.getId())
+            .daysLeft(daysLeft)
+            .trialEndDate(subscription.getTrialEndDate())
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+    
+    private TrialExpiredEvent trialExpiredEvent(Subscription subscription) {
+        return TrialExpiredEvent.builder()
+            .organizationId(subscription.getOrganizationId())
+            .subscriptionId(subscription.getId())
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+    
+    private SubscriptionSuspendedEvent subscriptionSuspendedEvent(Subscription subscription) {
+        return SubscriptionSuspendedEvent.builder()
+            .organizationId(subscription.getOrganizationId())
+            .subscriptionId(subscription.getId())
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.eklesa.subscription.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado pendiente de sincronizar con auth-service (outbox).
+ * 
+ * Una fila por organización: un cambio nuevo reemplaza al pendiente e
+ * incrementa revision. Las escrituras son upserts nativos
+ * (AuthSyncOutboxRepository); la entidad solo se lee.
+ */
+@Entity
+@Table(name = "auth_sync_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthSyncOutbox extends BaseEntity {
+    
+    @Column(name = "organization_id", nullable = false, unique = true)
+    private Long organizationId;
+    
+    @Column(name = "subscription_status", nullable = false, length = 20)
+    private String subscriptionStatus;
+    
+    @Column(name = "trial_ends_at")
+    private LocalDateTime trialEndsAt;
+    
+    /**
+     * Se incrementa con cada cambio coalescido. El relay borra la fila
+     * solo si entregó la revision actual.
+     */
+    @Column(nullable = false)
+    private Long revision;
+    
+    /**
+     * Intentos fallidos de la revision actual.
+     */
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    /**
+     * No se reintenta antes de esta fecha (backoff).
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    /**
+     * Lease del relay que la reclamó.
+     */
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
@@ -0,0 +1,49 @@
+package com.eklesa.subscription.model;
+
+import com.eklesa.subscription.model.enums.EntitlementChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Cambio de entitlements de una organización (log append-only).
+ * 
+ * Se guarda en la misma transacción que el cambio de la subscription:
+ * si la transacción hace rollback, el cambio no existe.
+ * 
+ * El cursor del stream de cambios (GET /api/entitlements/changes) es
+ * (ingestXid, id): orden de commit, no de inserción.
+ */
+@Entity
+@Table(name = "entitlement_changes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EntitlementChange extends BaseEntity {
+    
+    @Column(name = "organization_id", nullable = false)
+    private Long organizationId;
+    
+    /**
+     * xid8 de la transacción que insertó la fila (default de la BD).
+     */
+    @Column(name = "ingest_xid", columnDefinition = "xid8", insertable = false, updatable = false)
+    private Long ingestXid;
+    
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 30)
+    private EntitlementChangeType changeType;
+    
+    /**
+     * Plan y status DESPUÉS del cambio.
+     */
+    @Column(name = "plan_code", nullable = false, length = 50)
+    private String planCode;
+    
+    @Column(nullable = false, length = 20)
+    private String status;
+}
@@ -0,0 +1,63 @@
+package com.eklesa.subscription.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de dominio pendiente de publicar en SQS (outbox).
+ * 
+ * Se guarda en la misma transacción que el cambio de estado y lo publica
+ * EventOutboxRelayJob. Se borra cuando SQS confirma el envío.
+ */
+@Entity
+@Table(name = "event_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventOutbox extends BaseEntity {
+    
+    /**
+     * UUID del evento. Se envía como MessageDeduplicationId (colas FIFO)
+     * y como atributo eventId para que el consumidor descarte duplicados.
+     */
+    @Column(name = "event_id", nullable = false, unique = true, length = 36)
+    private String eventId;
+    
+    @Column(name = "organization_id", nullable = false)
+    private Long organizationId;
+    
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+    
+    /**
+     * Evento serializado (JSON), tal como se publica.
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    /**
+     * Intentos fallidos.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    /**
+     * No se reintenta antes de esta fecha (backoff).
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    /**
+     * Lease del relay que lo reclamó.
+     */
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
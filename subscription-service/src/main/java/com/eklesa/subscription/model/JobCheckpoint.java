@@ -0,0 +1,36 @@
+package com.eklesa.subscription.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Watermark de un job incremental.
+ * 
+ * El job avanza el watermark en la misma transacción que procesa cada
+ * chunk: si el proceso muere, el chunk completo hace rollback y el job
+ * retoma desde el último watermark confirmado.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobCheckpoint extends BaseEntity {
+    
+    @Column(name = "job_name", unique = true, nullable = false, length = 100)
+    private String jobName;
+    
+    /**
+     * Keyset: último (watermarkXid, watermarkId) procesado. watermarkXid es
+     * el xid8 de la transacción que insertó la fila (orden de commit).
+     */
+    @Column(name = "watermark_xid", nullable = false)
+    @Builder.Default
+    private Long watermarkXid = 0L;
+    
+    @Column(name = "watermark_id", nullable = false)
+    @Builder.Default
+    private Long watermarkId = 0L;
+}
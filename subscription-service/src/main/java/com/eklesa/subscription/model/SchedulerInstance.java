@@ -0,0 +1,28 @@
+package com.eklesa.subscription.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Instancia viva del servicio (heartbeat).
+ * 
+ * Las escrituras son upserts nativos (SchedulerInstanceRepository);
+ * la entidad solo se lee.
+ */
+@Entity
+@Table(name = "scheduler_instances")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerInstance extends BaseEntity {
+    
+    @Column(name = "instance_id", nullable = false, unique = true, length = 100)
+    private String instanceId;
+    
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,34 @@
+package com.eklesa.subscription.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease de un job (o de un shard de un job) entre instancias.
+ * 
+ * Las escrituras son upserts nativos (SchedulerLeaseRepository);
+ * la entidad solo se lee.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLease extends BaseEntity {
+    
+    @Column(name = "lock_name", nullable = false, unique = true, length = 150)
+    private String lockName;
+    
+    @Column(name = "owner_id", nullable = false, length = 100)
+    private String ownerId;
+    
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+    
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+}
@@ -1,6 +1,7 @@
 package com.eklesa.subscription.model;
 
 import com.eklesa.subscription.model.enums.BillingPeriod;
+import com.eklesa.subscription.model.enums.SubscriptionDeadlineAction;
 import com.eklesa.subscription.model.enums.SubscriptionStatus;
 import jakarta.persistence.*;
 import lombok.*;
@@ -39,6 +40,13 @@ public class Subscription extends BaseEntity {
     @Column(name = "organization_id", nullable = false, unique = true)
     private Long organizationId;
 
+    /**
+     * Email del owner de la organización (recibido en startTrial).
+     * Destinatario de las notificaciones.
+     */
+    @Column(name = "owner_email", length = 255)
+    private String ownerEmail;
+
     /**
      * Plan contratado.
      */
@@ -123,6 +131,21 @@ public class Subscription extends BaseEntity {
     @Column(name = "ended_at")
     private LocalDateTime endedAt;
 
+    // ============================================
+    // DEADLINE
+    // ============================================
+
+    /**
+     * Próxima transición automática y cuándo vence. Null = ninguna.
+     * TrialExpirationJob procesa las vencidas (índice idx_subscriptions_next_deadline).
+     */
+    @Column(name = "next_deadline_at")
+    private LocalDateTime nextDeadlineAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "next_deadline_action", length = 30)
+    private SubscriptionDeadlineAction nextDeadlineAction;
+
     // ============================================
     // PRICING
     // ============================================
@@ -186,6 +209,14 @@ public class Subscription extends BaseEntity {
         return status == SubscriptionStatus.GRACE_PERIOD;
     }
 
+    /**
+     * Destinatario de las notificaciones: el owner, o el email de PayPal
+     * en subscriptions creadas antes de guardar ownerEmail.
+     */
+    public String getNotificationEmail() {
+        return ownerEmail != null ? ownerEmail : paypalEmail;
+    }
+
     /**
      * Calcula días restantes del trial.
      */
@@ -206,6 +237,8 @@ public class Subscription extends BaseEntity {
         this.trialEndDate = trialStartDate.plusDays(21);
         this.isTrialUsed = true;
         this.billingPeriod = BillingPeriod.MONTHLY;
+        this.nextDeadlineAt = trialEndDate;
+        this.nextDeadlineAction = SubscriptionDeadlineAction.EXPIRE_TRIAL;
     }
 
     /**
@@ -222,13 +255,16 @@ public class Subscription extends BaseEntity {
             ? currentPeriodStart.plusYears(1)
             : currentPeriodStart.plusMonths(1);
         this.nextBillingDate = currentPeriodEnd;
+        clearDeadline();
     }
 
     /**
-     * Marca como expirado y entra en grace period.
+     * Marca como expirado y entra en grace period hasta gracePeriodEnd.
      */
-    public void enterGracePeriod() {
+    public void enterGracePeriod(LocalDateTime gracePeriodEnd) {
         this.status = SubscriptionStatus.GRACE_PERIOD;
+        this.nextDeadlineAt = gracePeriodEnd;
+        this.nextDeadlineAction = SubscriptionDeadlineAction.SUSPEND;
     }
 
     /**
@@ -236,6 +272,7 @@ public class Subscription extends BaseEntity {
      */
     public void suspend() {
         this.status = SubscriptionStatus.SUSPENDED;
+        clearDeadline();
     }
 
     /**
@@ -244,5 +281,14 @@ public class Subscription extends BaseEntity {
     public void cancel() {
         this.status = SubscriptionStatus.CANCELED;
         this.canceledAt = LocalDateTime.now();
+        clearDeadline();
+    }
+
+    /**
+     * Quita la transición automática pendiente.
+     */
+    public void clearDeadline() {
+        this.nextDeadlineAt = null;
+        this.nextDeadlineAction = null;
     }
 }
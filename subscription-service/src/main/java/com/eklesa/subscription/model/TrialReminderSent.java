@@ -0,0 +1,28 @@
+package com.eklesa.subscription.model;
+
+import com.eklesa.subscription.model.enums.TrialReminderKind;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Recordatorio de trial ya enviado (ledger de TrialReminderJob).
+ * 
+ * UNIQUE (subscription_id, reminder_kind): cada recordatorio se envía
+ * una sola vez por subscription.
+ */
+@Entity
+@Table(name = "trial_reminders_sent")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrialReminderSent extends BaseEntity {
+    
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reminder_kind", nullable = false, length = 30)
+    private TrialReminderKind reminderKind;
+}
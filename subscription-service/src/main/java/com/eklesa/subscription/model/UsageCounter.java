@@ -0,0 +1,55 @@
+package com.eklesa.subscription.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Contador de uso actual por (subscription, feature).
+ * 
+ * A diferencia de UsageRecord (histórico), hay UNA sola fila por feature
+ * y se actualiza de forma atómica con UPDATE condicionales
+ * (ver UsageCounterRepository).
+ */
+@Entity
+@Table(name = "usage_counters", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_usage_counters_subscription_feature", columnNames = {"subscription_id", "feature_code"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsageCounter extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "subscription_id", nullable = false)
+    private Subscription subscription;
+    
+    /**
+     * Código de la feature.
+     * Ej: "CONTACTS", "USERS", "DEALS"
+     */
+    @Column(name = "feature_code", nullable = false, length = 50)
+    private String featureCode;
+    
+    /**
+     * Uso confirmado.
+     */
+    @Column(name = "used_count", nullable = false)
+    @Builder.Default
+    private Integer usedCount = 0;
+    
+    /**
+     * Uso reservado pendiente de commit.
+     */
+    @Column(name = "reserved_count", nullable = false)
+    @Builder.Default
+    private Integer reservedCount = 0;
+    
+    /**
+     * Uso total que cuenta contra el límite.
+     */
+    public int getTotalCount() {
+        return usedCount + reservedCount;
+    }
+}
@@ -0,0 +1,75 @@
+package com.eklesa.subscription.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Resumen diario de uso por (subscription, feature).
+ * 
+ * Lo construye UsageRecordJob de forma incremental a partir de
+ * usage_records (ver UsageDailyAggregateRepository.aggregateNextChunk).
+ */
+@Entity
+@Table(name = "usage_daily_aggregates", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_usage_daily_aggregates_subscription_feature_date", columnNames = {"subscription_id", "feature_code", "usage_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsageDailyAggregate extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "subscription_id", nullable = false)
+    private Subscription subscription;
+    
+    /**
+     * Código de la feature (mayúsculas).
+     */
+    @Column(name = "feature_code", nullable = false, length = 50)
+    private String featureCode;
+    
+    /**
+     * Día del uso.
+     */
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+    
+    @Column(name = "min_usage", nullable = false)
+    private Integer minUsage;
+    
+    @Column(name = "max_usage", nullable = false)
+    private Integer maxUsage;
+    
+    /**
+     * Último valor registrado en el día.
+     */
+    @Column(name = "last_usage", nullable = false)
+    private Integer lastUsage;
+    
+    /**
+     * Límite del plan en el último registro del día.
+     */
+    @Column(name = "plan_limit")
+    private Integer planLimit;
+    
+    /**
+     * Cantidad de registros de usage_records agregados.
+     */
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+    
+    /**
+     * Si algún registro del día excedió el límite.
+     */
+    @Column(name = "limit_exceeded", nullable = false)
+    @Builder.Default
+    private Boolean limitExceeded = false;
+    
+    @Column(name = "last_recorded_at", nullable = false)
+    private LocalDateTime lastRecordedAt;
+}
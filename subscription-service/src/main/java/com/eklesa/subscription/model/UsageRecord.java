@@ -10,12 +10,13 @@ import java.time.LocalDateTime;
  * Registro de uso de features para tracking.
  * 
  * Se usa para analytics y alertas de límites.
+ * 
+ * PARTICIONADA: Por mes sobre recorded_at (ver V6). Las particiones
+ * viejas se eliminan con UsagePartitionMaintenanceJob.
  */
 @Entity
 @Table(name = "usage_records", indexes = {
-    @Index(name = "idx_subscription_id", columnList = "subscription_id"),
-    @Index(name = "idx_feature_code", columnList = "feature_code"),
-    @Index(name = "idx_recorded_at", columnList = "recorded_at")
+    @Index(name = "idx_usage_records_subscription_feature_recorded", columnList = "subscription_id, feature_code, recorded_at DESC")
 })
 @Getter
 @Setter
@@ -0,0 +1,51 @@
+package com.eklesa.subscription.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reserva de uso pendiente (reserve -> commit/release).
+ * 
+ * crm-service reserva antes de crear el recurso y hace commit
+ * cuando lo creó. Si nunca confirma, la reserva expira y se libera.
+ */
+@Entity
+@Table(name = "usage_reservations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsageReservation extends BaseEntity {
+    
+    /**
+     * Token público de la reserva (UUID).
+     */
+    @Column(name = "reservation_token", nullable = false, unique = true, length = 36)
+    private String reservationToken;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "subscription_id", nullable = false)
+    private Subscription subscription;
+    
+    @Column(name = "feature_code", nullable = false, length = 50)
+    private String featureCode;
+    
+    /**
+     * Cantidad reservada.
+     */
+    @Column(nullable = false)
+    private Integer amount;
+    
+    /**
+     * Fecha en que la reserva se libera si no se confirma.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    public boolean isExpired() {
+        return expiresAt.isBefore(LocalDateTime.now());
+    }
+}
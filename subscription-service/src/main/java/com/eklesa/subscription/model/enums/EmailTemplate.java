@@ -0,0 +1,31 @@
+package com.eklesa.subscription.model.enums;
+
+/**
+ * Templates de email guardados en SES.
+ *
+ * El HTML está en resources/email-templates/{slug}.html. Variables con
+ * sintaxis de SES ({{variable}}); frontendUrl siempre está disponible.
+ */
+public enum EmailTemplate {
+    TRIAL_STARTED("trial-started", "¡Bienvenido a Eklesa! Tu prueba ha comenzado"),
+    TRIAL_EXPIRING("trial-expiring", "Tu prueba expira en {{daysLeft}} días"),
+    TRIAL_EXPIRED("trial-expired", "Tu período de prueba ha finalizado"),
+    SUBSCRIPTION_ACTIVATED("subscription-activated", "¡Tu suscripción está activa!"),
+    PAYMENT_FAILED("payment-failed", "Problema con tu pago");
+
+    private final String slug;
+    private final String subject;
+
+    EmailTemplate(String slug, String subject) {
+        this.slug = slug;
+        this.subject = subject;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+}
@@ -0,0 +1,14 @@
+package com.eklesa.subscription.model.enums;
+
+/**
+ * Tipos de cambio registrados en entitlement_changes.
+ */
+public enum EntitlementChangeType {
+    TRIAL_STARTED,
+    ACTIVATED,
+    PLAN_CHANGED,
+    CANCELED,
+    TRIAL_EXPIRED,
+    SUSPENDED,
+    PAST_DUE
+}
@@ -0,0 +1,17 @@
+package com.eklesa.subscription.model.enums;
+
+/**
+ * Transición automática pendiente de una suscripción
+ * (subscriptions.next_deadline_action).
+ */
+public enum SubscriptionDeadlineAction {
+    /**
+     * Al vencer el trial: TRIALING -> GRACE_PERIOD.
+     */
+    EXPIRE_TRIAL,
+
+    /**
+     * Al vencer el grace period: GRACE_PERIOD -> SUSPENDED.
+     */
+    SUSPEND
+}
@@ -0,0 +1,22 @@
+package com.eklesa.subscription.model.enums;
+
+/**
+ * Recordatorios de trial (trial_reminders_sent.reminder_kind).
+ *
+ * daysLeft: días entre el día del envío y el día en que expira el trial.
+ */
+public enum TrialReminderKind {
+    EXPIRING_7_DAYS(7),
+    EXPIRING_3_DAYS(3),
+    EXPIRING_1_DAY(1);
+
+    private final int daysLeft;
+
+    TrialReminderKind(int daysLeft) {
+        this.daysLeft = daysLeft;
+    }
+
+    public int getDaysLeft() {
+        return daysLeft;
+    }
+}
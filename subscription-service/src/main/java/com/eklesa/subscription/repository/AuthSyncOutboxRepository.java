@@ -0,0 +1,119 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.AuthSyncOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository para AuthSyncOutbox.
+ */
+@Repository
+public interface AuthSyncOutboxRepository extends JpaRepository<AuthSyncOutbox, Long> {
+    
+    /**
+     * Encola el estado de una organización, reemplazando el pendiente.
+     * 
+     * Un lease vigente se respeta: la nueva revision se entrega cuando
+     * el relay termina con la anterior (sin reordenar en auth-service).
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO auth_sync_outbox (organization_id, subscription_status, trial_ends_at, " +
+                   "revision, attempts, next_attempt_at, created_at, version) " +
+                   "VALUES (:organizationId, :status, :trialEndsAt, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0) " +
+                   "ON CONFLICT (organization_id) DO UPDATE SET " +
+                   "subscription_status = EXCLUDED.subscription_status, " +
+                   "trial_ends_at = EXCLUDED.trial_ends_at, " +
+                   "revision = auth_sync_outbox.revision + 1, " +
+                   "attempts = 0, " +
+                   "next_attempt_at = CURRENT_TIMESTAMP, " +
+                   "last_error = NULL",
+           nativeQuery = true)
+    int upsert(
+        @Param("organizationId") Long organizationId,
+        @Param("status") String status,
+        @Param("trialEndsAt") LocalDateTime trialEndsAt
+    );
+    
+    /**
+     * Versión multi-fila de upsert: encola el estado actual de varias
+     * subscriptions en un solo INSERT ... SELECT.
+     * 
+     * USADO POR: Transiciones masivas (TrialExpirationJob)
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO auth_sync_outbox (organization_id, subscription_status, trial_ends_at, " +
+                   "revision, attempts, next_attempt_at, created_at, version) " +
+                   "SELECT organization_id, status, trial_end_date, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0 " +
+                   "FROM subscriptions WHERE id IN (:subscriptionIds) " +
+                   "ON CONFLICT (organization_id) DO UPDATE SET " +
+                   "subscription_status = EXCLUDED.subscription_status, " +
+                   "trial_ends_at = EXCLUDED.trial_ends_at, " +
+                   "revision = auth_sync_outbox.revision + 1, " +
+                   "attempts = 0, " +
+                   "next_attempt_at = CURRENT_TIMESTAMP, " +
+                   "last_error = NULL",
+           nativeQuery = true)
+    int upsertAll(@Param("subscriptionIds") Collection<Long> subscriptionIds);
+    
+    /**
+     * Reclama un lote listo para entregar (lease hasta lockedUntil).
+     * 
+     * SKIP LOCKED: varias instancias reclaman lotes distintos sin esperarse.
+     * 
+     * NOTA: @Transactional sin readOnly porque es un UPDATE ... RETURNING.
+     */
+    @Transactional
+    @Query(value = "UPDATE auth_sync_outbox SET locked_until = :lockedUntil " +
+                   "WHERE id IN (SELECT id FROM auth_sync_outbox " +
+                   "WHERE next_attempt_at <= :now AND (locked_until IS NULL OR locked_until < :now) " +
+                   "ORDER BY next_attempt_at LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<AuthSyncOutbox> claimBatch(
+        @Param("now") LocalDateTime now,
+        @Param("lockedUntil") LocalDateTime lockedUntil,
+        @Param("batchSize") int batchSize
+    );
+    
+    /**
+     * Borra la fila si la revision entregada sigue siendo la actual.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM auth_sync_outbox WHERE id = :id AND revision = :revision", nativeQuery = true)
+    int deleteDelivered(@Param("id") Long id, @Param("revision") Long revision);
+    
+    /**
+     * Registra un fallo de la revision entregada y programa el reintento.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE auth_sync_outbox SET attempts = attempts + 1, next_attempt_at = :nextAttemptAt, " +
+                   "last_error = :error, locked_until = NULL " +
+                   "WHERE id = :id AND revision = :revision",
+           nativeQuery = true)
+    int markFailed(
+        @Param("id") Long id,
+        @Param("revision") Long revision,
+        @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+        @Param("error") String error
+    );
+    
+    /**
+     * Libera el lease (revision reemplazada o lote interrumpido).
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE auth_sync_outbox SET locked_until = NULL WHERE id = :id", nativeQuery = true)
+    int release(@Param("id") Long id);
+}
@@ -0,0 +1,92 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.EntitlementChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para EntitlementChange.
+ */
+@Repository
+public interface EntitlementChangeRepository extends JpaRepository<EntitlementChange, Long> {
+    
+    /**
+     * Cambios después de un cursor (ingestXid, id), en orden de commit.
+     * 
+     * ORDEN DE COMMIT: Solo filas con ingest_xid menor al xmin del snapshot
+     * actual. Esas transacciones ya terminaron; una en curso o futura tiene
+     * xid >= xmin, así que ningún cambio puede quedar detrás del cursor.
+     * 
+     * Lee idx_entitlement_changes_ingest.
+     */
+    @Query(value = "SELECT * FROM entitlement_changes " +
+                   "WHERE (ingest_xid, id) > (CAST(CAST(:afterXid AS TEXT) AS xid8), :afterId) " +
+                   "AND ingest_xid < pg_snapshot_xmin(pg_current_snapshot()) " +
+                   "ORDER BY ingest_xid, id LIMIT :limit",
+           nativeQuery = true)
+    List<EntitlementChange> findAfter(
+        @Param("afterXid") long afterXid,
+        @Param("afterId") long afterId,
+        @Param("limit") int limit
+    );
+    
+    /**
+     * Último cambio entregable (mismo corte por xmin que findAfter).
+     */
+    @Query(value = "SELECT CAST(CAST(ingest_xid AS TEXT) AS BIGINT) AS xid, id FROM entitlement_changes " +
+                   "WHERE ingest_xid < pg_snapshot_xmin(pg_current_snapshot()) " +
+                   "ORDER BY ingest_xid DESC, id DESC LIMIT 1",
+           nativeQuery = true)
+    Optional<Position> findHead();
+    
+    /**
+     * Primer cambio conservado (empty si el log está vacío).
+     */
+    @Query(value = "SELECT CAST(CAST(ingest_xid AS TEXT) AS BIGINT) AS xid, id FROM entitlement_changes " +
+                   "ORDER BY ingest_xid, id LIMIT 1",
+           nativeQuery = true)
+    Optional<Position> findTail();
+    
+    /**
+     * Registra el mismo tipo de cambio para varias subscriptions en un
+     * solo INSERT ... SELECT (plan y status actuales de cada una).
+     * 
+     * USADO POR: Transiciones masivas (TrialExpirationJob)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO entitlement_changes (organization_id, subscription_id, change_type, " +
+                   "plan_code, status, created_at, version) " +
+                   "SELECT s.organization_id, s.id, :changeType, p.code, s.status, CURRENT_TIMESTAMP, 0 " +
+                   "FROM subscriptions s JOIN plans p ON p.id = s.plan_id " +
+                   "WHERE s.id IN (:subscriptionIds) ORDER BY s.id",
+           nativeQuery = true)
+    int insertAll(
+        @Param("subscriptionIds") Collection<Long> subscriptionIds,
+        @Param("changeType") String changeType
+    );
+    
+    /**
+     * Elimina cambios anteriores a una fecha (retención).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM entitlement_changes WHERE id IN (" +
+                   "SELECT id FROM entitlement_changes WHERE created_at < :before ORDER BY id LIMIT :batchSize)",
+           nativeQuery = true)
+    int deleteBatchCreatedBefore(@Param("before") LocalDateTime before, @Param("batchSize") int batchSize);
+    
+    /**
+     * Posición (ingestXid, id) de un cambio en el log.
+     */
+    interface Position {
+        Long getXid();
+        Long getId();
+    }
+}
@@ -0,0 +1,71 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.EventOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository para EventOutbox.
+ */
+@Repository
+public interface EventOutboxRepository extends JpaRepository<EventOutbox, Long>, EventOutboxRepositoryCustom {
+    
+    /**
+     * Reclama un lote listo para publicar (lease hasta lockedUntil).
+     * 
+     * Solo la cabeza de la cola de cada organización es elegible: el
+     * siguiente evento de una org no sale hasta que se publicó el anterior.
+     * SKIP LOCKED: varias instancias reclaman lotes distintos sin esperarse.
+     * 
+     * NOTA: @Transactional sin readOnly porque es un UPDATE ... RETURNING.
+     */
+    @Transactional
+    @Query(value = "UPDATE event_outbox SET locked_until = :lockedUntil " +
+                   "WHERE id IN (SELECT e.id FROM event_outbox e " +
+                   "WHERE e.id IN (SELECT DISTINCT ON (organization_id) id FROM event_outbox ORDER BY organization_id, id) " +
+                   "AND e.next_attempt_at <= :now AND (e.locked_until IS NULL OR e.locked_until < :now) " +
+                   "ORDER BY e.id LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<EventOutbox> claimBatch(
+        @Param("now") LocalDateTime now,
+        @Param("lockedUntil") LocalDateTime lockedUntil,
+        @Param("batchSize") int batchSize
+    );
+    
+    /**
+     * Borra los eventos publicados.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM event_outbox WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Registra un fallo y programa el reintento.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE event_outbox SET attempts = attempts + 1, next_attempt_at = :nextAttemptAt, " +
+                   "last_error = :error, locked_until = NULL WHERE id = :id",
+           nativeQuery = true)
+    int markFailed(
+        @Param("id") Long id,
+        @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+        @Param("error") String error
+    );
+    
+    /**
+     * Fecha del evento pendiente más antiguo (null si el outbox está vacío).
+     */
+    @Query("SELECT MIN(e.createdAt) FROM EventOutbox e")
+    LocalDateTime findOldestCreatedAt();
+}
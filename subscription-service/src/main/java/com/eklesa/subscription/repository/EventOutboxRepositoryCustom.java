@@ -0,0 +1,19 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.EventOutbox;
+
+import java.util.List;
+
+/**
+ * Operaciones de EventOutbox que no encajan en Spring Data.
+ */
+public interface EventOutboxRepositoryCustom {
+    
+    /**
+     * Inserta varios eventos con INSERT multi-fila (saveAll con IDENTITY
+     * haría un INSERT por evento).
+     * 
+     * RETORNA: Cantidad de eventos insertados.
+     */
+    int insertAll(List<EventOutbox> events);
+}
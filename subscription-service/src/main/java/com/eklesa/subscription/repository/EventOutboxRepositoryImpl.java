@@ -0,0 +1,51 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.EventOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación de EventOutboxRepositoryCustom con JdbcTemplate.
+ */
+@RequiredArgsConstructor
+public class EventOutboxRepositoryImpl implements EventOutboxRepositoryCustom {
+    
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    
+    private static final String INSERT_PREFIX =
+        "INSERT INTO event_outbox (event_id, organization_id, event_type, payload, attempts, " +
+        "next_attempt_at, created_at, version) VALUES ";
+    private static final String ROW_VALUES = "(?, ?, ?, ?, 0, ?, CURRENT_TIMESTAMP, 0)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public int insertAll(List<EventOutbox> events) {
+        int inserted = 0;
+        
+        for (int from = 0; from < events.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<EventOutbox> chunk = events.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, events.size()));
+            
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+            List<Object> args = new ArrayList<>(chunk.size() * 5);
+            
+            for (int i = 0; i < chunk.size(); i++) {
+                EventOutbox event = chunk.get(i);
+                sql.append(i == 0 ? ROW_VALUES : ", " + ROW_VALUES);
+                args.add(event.getEventId());
+                args.add(event.getOrganizationId());
+                args.add(event.getEventType());
+                args.add(event.getPayload());
+                args.add(Timestamp.valueOf(event.getNextAttemptAt()));
+            }
+            
+            inserted += jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+        
+        return inserted;
+    }
+}
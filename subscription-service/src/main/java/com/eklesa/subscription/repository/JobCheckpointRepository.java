@@ -0,0 +1,39 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.JobCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository para JobCheckpoint.
+ */
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, Long> {
+    
+    /**
+     * Encuentra el checkpoint de un job, bloqueando la fila.
+     * 
+     * El lock serializa el job entre instancias: dos pods no procesan
+     * el mismo chunk a la vez.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM JobCheckpoint c WHERE c.jobName = :jobName")
+    Optional<JobCheckpoint> findByJobNameForUpdate(@Param("jobName") String jobName);
+    
+    /**
+     * Crea el checkpoint si no existe.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_checkpoints (job_name, watermark_xid, watermark_id, created_at, version) " +
+                   "VALUES (:jobName, 0, 0, CURRENT_TIMESTAMP, 0) " +
+                   "ON CONFLICT (job_name) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("jobName") String jobName);
+}
@@ -0,0 +1,77 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.Plan;
+import com.eklesa.subscription.model.enums.PlanTier;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para Plan.
+ */
+@Repository
+public interface PlanRepository extends JpaRepository<Plan, Long> {
+    
+    /**
+     * Encuentra plan por código.
+     * 
+     * EJEMPLO: findByCode("PROFESSIONAL")
+     */
+    Optional<Plan> findByCode(String code);
+    
+    /**
+     * Encuentra el primer plan activo de un tier (menor sort_order).
+     * 
+     * NOTA: Varios planes comparten tier (TRIAL y STARTER son STARTER);
+     * un findByTier fallaba con más de un resultado.
+     */
+    Optional<Plan> findFirstByTierAndActiveTrueOrderBySortOrder(PlanTier tier);
+    
+    /**
+     * Encuentra planes activos ordenados.
+     */
+    List<Plan> findByActiveTrueOrderBySortOrder();
+    
+    /**
+     * Encuentra plan destacado.
+     */
+    Optional<Plan> findByIsFeaturedTrue();
+    
+    /**
+     * Encuentra planes activos con sus features en UNA sola query (LEFT JOIN).
+     * 
+     * Trae todas las features; el filtro de habilitadas lo hace PlanService.mapToDTO
+     * (filtrar un fetch join dejaría la colección incompleta en la entidad).
+     */
+    @EntityGraph(attributePaths = "features")
+    @Query("SELECT p FROM Plan p WHERE p.active = true ORDER BY p.sortOrder")
+    List<Plan> findActiveWithFeatures();
+    
+    /**
+     * Encuentra TODOS los planes (activos e inactivos) con sus features en UNA query.
+     * 
+     * USADO EN: FeatureRegistryService (las subscriptions legacy pueden
+     * estar en planes inactivos)
+     */
+    @EntityGraph(attributePaths = "features")
+    @Query("SELECT p FROM Plan p")
+    List<Plan> findAllWithFeatures();
+    
+    /**
+     * Huella de plans + plan_features: cambia con cualquier INSERT, UPDATE o DELETE.
+     * 
+     * USADO EN: PlanCatalogService y FeatureRegistryService para saber cuándo reconstruir
+     */
+    @Query(value = "SELECT CONCAT(COUNT(*), '@', CAST(MAX(COALESCE(t.updated_at, t.created_at)) AS TEXT)) " +
+                   "FROM (" +
+                   "    SELECT created_at, updated_at FROM plans " +
+                   "    UNION ALL " +
+                   "    SELECT created_at, updated_at FROM plan_features" +
+                   ") t",
+           nativeQuery = true)
+    String getCatalogFingerprint();
+}
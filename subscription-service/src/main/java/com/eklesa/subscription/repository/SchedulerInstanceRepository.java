@@ -0,0 +1,60 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.SchedulerInstance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository para SchedulerInstance.
+ * 
+ * NOTA: Las fechas usan CURRENT_TIMESTAMP (reloj de la BD) para no
+ * depender de la sincronización de relojes entre instancias.
+ */
+@Repository
+public interface SchedulerInstanceRepository extends JpaRepository<SchedulerInstance, Long> {
+    
+    /**
+     * Registra la instancia o renueva su heartbeat.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_instances (instance_id, heartbeat_at, created_at, version) " +
+                   "VALUES (:instanceId, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0) " +
+                   "ON CONFLICT (instance_id) DO UPDATE SET heartbeat_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int heartbeat(@Param("instanceId") String instanceId);
+    
+    /**
+     * Instancias con heartbeat en los últimos ttlSeconds, ordenadas
+     * (el índice en la lista es el shard de cada una).
+     */
+    @Query(value = "SELECT instance_id FROM scheduler_instances " +
+                   "WHERE heartbeat_at > CURRENT_TIMESTAMP - make_interval(secs => :ttlSeconds) " +
+                   "ORDER BY instance_id",
+           nativeQuery = true)
+    List<String> findLiveInstanceIds(@Param("ttlSeconds") long ttlSeconds);
+    
+    /**
+     * Elimina instancias sin heartbeat hace más de ttlSeconds.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM scheduler_instances " +
+                   "WHERE heartbeat_at < CURRENT_TIMESTAMP - make_interval(secs => :ttlSeconds)",
+           nativeQuery = true)
+    int deleteStale(@Param("ttlSeconds") long ttlSeconds);
+    
+    /**
+     * Elimina la instancia (apagado ordenado).
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM scheduler_instances WHERE instance_id = :instanceId", nativeQuery = true)
+    int deleteByInstanceId(@Param("instanceId") String instanceId);
+}
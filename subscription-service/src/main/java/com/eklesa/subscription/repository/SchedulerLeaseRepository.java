@@ -0,0 +1,59 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository para SchedulerLease.
+ * 
+ * NOTA: Las fechas usan CURRENT_TIMESTAMP (reloj de la BD) para no
+ * depender de la sincronización de relojes entre instancias.
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, Long> {
+    
+    /**
+     * Toma el lease si está libre (nunca tomado o vencido) o si ya es de
+     * esta instancia.
+     * 
+     * RETORNA: 1 si quedó a nombre de ownerId, 0 si lo tiene otra instancia.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_leases (lock_name, owner_id, locked_at, locked_until, created_at, version) " +
+                   "VALUES (:lockName, :ownerId, CURRENT_TIMESTAMP, " +
+                   "CURRENT_TIMESTAMP + make_interval(secs => :leaseSeconds), CURRENT_TIMESTAMP, 0) " +
+                   "ON CONFLICT (lock_name) DO UPDATE SET " +
+                   "owner_id = EXCLUDED.owner_id, " +
+                   "locked_at = EXCLUDED.locked_at, " +
+                   "locked_until = EXCLUDED.locked_until " +
+                   "WHERE scheduler_leases.locked_until <= CURRENT_TIMESTAMP " +
+                   "OR scheduler_leases.owner_id = EXCLUDED.owner_id",
+           nativeQuery = true)
+    int tryAcquire(
+        @Param("lockName") String lockName,
+        @Param("ownerId") String ownerId,
+        @Param("leaseSeconds") long leaseSeconds
+    );
+    
+    /**
+     * Libera el lease, pero no antes de locked_at + minLeaseSeconds: un
+     * cron que dispara unos segundos tarde en otra instancia no repite el job.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE scheduler_leases " +
+                   "SET locked_until = GREATEST(CURRENT_TIMESTAMP, locked_at + make_interval(secs => :minLeaseSeconds)) " +
+                   "WHERE lock_name = :lockName AND owner_id = :ownerId",
+           nativeQuery = true)
+    int release(
+        @Param("lockName") String lockName,
+        @Param("ownerId") String ownerId,
+        @Param("minLeaseSeconds") long minLeaseSeconds
+    );
+}
@@ -0,0 +1,163 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.enums.SubscriptionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para Subscription.
+ * 
+ * PATRÓN: Igual que en CRM (ContactRepository, CompanyRepository)
+ */
+@Repository
+public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
+    
+    /**
+     * Encuentra subscription por organization ID.
+     * 
+     * CRÍTICO: Una org solo tiene UNA subscription activa.
+     */
+    Optional<Subscription> findByOrganizationId(Long organizationId);
+    
+    /**
+     * Encuentra subscriptions de varias organizaciones (una sola query).
+     * 
+     * USADO POR: Validación de límites en batch.
+     */
+    List<Subscription> findByOrganizationIdIn(Collection<Long> organizationIds);
+    
+    /**
+     * Encuentra subscriptions por status.
+     */
+    List<Subscription> findByStatus(SubscriptionStatus status);
+    
+    /**
+     * Trials del shard que expiran exactamente en alguno de los días de
+     * daysLeft (contados desde today).
+     * 
+     * Una sola query para todas las olas de recordatorios: el rango
+     * [from, to) acota el escaneo (índice de trial_end_date) y el filtro
+     * por día descarta los días intermedios sin recordatorio.
+     * 
+     * USADO POR: TrialReminderJob
+     */
+    @Query(value = "SELECT * FROM subscriptions " +
+                   "WHERE status = 'TRIALING' " +
+                   "AND trial_end_date >= :from AND trial_end_date < :to " +
+                   "AND CAST(trial_end_date AS date) - CAST(:today AS date) IN (:daysLeft) " +
+                   "AND mod(organization_id, :shardCount) = :shardIndex " +
+                   "ORDER BY id",
+           nativeQuery = true)
+    List<Subscription> findTrialsEndingInDays(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        @Param("today") LocalDate today,
+        @Param("daysLeft") Collection<Integer> daysLeft,
+        @Param("shardIndex") int shardIndex,
+        @Param("shardCount") int shardCount
+    );
+    
+    /**
+     * Pasa a GRACE_PERIOD hasta `limit` trials con el deadline EXPIRE_TRIAL
+     * vencido, en un solo UPDATE. El nuevo deadline es SUSPEND en
+     * gracePeriodEnd.
+     * 
+     * Lee idx_subscriptions_next_deadline: el costo depende de los
+     * deadlines vencidos, no del total de subscriptions.
+     * SKIP LOCKED: no espera filas bloqueadas por otra transacción (ej: un
+     * upgrade en curso u otra instancia); quedan para el siguiente poll.
+     * 
+     * RETORNA: Las subscriptions modificadas (estado nuevo).
+     * 
+     * USADO POR: SubscriptionService.expireTrials (TrialExpirationJob)
+     * 
+     * NOTA: @Transactional sin readOnly porque es un UPDATE ... RETURNING.
+     * updated_at lo pone el trigger update_subscriptions_updated_at (V2),
+     * también en UPDATEs nativos.
+     */
+    @Transactional
+    @Query(value = "UPDATE subscriptions SET status = 'GRACE_PERIOD', " +
+                   "next_deadline_at = :gracePeriodEnd, next_deadline_action = 'SUSPEND', " +
+                   "version = version + 1 " +
+                   "WHERE id IN (SELECT id FROM subscriptions " +
+                   "WHERE next_deadline_action = 'EXPIRE_TRIAL' AND next_deadline_at <= :now " +
+                   "AND status = 'TRIALING' " +
+                   "ORDER BY next_deadline_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<Subscription> expireDueTrials(
+        @Param("now") LocalDateTime now,
+        @Param("gracePeriodEnd") LocalDateTime gracePeriodEnd,
+        @Param("limit") int limit
+    );
+    
+    /**
+     * Suspende hasta `limit` subscriptions con el deadline SUSPEND vencido
+     * (fin del grace period), en un solo UPDATE.
+     * 
+     * RETORNA: Las subscriptions modificadas (estado nuevo).
+     * 
+     * USADO POR: SubscriptionService.suspendExpiredGracePeriods (TrialExpirationJob)
+     * 
+     * NOTA: @Transactional sin readOnly porque es un UPDATE ... RETURNING.
+     */
+    @Transactional
+    @Query(value = "UPDATE subscriptions SET status = 'SUSPENDED', " +
+                   "next_deadline_at = NULL, next_deadline_action = NULL, " +
+                   "version = version + 1 " +
+                   "WHERE id IN (SELECT id FROM subscriptions " +
+                   "WHERE next_deadline_action = 'SUSPEND' AND next_deadline_at <= :now " +
+                   "AND status = 'GRACE_PERIOD' " +
+                   "ORDER BY next_deadline_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<Subscription> suspendDueGracePeriods(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    /**
+     * Cuenta subscriptions activas.
+     */
+    Long countByStatus(SubscriptionStatus status);
+    
+    /**
+     * Encuentra por PayPal subscription ID.
+     */
+    Optional<Subscription> findByPaypalSubscriptionId(String paypalSubscriptionId);
+    
+    /**
+     * Verifica si una org ya usó el trial.
+     */
+    @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END " +
+           "FROM Subscription s WHERE s.organizationId = :orgId AND s.isTrialUsed = true")
+    Boolean hasUsedTrial(@Param("orgId") Long organizationId);
+    
+    /**
+     * Subscriptions creadas o modificadas después de (afterAt, afterId), hasta upTo.
+     * 
+     * Keyset sobre (COALESCE(updated_at, created_at), id): índice
+     * idx_subscriptions_changed. El plan viene en el mismo SELECT.
+     * 
+     * USADO EN: EntitlementFeedService (feed incremental de EntitlementClient)
+     */
+    @Query("SELECT s FROM Subscription s JOIN FETCH s.plan " +
+           "WHERE (COALESCE(s.updatedAt, s.createdAt) > :afterAt " +
+           "       OR (COALESCE(s.updatedAt, s.createdAt) = :afterAt AND s.id > :afterId)) " +
+           "  AND COALESCE(s.updatedAt, s.createdAt) <= :upTo " +
+           "ORDER BY COALESCE(s.updatedAt, s.createdAt), s.id")
+    List<Subscription> findChangedAfter(
+        @Param("afterAt") LocalDateTime afterAt,
+        @Param("afterId") Long afterId,
+        @Param("upTo") LocalDateTime upTo,
+        Pageable pageable
+    );
+}
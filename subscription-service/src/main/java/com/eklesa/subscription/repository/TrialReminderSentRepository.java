@@ -0,0 +1,58 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.TrialReminderSent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository para TrialReminderSent.
+ */
+@Repository
+public interface TrialReminderSentRepository extends JpaRepository<TrialReminderSent, Long> {
+    
+    /**
+     * Registra el recordatorio para las subscriptions que aún no lo tienen.
+     * 
+     * ON CONFLICT DO NOTHING: las ya registradas (otra corrida, otra
+     * instancia) se omiten sin error. Las que dejaron de estar en trial
+     * desde la consulta también se omiten.
+     * 
+     * RETORNA: Ids de las subscriptions registradas en esta llamada (las
+     * que deben recibir el recordatorio).
+     * 
+     * NOTA: @Transactional sin readOnly porque es un INSERT ... RETURNING.
+     */
+    @Transactional
+    @Query(value = "INSERT INTO trial_reminders_sent (subscription_id, reminder_kind, created_at, version) " +
+                   "SELECT s.id, :reminderKind, CURRENT_TIMESTAMP, 0 " +
+                   "FROM subscriptions s WHERE s.id IN (:subscriptionIds) AND s.status = 'TRIALING' " +
+                   "ORDER BY s.id " +
+                   "ON CONFLICT (subscription_id, reminder_kind) DO NOTHING " +
+                   "RETURNING subscription_id",
+           nativeQuery = true)
+    List<Long> claim(
+        @Param("subscriptionIds") Collection<Long> subscriptionIds,
+        @Param("reminderKind") String reminderKind
+    );
+    
+    /**
+     * Borra el registro de recordatorios cuyo email no se envió, para que
+     * una nueva corrida los reintente.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM trial_reminders_sent " +
+                   "WHERE subscription_id IN (:subscriptionIds) AND reminder_kind = :reminderKind",
+           nativeQuery = true)
+    int release(
+        @Param("subscriptionIds") Collection<Long> subscriptionIds,
+        @Param("reminderKind") String reminderKind
+    );
+}
@@ -0,0 +1,165 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.UsageCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para UsageCounter.
+ * 
+ * IMPORTANTE: Todas las escrituras son UPDATE atómicos en la BD
+ * (nunca read-modify-write en Java) para que sean seguras entre pods.
+ */
+@Repository
+public interface UsageCounterRepository extends JpaRepository<UsageCounter, Long>, UsageCounterRepositoryCustom {
+    
+    /**
+     * Encuentra el contador de una feature (lookup por índice único).
+     */
+    Optional<UsageCounter> findBySubscriptionIdAndFeatureCode(Long subscriptionId, String featureCode);
+    
+    interface SubscriptionFeatureUsage {
+        Long getSubscriptionId();
+        String getFeatureCode();
+        Integer getUsageCount();
+    }
+    
+    /**
+     * Uso actual de varias (subscription, feature) en una sola query.
+     * 
+     * - Features con contador: used + reserved
+     * - Resto: último registro histórico por (subscription, feature)
+     * 
+     * Filtra por el producto subscriptionIds x featureCodes (mayúsculas);
+     * el caller descarta los pares que no pidió.
+     * 
+     * USADO EN: validateFeatureLimits (items sin currentCount)
+     */
+    @Query(value = "SELECT c.subscription_id AS \"subscriptionId\", c.feature_code AS \"featureCode\", " +
+                   "c.used_count + c.reserved_count AS \"usageCount\" " +
+                   "FROM usage_counters c " +
+                   "WHERE c.subscription_id IN (:subscriptionIds) AND c.feature_code IN (:featureCodes) " +
+                   "UNION ALL " +
+                   "SELECT latest.subscription_id AS \"subscriptionId\", latest.feature_code AS \"featureCode\", " +
+                   "latest.usage_count AS \"usageCount\" " +
+                   "FROM (" +
+                   "    SELECT DISTINCT ON (ur.subscription_id, UPPER(ur.feature_code)) " +
+                   "        ur.subscription_id, UPPER(ur.feature_code) AS feature_code, ur.usage_count " +
+                   "    FROM usage_records ur " +
+                   "    WHERE ur.subscription_id IN (:subscriptionIds) AND UPPER(ur.feature_code) IN (:featureCodes) " +
+                   "    ORDER BY ur.subscription_id, UPPER(ur.feature_code), ur.recorded_at DESC, ur.id DESC" +
+                   ") latest " +
+                   "WHERE NOT EXISTS (" +
+                   "    SELECT 1 FROM usage_counters c2 " +
+                   "    WHERE c2.subscription_id = latest.subscription_id AND c2.feature_code = latest.feature_code" +
+                   ")",
+           nativeQuery = true)
+    List<SubscriptionFeatureUsage> findCurrentUsages(
+        @Param("subscriptionIds") Collection<Long> subscriptionIds,
+        @Param("featureCodes") Collection<String> featureCodes
+    );
+    
+    /**
+     * Crea el contador si no existe, sembrando used_count con el último uso
+     * reportado en usage_records (0 si no hay registros).
+     * 
+     * NOTA: Sin la siembra, el primer reserve de una feature con uso previo
+     * partiría de 0 y dejaría pasar hasta el límite completo otra vez.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO usage_counters (subscription_id, feature_code, used_count, reserved_count, created_at, version) " +
+                   "SELECT :subscriptionId, :featureCode, COALESCE((" +
+                   "    SELECT ur.usage_count FROM usage_records ur " +
+                   "    WHERE ur.subscription_id = :subscriptionId AND UPPER(ur.feature_code) = :featureCode " +
+                   "    ORDER BY ur.recorded_at DESC, ur.id DESC LIMIT 1" +
+                   "), 0), 0, CURRENT_TIMESTAMP, 0 " +
+                   "ON CONFLICT (subscription_id, feature_code) DO NOTHING",
+           nativeQuery = true)
+    int ensureExists(
+        @Param("subscriptionId") Long subscriptionId,
+        @Param("featureCode") String featureCode
+    );
+    
+    /**
+     * Reserva uso solo si used + reserved + amount no supera el límite.
+     * 
+     * RETORNA: 1 si reservó, 0 si excede el límite.
+     */
+    @Modifying
+    @Query(value = "UPDATE usage_counters SET reserved_count = reserved_count + :amount, version = version + 1 " +
+                   "WHERE subscription_id = :subscriptionId AND feature_code = :featureCode " +
+                   "AND CAST(used_count AS BIGINT) + reserved_count + :amount <= :limit",
+           nativeQuery = true)
+    int tryReserve(
+        @Param("subscriptionId") Long subscriptionId,
+        @Param("featureCode") String featureCode,
+        @Param("amount") int amount,
+        @Param("limit") long limit
+    );
+    
+    /**
+     * Confirma una reserva: pasa de reserved a used.
+     */
+    @Modifying
+    @Query(value = "UPDATE usage_counters SET used_count = used_count + :amount, " +
+                   "reserved_count = GREATEST(reserved_count - :amount, 0), version = version + 1 " +
+                   "WHERE subscription_id = :subscriptionId AND feature_code = :featureCode",
+           nativeQuery = true)
+    int commitReserved(
+        @Param("subscriptionId") Long subscriptionId,
+        @Param("featureCode") String featureCode,
+        @Param("amount") int amount
+    );
+    
+    /**
+     * Libera una reserva sin consumirla.
+     */
+    @Modifying
+    @Query(value = "UPDATE usage_counters SET reserved_count = GREATEST(reserved_count - :amount, 0), version = version + 1 " +
+                   "WHERE subscription_id = :subscriptionId AND feature_code = :featureCode",
+           nativeQuery = true)
+    int releaseReserved(
+        @Param("subscriptionId") Long subscriptionId,
+        @Param("featureCode") String featureCode,
+        @Param("amount") int amount
+    );
+    
+    /**
+     * Resta uso confirmado (recurso eliminado). Nunca baja de 0.
+     */
+    @Modifying
+    @Query(value = "UPDATE usage_counters SET used_count = GREATEST(used_count - :amount, 0), version = version + 1 " +
+                   "WHERE subscription_id = :subscriptionId AND feature_code = :featureCode",
+           nativeQuery = true)
+    int decrement(
+        @Param("subscriptionId") Long subscriptionId,
+        @Param("featureCode") String featureCode,
+        @Param("amount") int amount
+    );
+    
+    /**
+     * Reconcilia el uso confirmado con el valor reportado por crm-service.
+     * 
+     * NOTA: used_count lo mantiene este servicio (commitReserved). El valor
+     * reportado solo lo sube (GREATEST), nunca pisa commits más recientes.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO usage_counters (subscription_id, feature_code, used_count, reserved_count, created_at, version) " +
+                   "VALUES (:subscriptionId, :featureCode, :usedCount, 0, CURRENT_TIMESTAMP, 0) " +
+                   "ON CONFLICT (subscription_id, feature_code) " +
+                   "DO UPDATE SET used_count = GREATEST(usage_counters.used_count, EXCLUDED.used_count), " +
+                   "version = usage_counters.version + 1",
+           nativeQuery = true)
+    int upsertUsedCount(
+        @Param("subscriptionId") Long subscriptionId,
+        @Param("featureCode") String featureCode,
+        @Param("usedCount") int usedCount
+    );
+}
@@ -0,0 +1,22 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.UsageRecord;
+
+import java.util.List;
+
+/**
+ * Operaciones de UsageCounter que no encajan en Spring Data.
+ */
+public interface UsageCounterRepositoryCustom {
+    
+    /**
+     * Versión multi-fila de upsertUsedCount: used_count = GREATEST(used_count, usageCount)
+     * de cada registro.
+     * 
+     * IMPORTANTE: Cada (subscription, featureCode) debe aparecer una sola vez
+     * (ON CONFLICT DO UPDATE no puede tocar la misma fila dos veces).
+     * 
+     * RETORNA: Cantidad de contadores insertados/actualizados.
+     */
+    int upsertUsedCounts(List<UsageRecord> records);
+}
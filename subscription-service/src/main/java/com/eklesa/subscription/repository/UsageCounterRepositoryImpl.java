@@ -0,0 +1,52 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.UsageRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación de UsageCounterRepositoryCustom con JdbcTemplate.
+ */
+@RequiredArgsConstructor
+public class UsageCounterRepositoryImpl implements UsageCounterRepositoryCustom {
+    
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    
+    private static final String UPSERT_PREFIX =
+        "INSERT INTO usage_counters (subscription_id, feature_code, used_count, reserved_count, created_at, version) VALUES ";
+    private static final String ROW_VALUES = "(?, ?, ?, 0, CURRENT_TIMESTAMP, 0)";
+    private static final String UPSERT_SUFFIX =
+        " ON CONFLICT (subscription_id, feature_code) " +
+        "DO UPDATE SET used_count = GREATEST(usage_counters.used_count, EXCLUDED.used_count), " +
+        "version = usage_counters.version + 1";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public int upsertUsedCounts(List<UsageRecord> records) {
+        int upserted = 0;
+        
+        for (int from = 0; from < records.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<UsageRecord> chunk = records.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, records.size()));
+            
+            StringBuilder sql = new StringBuilder(UPSERT_PREFIX);
+            List<Object> args = new ArrayList<>(chunk.size() * 3);
+            
+            for (int i = 0; i < chunk.size(); i++) {
+                UsageRecord record = chunk.get(i);
+                sql.append(i == 0 ? ROW_VALUES : ", " + ROW_VALUES);
+                args.add(record.getSubscription().getId());
+                args.add(record.getFeatureCode().toUpperCase());
+                args.add(record.getUsageCount());
+            }
+            
+            sql.append(UPSERT_SUFFIX);
+            upserted += jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+        
+        return upserted;
+    }
+}
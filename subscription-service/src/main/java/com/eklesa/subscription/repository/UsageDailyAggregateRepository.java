@@ -0,0 +1,104 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.UsageDailyAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para UsageDailyAggregate.
+ */
+@Repository
+public interface UsageDailyAggregateRepository extends JpaRepository<UsageDailyAggregate, Long> {
+    
+    /**
+     * Proyección: resultado de un chunk de agregación.
+     */
+    interface ChunkResult {
+        Long getProcessed();
+        Long getLastXid();
+        Long getLastId();
+    }
+    
+    /**
+     * Agrega el siguiente chunk de usage_records en usage_daily_aggregates.
+     * 
+     * FLOW (una sola statement, todo en la BD):
+     * 1. chunk: hasta :chunkSize registros con (ingest_xid, id) > watermark,
+     *    en orden keyset, solo de transacciones ya terminadas
+     *    (ingest_xid < xmin del snapshot actual)
+     * 2. agg: agrupa por (subscription, feature, día)
+     * 3. upsert: combina con el agregado existente (min/max/último/conteo)
+     * 4. Retorna cantidad procesada y el nuevo watermark
+     * 
+     * ORDEN DE COMMIT: Una transacción con xid menor al xmin del snapshot ya
+     * hizo commit (o rollback); una transacción en curso o futura tiene xid
+     * >= xmin. Ningún registro confirmado después puede quedar detrás del
+     * watermark, aunque el buffer haga flush tarde.
+     * 
+     * RETORNA: Vacío si no hay registros nuevos.
+     * 
+     * NOTA: @Transactional sin readOnly porque escribe (CTE con INSERT).
+     */
+    @Transactional
+    @Query(value = "WITH chunk AS (" +
+                   "    SELECT ur.id, ur.ingest_xid, ur.subscription_id, UPPER(ur.feature_code) AS feature_code, ur.usage_count, " +
+                   "           ur.plan_limit, ur.limit_exceeded, ur.recorded_at " +
+                   "    FROM usage_records ur " +
+                   "    WHERE (ur.ingest_xid, ur.id) > (CAST(CAST(:afterXid AS TEXT) AS xid8), :afterId) " +
+                   "    AND ur.ingest_xid < pg_snapshot_xmin(pg_current_snapshot()) " +
+                   "    ORDER BY ur.ingest_xid, ur.id " +
+                   "    LIMIT :chunkSize" +
+                   "), agg AS (" +
+                   "    SELECT subscription_id, feature_code, CAST(recorded_at AS DATE) AS usage_date, " +
+                   "           MIN(usage_count) AS min_usage, MAX(usage_count) AS max_usage, " +
+                   "           (ARRAY_AGG(usage_count ORDER BY recorded_at DESC, id DESC))[1] AS last_usage, " +
+                   "           (ARRAY_AGG(plan_limit ORDER BY recorded_at DESC, id DESC))[1] AS plan_limit, " +
+                   "           COUNT(*) AS sample_count, BOOL_OR(limit_exceeded) AS limit_exceeded, " +
+                   "           MAX(recorded_at) AS last_recorded_at " +
+                   "    FROM chunk " +
+                   "    GROUP BY subscription_id, feature_code, CAST(recorded_at AS DATE)" +
+                   "), upsert AS (" +
+                   "    INSERT INTO usage_daily_aggregates (subscription_id, feature_code, usage_date, min_usage, max_usage, " +
+                   "        last_usage, plan_limit, sample_count, limit_exceeded, last_recorded_at, created_at, version) " +
+                   "    SELECT subscription_id, feature_code, usage_date, min_usage, max_usage, " +
+                   "        last_usage, plan_limit, sample_count, limit_exceeded, last_recorded_at, CURRENT_TIMESTAMP, 0 " +
+                   "    FROM agg " +
+                   "    ON CONFLICT (subscription_id, feature_code, usage_date) DO UPDATE SET " +
+                   "        min_usage = LEAST(usage_daily_aggregates.min_usage, EXCLUDED.min_usage), " +
+                   "        max_usage = GREATEST(usage_daily_aggregates.max_usage, EXCLUDED.max_usage), " +
+                   "        last_usage = CASE WHEN EXCLUDED.last_recorded_at >= usage_daily_aggregates.last_recorded_at " +
+                   "            THEN EXCLUDED.last_usage ELSE usage_daily_aggregates.last_usage END, " +
+                   "        plan_limit = CASE WHEN EXCLUDED.last_recorded_at >= usage_daily_aggregates.last_recorded_at " +
+                   "            THEN EXCLUDED.plan_limit ELSE usage_daily_aggregates.plan_limit END, " +
+                   "        sample_count = usage_daily_aggregates.sample_count + EXCLUDED.sample_count, " +
+                   "        limit_exceeded = usage_daily_aggregates.limit_exceeded OR EXCLUDED.limit_exceeded, " +
+                   "        last_recorded_at = GREATEST(usage_daily_aggregates.last_recorded_at, EXCLUDED.last_recorded_at), " +
+                   "        version = usage_daily_aggregates.version + 1" +
+                   ") " +
+                   "SELECT (SELECT COUNT(*) FROM chunk) AS \"processed\", " +
+                   "       CAST(CAST(last_row.ingest_xid AS TEXT) AS BIGINT) AS \"lastXid\", last_row.id AS \"lastId\" " +
+                   "FROM (SELECT ingest_xid, id FROM chunk ORDER BY ingest_xid DESC, id DESC LIMIT 1) last_row",
+           nativeQuery = true)
+    Optional<ChunkResult> aggregateNextChunk(
+        @Param("afterXid") Long afterXid,
+        @Param("afterId") Long afterId,
+        @Param("chunkSize") int chunkSize
+    );
+    
+    /**
+     * Histórico diario de una feature.
+     */
+    List<UsageDailyAggregate> findBySubscriptionIdAndFeatureCodeAndUsageDateBetweenOrderByUsageDate(
+        Long subscriptionId,
+        String featureCode,
+        LocalDate from,
+        LocalDate to
+    );
+}
@@ -0,0 +1,105 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.UsageRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para UsageRecord.
+ */
+@Repository
+public interface UsageRecordRepository extends JpaRepository<UsageRecord, Long>, UsageRecordRepositoryCustom {
+    
+    /**
+     * Proyección: uso actual de una feature.
+     */
+    interface FeatureUsage {
+        String getFeatureCode();
+        Integer getUsageCount();
+    }
+    
+    /**
+     * Encuentra último registro de uso de una feature.
+     */
+    Optional<UsageRecord> findTopBySubscriptionIdAndFeatureCodeOrderByRecordedAtDesc(
+        Long subscriptionId, 
+        String featureCode
+    );
+    
+    /**
+     * Encuentra registros de una subscription.
+     */
+    List<UsageRecord> findBySubscriptionIdOrderByRecordedAtDesc(Long subscriptionId);
+    
+    /**
+     * Encuentra registros que excedieron límite.
+     */
+    List<UsageRecord> findByLimitExceededTrueAndRecordedAtAfter(LocalDateTime date);
+    
+    /**
+     * Obtiene el uso actual de TODAS las features de una subscription en una sola query.
+     * 
+     * - Features con contador (usage_counters): used + reserved
+     * - Resto: último registro histórico por feature (DISTINCT ON)
+     * 
+     * USADO EN: getCurrentLimits (usage bars del frontend)
+     */
+    @Query(value = "SELECT c.feature_code AS \"featureCode\", c.used_count + c.reserved_count AS \"usageCount\" " +
+                   "FROM usage_counters c " +
+                   "WHERE c.subscription_id = :subscriptionId " +
+                   "UNION ALL " +
+                   "SELECT latest.feature_code AS \"featureCode\", latest.usage_count AS \"usageCount\" " +
+                   "FROM (" +
+                   "    SELECT DISTINCT ON (ur.feature_code) ur.feature_code, ur.usage_count " +
+                   "    FROM usage_records ur " +
+                   "    WHERE ur.subscription_id = :subscriptionId " +
+                   "    ORDER BY ur.feature_code, ur.recorded_at DESC" +
+                   ") latest " +
+                   "WHERE NOT EXISTS (" +
+                   "    SELECT 1 FROM usage_counters c2 " +
+                   "    WHERE c2.subscription_id = :subscriptionId AND c2.feature_code = UPPER(latest.feature_code)" +
+                   ")",
+           nativeQuery = true)
+    List<FeatureUsage> findCurrentUsagePerFeature(@Param("subscriptionId") Long subscriptionId);
+    
+    /**
+     * Crea la partición mensual que contiene la fecha (si no existe).
+     * 
+     * RETORNA: true si la creó.
+     * 
+     * NOTA: @Transactional sin readOnly porque ejecuta DDL.
+     */
+    @Transactional
+    @Query(value = "SELECT create_usage_records_partition(:month)", nativeQuery = true)
+    Boolean createPartition(@Param("month") LocalDate month);
+    
+    /**
+     * Elimina las particiones mensuales que terminan antes de la fecha.
+     * 
+     * RETORNA: Cantidad de particiones eliminadas.
+     */
+    @Transactional
+    @Query(value = "SELECT drop_usage_records_partitions_before(:before)", nativeQuery = true)
+    Integer dropPartitionsBefore(@Param("before") LocalDate before);
+    
+    /**
+     * Obtiene uso actual de una feature.
+     */
+    @Query("SELECT ur.usageCount FROM UsageRecord ur " +
+           "WHERE ur.subscription.id = :subscriptionId " +
+           "AND ur.featureCode = :featureCode " +
+           "ORDER BY ur.recordedAt DESC " +
+           "LIMIT 1")
+    Optional<Integer> getCurrentUsage(
+        @Param("subscriptionId") Long subscriptionId, 
+        @Param("featureCode") String featureCode
+    );
+}
@@ -0,0 +1,21 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.UsageRecord;
+
+import java.util.List;
+
+/**
+ * Operaciones de UsageRecord que no encajan en Spring Data.
+ */
+public interface UsageRecordRepositoryCustom {
+    
+    /**
+     * Inserta registros con INSERT multi-fila.
+     * 
+     * save() con IDENTITY hace un INSERT (y un round trip) por registro;
+     * aquí se envían hasta 1000 filas por statement.
+     * 
+     * RETORNA: Cantidad de filas insertadas.
+     */
+    int insertBatch(List<UsageRecord> records);
+}
@@ -0,0 +1,55 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.UsageRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación de UsageRecordRepositoryCustom con JdbcTemplate.
+ */
+@RequiredArgsConstructor
+public class UsageRecordRepositoryImpl implements UsageRecordRepositoryCustom {
+    
+    /**
+     * 7 parámetros por fila: muy por debajo del límite de 65535 parámetros de PostgreSQL.
+     */
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    
+    private static final String INSERT_PREFIX =
+        "INSERT INTO usage_records (subscription_id, feature_code, usage_count, plan_limit, " +
+        "usage_percentage, recorded_at, limit_exceeded, created_at, version) VALUES ";
+    private static final String ROW_VALUES = "(?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, 0)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public int insertBatch(List<UsageRecord> records) {
+        int inserted = 0;
+        
+        for (int from = 0; from < records.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<UsageRecord> chunk = records.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, records.size()));
+            
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+            List<Object> args = new ArrayList<>(chunk.size() * 7);
+            
+            for (int i = 0; i < chunk.size(); i++) {
+                UsageRecord record = chunk.get(i);
+                sql.append(i == 0 ? ROW_VALUES : ", " + ROW_VALUES);
+                args.add(record.getSubscription().getId());
+                args.add(record.getFeatureCode());
+                args.add(record.getUsageCount());
+                args.add(record.getPlanLimit());
+                args.add(record.getUsagePercentage());
+                args.add(record.getRecordedAt());
+                args.add(record.getLimitExceeded());
+            }
+            
+            inserted += jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+        
+        return inserted;
+    }
+}
@@ -0,0 +1,38 @@
+package com.eklesa.subscription.repository;
+
+import com.eklesa.subscription.model.UsageReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para UsageReservation.
+ */
+@Repository
+public interface UsageReservationRepository extends JpaRepository<UsageReservation, Long> {
+    
+    /**
+     * Encuentra una reserva por token, bloqueando la fila.
+     * 
+     * El lock evita que commit y release (o el job de expiración)
+     * procesen la misma reserva dos veces.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM UsageReservation r WHERE r.reservationToken = :token")
+    Optional<UsageReservation> findByTokenForUpdate(@Param("token") String token);
+    
+    /**
+     * Encuentra reservas expiradas (por lotes).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM UsageReservation r WHERE r.expiresAt < :now ORDER BY r.expiresAt")
+    List<UsageReservation> findExpiredForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,64 @@
+package com.eklesa.subscription.scheduler;
+
+import com.eklesa.subscription.model.AuthSyncOutbox;
+import com.eklesa.subscription.service.AuthSyncOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Job que entrega a auth-service los estados pendientes de auth_sync_outbox.
+ * 
+ * SCHEDULE: Cada segundo
+ * 
+ * Reclama lotes (SKIP LOCKED + lease) hasta vaciar el outbox o llegar a
+ * max-batches-per-run. Puede correr en varias instancias a la vez.
+ */
+@Component
+@Slf4j
+public class AuthSyncRelayJob {
+    
+    private final AuthSyncOutboxService authSyncOutboxService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    
+    public AuthSyncRelayJob(
+        AuthSyncOutboxService authSyncOutboxService,
+        @Value("${app.auth-sync.batch-size:50}") int batchSize,
+        @Value("${app.auth-sync.max-batches-per-run:20}") int maxBatchesPerRun
+    ) {
+        this.authSyncOutboxService = authSyncOutboxService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+    
+    /**
+     * Ejecuta cada segundo.
+     */
+    @Scheduled(fixedDelayString = "${app.auth-sync.relay-interval-ms:1000}")
+    public void relay() {
+        int total = 0;
+        
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<AuthSyncOutbox> batch = authSyncOutboxService.claimBatch(batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            
+            int delivered = authSyncOutboxService.deliver(batch);
+            total += delivered;
+            
+            // Lote incompleto: vacío o auth-service fallando
+            if (batch.size() < batchSize || delivered < batch.size()) {
+                break;
+            }
+        }
+        
+        if (total > 0) {
+            log.info("Synced {} organizations with auth-service", total);
+        }
+    }
+}
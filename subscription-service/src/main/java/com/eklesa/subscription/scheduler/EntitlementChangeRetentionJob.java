@@ -0,0 +1,65 @@
+package com.eklesa.subscription.scheduler;
+
+import com.eklesa.subscription.service.EntitlementChangeService;
+import com.eklesa.subscription.service.JobCoordinationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Job que elimina cambios de entitlements fuera de la retención.
+ * 
+ * SCHEDULE: Cada hora
+ * 
+ * Un consumidor con un cursor anterior a la retención recibe
+ * resetRequired=true y descarta todo su cache.
+ * 
+ * MULTI-INSTANCIA: Corre en una sola instancia (runExclusive).
+ */
+@Component
+@Slf4j
+public class EntitlementChangeRetentionJob {
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    private final EntitlementChangeService entitlementChangeService;
+    private final JobCoordinationService jobCoordinationService;
+    private final Duration retention;
+    
+    public EntitlementChangeRetentionJob(
+        EntitlementChangeService entitlementChangeService,
+        JobCoordinationService jobCoordinationService,
+        @Value("${app.entitlements.changes.retention:P7D}") Duration retention
+    ) {
+        this.entitlementChangeService = entitlementChangeService;
+        this.jobCoordinationService = jobCoordinationService;
+        this.retention = retention;
+    }
+    
+    /**
+     * Ejecuta cada hora.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.entitlement-change-retention-delay:3600000}")
+    public void purgeExpiredChanges() {
+        jobCoordinationService.runExclusive("entitlement-change-retention", this::purge);
+    }
+    
+    private void purge() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int deleted;
+        
+        do {
+            deleted = entitlementChangeService.purgeBefore(before, BATCH_SIZE);
+            total += deleted;
+        } while (deleted == BATCH_SIZE);
+        
+        if (total > 0) {
+            log.info("Purged {} entitlement changes older than {}", total, before);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.eklesa.subscription.scheduler;
+
+import com.eklesa.subscription.model.EventOutbox;
+import com.eklesa.subscription.service.EventOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Job que publica en SQS los eventos pendientes de event_outbox.
+ * 
+ * SCHEDULE: Cada segundo
+ * 
+ * Reclama lotes de claim-size eventos (SKIP LOCKED + lease) y los publica
+ * en llamadas SendMessageBatch de 10, hasta vaciar el outbox o llegar a
+ * max-batches-per-run. Puede correr en varias instancias a la vez.
+ */
+@Component
+@Slf4j
+public class EventOutboxRelayJob {
+    
+    private final EventOutboxService eventOutboxService;
+    private final int claimSize;
+    private final int maxBatchesPerRun;
+    
+    public EventOutboxRelayJob(
+        EventOutboxService eventOutboxService,
+        @Value("${app.events.outbox.claim-size:100}") int claimSize,
+        @Value("${app.events.outbox.max-batches-per-run:20}") int maxBatchesPerRun
+    ) {
+        this.eventOutboxService = eventOutboxService;
+        this.claimSize = claimSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+    
+    /**
+     * Ejecuta cada segundo.
+     */
+    @Scheduled(fixedDelayString = "${app.events.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        int total = 0;
+        
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                List<EventOutbox> batch = eventOutboxService.claimBatch(claimSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                
+                int published = eventOutboxService.publish(batch);
+                total += published;
+                
+                // Lote incompleto: vacío o SQS fallando
+                if (batch.size() < claimSize || published < batch.size()) {
+                    break;
+                }
+            }
+        } finally {
+            eventOutboxService.refreshBacklogMetrics();
+        }
+        
+        if (total > 0) {
+            log.info("Published {} domain events to SQS", total);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.eklesa.subscription.scheduler;
+
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.service.NotificationService;
+import com.eklesa.subscription.service.SubscriptionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Job que procesa los deadlines vencidos de subscriptions
+ * (next_deadline_at / next_deadline_action).
+ * 
+ * SCHEDULE: Cada 5 segundos
+ * 
+ * FLOW (por lotes de batch-size, una transacción por lote):
+ * 1. UPDATE ... RETURNING: EXPIRE_TRIAL vencidos -> GRACE_PERIOD
+ * 2. Sincroniza con auth-service, registra entitlement_changes y publica
+ *    TrialExpired (un INSERT por efecto, no por subscription)
+ * 3. Envía los emails del lote (SendBulkTemplatedEmail)
+ * 4. Igual para SUSPEND vencidos (fin del grace period) -> SUSPENDED
+ * 
+ * Las transiciones ocurren segundos después del deadline. Cada poll lee
+ * solo el índice de deadlines: sin vencidos, su costo es constante.
+ * 
+ * Un fallo en un lote no revierte los anteriores; lo pendiente se
+ * procesa en el siguiente poll. Puede correr en varias instancias a la
+ * vez (SKIP LOCKED).
+ */
+@Component
+@Slf4j
+public class TrialExpirationJob {
+    
+    private final SubscriptionService subscriptionService;
+    private final NotificationService notificationService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    
+    public TrialExpirationJob(
+        SubscriptionService subscriptionService,
+        NotificationService notificationService,
+        @Value("${app.scheduler.deadlines.batch-size:100}") int batchSize,
+        @Value("${app.scheduler.deadlines.max-batches-per-run:20}") int maxBatchesPerRun
+    ) {
+        this.subscriptionService = subscriptionService;
+        this.notificationService = notificationService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+    
+    /**
+     * Ejecuta cada 5 segundos.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.deadlines.poll-interval-ms:5000}")
+    public void processDueDeadlines() {
+        LocalDateTime now = LocalDateTime.now();
+        
+        int expired = processInBatches("expiring trials", limit -> {
+            List<Subscription> batch = subscriptionService.expireTrials(now, limit);
+            if (!batch.isEmpty()) {
+                notificationService.sendTrialExpiredEmails(batch);
+            }
+            return batch.size();
+        });
+        
+        int suspended = processInBatches("suspending grace periods",
+            limit -> subscriptionService.suspendExpiredGracePeriods(now, limit).size());
+        
+        if (expired > 0 || suspended > 0) {
+            log.info("Processed subscription deadlines. Expired: {}, suspended: {}", expired, suspended);
+        }
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private int processInBatches(String step, ToIntFunction<Integer> batch) {
+        int total = 0;
+        
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int processed;
+            try {
+                processed = batch.applyAsInt(batchSize);
+            } catch (Exception e) {
+                log.error("Error {} after {} subscriptions", step, total, e);
+                break;
+            }
+            
+            total += processed;
+            if (processed < batchSize) {
+                break;
+            }
+        }
+        
+        return total;
+    }
+}
@@ -0,0 +1,161 @@
+package com.eklesa.subscription.scheduler;
+
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.enums.TrialReminderKind;
+import com.eklesa.subscription.repository.SubscriptionRepository;
+import com.eklesa.subscription.service.JobCoordinationService;
+import com.eklesa.subscription.service.JobCoordinationService.JobShard;
+import com.eklesa.subscription.service.NotificationService;
+import com.eklesa.subscription.service.NotificationService.BulkEmailResult;
+import com.eklesa.subscription.service.SubscriptionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Job que envía recordatorios de trial próximo a expirar.
+ * 
+ * SCHEDULE: Diario a las 8 AM; reintentos cada hora de 9:30 a 20:30
+ * 
+ * NOTIFICACIONES:
+ * - Día 14: "Te quedan 7 días"
+ * - Día 18: "Te quedan 3 días"
+ * - Día 20: "Mañana expira tu prueba"
+ * - Día 21: "Tu prueba expiró hoy"
+ * 
+ * FLOW:
+ * 1. Una sola query trae los trials de todas las olas (TrialReminderKind)
+ * 2. Por ola, en bloques: registra el recordatorio en trial_reminders_sent
+ * 3. Envía los emails de los registrados en bloque (SendBulkTemplatedEmail)
+ * 4. Publica TrialExpiringEvent de los enviados y libera el registro de
+ *    los que fallaron
+ * 
+ * IDEMPOTENTE: Re-ejecutar el job (reinicio, cron repetido) no reenvía;
+ * los recordatorios ya registrados se omiten. Los que fallaron en SES
+ * (error o status distinto de SUCCESS) se liberan y el reintento del
+ * mismo día los vuelve a registrar y enviar. Si el proceso muere entre el
+ * registro y el envío, ese email se pierde (a lo sumo una vez).
+ * 
+ * MULTI-INSTANCIA: Un lease por shard de organizaciones; cada instancia
+ * procesa los shards que nadie tomó (JobCoordinationService.runSharded).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrialReminderJob {
+    
+    private static final int CLAIM_CHUNK_SIZE = 1000;
+    
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionService subscriptionService;
+    private final NotificationService notificationService;
+    private final JobCoordinationService jobCoordinationService;
+    
+    /**
+     * Ejecuta diariamente a las 8 AM.
+     */
+    @Scheduled(cron = "${app.scheduler.trial-reminder-cron:0 0 8 * * ?}")
+    public void sendTrialReminders() {
+        jobCoordinationService.runSharded("trial-reminder", this::sendShardReminders);
+    }
+    
+    /**
+     * Reintenta en el día los recordatorios liberados (email fallido) o cuyo
+     * bloque no se pudo registrar.
+     * 
+     * Es la misma corrida: lo ya registrado se omite, así que sin fallos
+     * previos no envía nada. Comparte los leases de shard con la corrida de
+     * las 8 AM y no se solapa con ella.
+     */
+    @Scheduled(cron = "${app.scheduler.trial-reminder-retry-cron:0 30 9-20 * * ?}")
+    public void retryTrialReminders() {
+        jobCoordinationService.runSharded("trial-reminder", this::sendShardReminders);
+    }
+    
+    private void sendShardReminders(JobShard shard) {
+        log.info("Starting trial reminder job");
+        
+        LocalDate today = LocalDate.now();
+        List<Integer> daysLeft = Arrays.stream(TrialReminderKind.values())
+            .map(TrialReminderKind::getDaysLeft)
+            .toList();
+        int minDays = daysLeft.stream().mapToInt(Integer::intValue).min().orElse(0);
+        int maxDays = daysLeft.stream().mapToInt(Integer::intValue).max().orElse(0);
+        
+        List<Subscription> trials = subscriptionRepository.findTrialsEndingInDays(
+            today.plusDays(minDays).atStartOfDay(),
+            today.plusDays(maxDays + 1L).atStartOfDay(),
+            today,
+            daysLeft,
+            shard.index(),
+            shard.count()
+        );
+        
+        int sent = 0;
+        for (TrialReminderKind kind : TrialReminderKind.values()) {
+            List<Subscription> due = trials.stream()
+                .filter(s -> ChronoUnit.DAYS.between(today, s.getTrialEndDate().toLocalDate()) == kind.getDaysLeft())
+                .toList();
+            
+            log.info("Found {} trials expiring in {} days", due.size(), kind.getDaysLeft());
+            
+            for (int from = 0; from < due.size(); from += CLAIM_CHUNK_SIZE) {
+                sent += sendReminders(kind, due.subList(from, Math.min(from + CLAIM_CHUNK_SIZE, due.size())));
+            }
+        }
+        
+        log.info("Trial reminder job completed. Emails sent: {}", sent);
+    }
+    
+    private int sendReminders(TrialReminderKind kind, List<Subscription> chunk) {
+        List<Subscription> claimed;
+        try {
+            claimed = subscriptionService.claimTrialReminders(chunk, kind);
+        } catch (Exception e) {
+            // Nada quedó registrado: el bloque se reintenta en la siguiente corrida
+            log.error("Error registering {} reminders for {} subscriptions", kind, chunk.size(), e);
+            return 0;
+        }
+        
+        if (claimed.size() < chunk.size()) {
+            log.info("Skipping {} {} reminders already sent", chunk.size() - claimed.size(), kind);
+        }
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        
+        // Emails de la ola en bloques de 50
+        BulkEmailResult result = notificationService.sendTrialExpiringEmails(claimed, kind.getDaysLeft());
+        
+        Set<Long> failedIds = result.failed().stream().map(Subscription::getId).collect(Collectors.toSet());
+        List<Subscription> sent = claimed.stream()
+            .filter(subscription -> !failedIds.contains(subscription.getId()))
+            .toList();
+        
+        try {
+            subscriptionService.confirmTrialReminders(sent, kind);
+        } catch (Exception e) {
+            // Los emails ya salieron: no se liberan, solo se pierde el evento
+            log.error("Error publishing {} {} reminder events", sent.size(), kind, e);
+        }
+        
+        if (!result.failed().isEmpty()) {
+            try {
+                subscriptionService.releaseTrialReminders(result.failed(), kind);
+                log.warn("Released {} {} reminders that failed to send", result.failed().size(), kind);
+            } catch (Exception e) {
+                log.error("Error releasing {} failed {} reminders", result.failed().size(), kind, e);
+            }
+        }
+        
+        return result.sent();
+    }
+}
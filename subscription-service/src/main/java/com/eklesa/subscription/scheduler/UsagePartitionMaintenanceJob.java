@@ -0,0 +1,83 @@
+package com.eklesa.subscription.scheduler;
+
+import com.eklesa.subscription.repository.UsageRecordRepository;
+import com.eklesa.subscription.service.JobCoordinationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Job de mantenimiento de particiones de usage_records.
+ * 
+ * SCHEDULE: Diario a las 3 AM
+ * 
+ * FLOW:
+ * 1. Crea las particiones mensuales de los próximos meses (partitions-ahead)
+ * 2. Elimina las particiones fuera de la retención (retention-months)
+ * 
+ * Eliminar una partición completa es un DROP: no deja filas muertas
+ * ni necesita VACUUM, a diferencia de un DELETE por fecha.
+ * 
+ * MULTI-INSTANCIA: Corre en una sola instancia (runExclusive).
+ */
+@Component
+@Slf4j
+public class UsagePartitionMaintenanceJob {
+    
+    private final UsageRecordRepository usageRecordRepository;
+    private final JobCoordinationService jobCoordinationService;
+    private final int retentionMonths;
+    private final int partitionsAhead;
+    
+    public UsagePartitionMaintenanceJob(
+        UsageRecordRepository usageRecordRepository,
+        JobCoordinationService jobCoordinationService,
+        @Value("${app.usage.records.retention-months:13}") int retentionMonths,
+        @Value("${app.usage.records.partitions-ahead:3}") int partitionsAhead
+    ) {
+        this.usageRecordRepository = usageRecordRepository;
+        this.jobCoordinationService = jobCoordinationService;
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.partitionsAhead = partitionsAhead;
+    }
+    
+    /**
+     * Ejecuta diariamente a las 3 AM.
+     */
+    @Scheduled(cron = "${app.scheduler.usage-partition-maintenance-cron:0 0 3 * * ?}")
+    public void maintainPartitions() {
+        jobCoordinationService.runExclusive("usage-partition-maintenance", this::maintain);
+    }
+    
+    private void maintain() {
+        log.info("Starting usage partition maintenance job");
+        
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        
+        // 1. Particiones futuras
+        int created = 0;
+        for (int i = 0; i <= partitionsAhead; i++) {
+            try {
+                if (Boolean.TRUE.equals(usageRecordRepository.createPartition(currentMonth.plusMonths(i)))) {
+                    created++;
+                }
+            } catch (Exception e) {
+                log.error("Error creating usage_records partition for {}", currentMonth.plusMonths(i), e);
+            }
+        }
+        
+        // 2. Retención
+        int dropped = 0;
+        try {
+            LocalDate retainFrom = currentMonth.minusMonths(retentionMonths - 1L);
+            dropped = usageRecordRepository.dropPartitionsBefore(retainFrom);
+        } catch (Exception e) {
+            log.error("Error dropping old usage_records partitions", e);
+        }
+        
+        log.info("Usage partition maintenance completed. Created: {}, dropped: {}", created, dropped);
+    }
+}
@@ -0,0 +1,72 @@
+package com.eklesa.subscription.scheduler;
+
+import com.eklesa.subscription.service.JobCoordinationService;
+import com.eklesa.subscription.service.UsageAggregationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job que agrega usage_records en resúmenes diarios (usage_daily_aggregates).
+ * 
+ * SCHEDULE: Cada 15 minutos
+ * 
+ * INCREMENTAL: Solo procesa registros confirmados después del watermark
+ * (job_checkpoints, en orden de commit), en chunks keyset de chunk-size registros. Cada chunk
+ * es una transacción: después de un crash retoma desde el último chunk
+ * confirmado. La memoria usada no depende del volumen (todo se agrega en la BD).
+ * 
+ * MULTI-INSTANCIA: Corre en una sola instancia (runExclusive); el
+ * watermark es compartido.
+ */
+@Component
+@Slf4j
+public class UsageRecordJob {
+    
+    private final UsageAggregationService usageAggregationService;
+    private final JobCoordinationService jobCoordinationService;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    
+    public UsageRecordJob(
+        UsageAggregationService usageAggregationService,
+        JobCoordinationService jobCoordinationService,
+        @Value("${app.usage.aggregation.chunk-size:5000}") int chunkSize,
+        @Value("${app.usage.aggregation.max-chunks-per-run:200}") int maxChunksPerRun
+    ) {
+        this.usageAggregationService = usageAggregationService;
+        this.jobCoordinationService = jobCoordinationService;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+    
+    /**
+     * Ejecuta cada 15 minutos.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.usage-snapshot-delay:900000}") // 15 minutos en ms
+    public void recordUsageSnapshot() {
+        jobCoordinationService.runExclusive("usage-record", this::aggregate);
+    }
+    
+    private void aggregate() {
+        log.info("Starting usage record snapshot job");
+        
+        int total = 0;
+        int chunks = 0;
+        int processed;
+        
+        try {
+            do {
+                processed = usageAggregationService.processNextChunk(chunkSize);
+                total += processed;
+                chunks++;
+            } while (processed == chunkSize && chunks < maxChunksPerRun);
+        } catch (Exception e) {
+            // El watermark quedó en el último chunk confirmado: la próxima ejecución retoma
+            log.error("Error aggregating usage records after {} chunks", chunks, e);
+        }
+        
+        log.info("Usage record snapshot job completed. Records aggregated: {}, chunks: {}", total, chunks);
+    }
+}
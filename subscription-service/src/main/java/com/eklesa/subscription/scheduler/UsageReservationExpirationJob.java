@@ -0,0 +1,43 @@
+package com.eklesa.subscription.scheduler;
+
+import com.eklesa.subscription.service.UsageCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job que libera reservas de uso expiradas.
+ * 
+ * SCHEDULE: Cada minuto
+ * 
+ * Una reserva expira cuando crm-service nunca hizo commit ni release
+ * (ej: el pod murió después de reservar).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UsageReservationExpirationJob {
+    
+    private static final int BATCH_SIZE = 500;
+    
+    private final UsageCounterService usageCounterService;
+    
+    /**
+     * Ejecuta cada minuto.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.usage-reservation-expiration-delay:60000}")
+    public void releaseExpiredReservations() {
+        int total = 0;
+        int released;
+        
+        do {
+            released = usageCounterService.releaseExpiredReservations(BATCH_SIZE);
+            total += released;
+        } while (released == BATCH_SIZE);
+        
+        if (total > 0) {
+            log.info("Released {} expired usage reservations", total);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.client.AuthServiceClient;
+import com.eklesa.subscription.client.dto.UpdateSubscriptionStatusRequest;
+import com.eklesa.subscription.model.AuthSyncOutbox;
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.repository.AuthSyncOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sincronización de status con auth-service vía outbox.
+ * 
+ * RESPONSABILIDADES:
+ * - Encolar el estado de la org en la MISMA transacción que el cambio
+ *   (sin llamadas HTTP dentro de la transacción)
+ * - Entregar lotes reclamados por AuthSyncRelayJob, fuera de transacción
+ * - Reintentar con backoff exponencial; nunca descartar en silencio
+ * 
+ * COALESCING: Una fila por organización. Si la org cambia varias veces
+ * antes de la entrega (ej: expiración masiva nocturna), solo se envía
+ * el último estado.
+ * 
+ * MÉTRICAS:
+ * - auth.sync.delivered, auth.sync.failed
+ */
+@Service
+@Slf4j
+public class AuthSyncOutboxService {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final AuthSyncOutboxRepository authSyncOutboxRepository;
+    private final AuthServiceClient authServiceClient;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    
+    public AuthSyncOutboxService(
+        AuthSyncOutboxRepository authSyncOutboxRepository,
+        AuthServiceClient authServiceClient,
+        MeterRegistry meterRegistry,
+        @Value("${app.auth-sync.lease:PT2M}") Duration lease,
+        @Value("${app.auth-sync.initial-backoff:PT5S}") Duration initialBackoff,
+        @Value("${app.auth-sync.max-backoff:PT10M}") Duration maxBackoff
+    ) {
+        this.authSyncOutboxRepository = authSyncOutboxRepository;
+        this.authServiceClient = authServiceClient;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        
+        this.deliveredCounter = Counter.builder("auth.sync.delivered")
+            .description("Estados entregados a auth-service")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("auth.sync.failed")
+            .description("Entregas a auth-service fallidas (se reintentan)")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Encola el estado actual de la subscription para auth-service.
+     * 
+     * Llamar DESPUÉS de modificar la subscription. Si la transacción hace
+     * rollback, no se envía nada.
+     */
+    @Transactional
+    public void enqueue(Subscription subscription) {
+        authSyncOutboxRepository.upsert(
+            subscription.getOrganizationId(),
+            subscription.getStatus().name(),
+            subscription.getTrialEndDate()
+        );
+        
+        log.debug("Enqueued auth-service sync for org: {} ({})",
+            subscription.getOrganizationId(), subscription.getStatus());
+    }
+    
+    /**
+     * Versión masiva de enqueue: un solo INSERT ... SELECT.
+     * 
+     * LLAMADO POR: SubscriptionService (transiciones masivas)
+     */
+    @Transactional
+    public void enqueueAll(List<Subscription> subscriptions) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        
+        authSyncOutboxRepository.upsertAll(subscriptions.stream().map(Subscription::getId).toList());
+        
+        log.debug("Enqueued auth-service sync for {} organizations", subscriptions.size());
+    }
+    
+    /**
+     * Reclama un lote listo para entregar.
+     * 
+     * LLAMADO POR: AuthSyncRelayJob
+     */
+    public List<AuthSyncOutbox> claimBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        return authSyncOutboxRepository.claimBatch(now, now.plus(lease), batchSize);
+    }
+    
+    /**
+     * Entrega un lote reclamado a auth-service.
+     * 
+     * Sin transacción: cada PUT se hace sin retener una conexión de la BD.
+     * Al primer fallo se detiene el lote (auth-service probablemente caído)
+     * y se libera el resto para el siguiente ciclo.
+     * 
+     * RETORNA: Cantidad entregada.
+     * 
+     * LLAMADO POR: AuthSyncRelayJob
+     */
+    public int deliver(List<AuthSyncOutbox> batch) {
+        int delivered = 0;
+        
+        for (int i = 0; i < batch.size(); i++) {
+            AuthSyncOutbox entry = batch.get(i);
+            try {
+                authServiceClient.updateSubscriptionStatus(UpdateSubscriptionStatusRequest.builder()
+                    .organizationId(entry.getOrganizationId())
+                    .subscriptionStatus(entry.getSubscriptionStatus())
+                    .trialEndsAt(entry.getTrialEndsAt())
+                    .build());
+            } catch (Exception e) {
+                markFailed(entry, e);
+                batch.subList(i + 1, batch.size()).forEach(rest -> authSyncOutboxRepository.release(rest.getId()));
+                return delivered;
+            }
+            
+            // Si llegó una revision nueva durante el PUT, se entrega en el siguiente ciclo
+            if (authSyncOutboxRepository.deleteDelivered(entry.getId(), entry.getRevision()) == 0) {
+                authSyncOutboxRepository.release(entry.getId());
+            }
+            deliveredCounter.increment();
+            delivered++;
+        }
+        
+        return delivered;
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private void markFailed(AuthSyncOutbox entry, Exception e) {
+        failedCounter.increment();
+        
+        Duration backoff = backoff(entry.getAttempts());
+        String error = String.valueOf(e.getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        
+        if (authSyncOutboxRepository.markFailed(entry.getId(), entry.getRevision(),
+                LocalDateTime.now().plus(backoff), error) == 0) {
+            authSyncOutboxRepository.release(entry.getId());
+        }
+        
+        log.warn("Failed to sync org {} with auth-service (attempt {}), retrying in {}: {}",
+            entry.getOrganizationId(), entry.getAttempts() + 1, backoff, error);
+    }
+    
+    /**
+     * initialBackoff * 2^attempts, acotado por maxBackoff.
+     */
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
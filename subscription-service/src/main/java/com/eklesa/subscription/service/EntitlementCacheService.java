@@ -0,0 +1,168 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.entitlement.EntitlementSnapshot;
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.repository.SubscriptionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache en memoria de entitlements por organización.
+ * 
+ * RESPONSABILIDADES:
+ * - Evitar ir a la BD en cada POST /api/limits/validate
+ * - Tamaño acotado (max-size) y expiración por TTL
+ * - Invalidación después del commit en cada cambio de estado
+ *   (EntitlementCacheEventListener)
+ * 
+ * NOTA: Esa invalidación es local a la instancia. Las demás
+ * instancias invalidan al ver el cambio en entitlement_changes
+ * (EntitlementChangeService.dispatch); el TTL queda como respaldo.
+ * 
+ * VIRTUAL THREADS: Los misses se cargan fuera del cache (getIfPresent ->
+ * query -> put). cache.get(key, loader) corre el loader dentro de
+ * ConcurrentHashMap.compute, que bloquea con synchronized: la query JDBC
+ * dejaría el virtual thread fijado (pinned) a su carrier.
+ */
+@Service
+@Slf4j
+public class EntitlementCacheService {
+    
+    private final SubscriptionRepository subscriptionRepository;
+    private final FeatureRegistryService featureRegistryService;
+    private final Cache<Long, EntitlementSnapshot> cache;
+    
+    // Se incrementa en cada invalidación: una carga que se cruzó con una
+    // invalidación no se guarda (podría ser anterior al cambio)
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    public EntitlementCacheService(
+        SubscriptionRepository subscriptionRepository,
+        FeatureRegistryService featureRegistryService,
+        MeterRegistry meterRegistry,
+        @Value("${app.entitlements.cache.max-size:10000}") long maxSize,
+        @Value("${app.entitlements.cache.ttl:PT30S}") Duration ttl
+    ) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.featureRegistryService = featureRegistryService;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "entitlements");
+    }
+    
+    /**
+     * Obtiene la foto de entitlements de una organización.
+     * 
+     * Solo va a la BD en un miss. Las organizaciones sin subscription
+     * no se cachean.
+     */
+    public Optional<EntitlementSnapshot> get(Long organizationId) {
+        EntitlementSnapshot cached = cache.getIfPresent(organizationId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
+        long generation = invalidations.get();
+        EntitlementSnapshot loaded = load(organizationId);
+        if (loaded != null && invalidations.get() == generation) {
+            store(loaded);
+        }
+        return Optional.ofNullable(loaded);
+    }
+    
+    /**
+     * Obtiene las fotos de varias organizaciones.
+     * 
+     * Los misses se resuelven con UNA sola query agrupada.
+     * Las organizaciones sin subscription no aparecen en el resultado.
+     */
+    public Map<Long, EntitlementSnapshot> getAll(Collection<Long> organizationIds) {
+        Map<Long, EntitlementSnapshot> result = new HashMap<>(cache.getAllPresent(organizationIds));
+        
+        List<Long> missing = organizationIds.stream()
+            .filter(organizationId -> !result.containsKey(organizationId))
+            .distinct()
+            .toList();
+        if (missing.isEmpty()) {
+            return result;
+        }
+        
+        long generation = invalidations.get();
+        Map<Long, EntitlementSnapshot> loaded = loadAll(missing);
+        if (invalidations.get() == generation) {
+            loaded.values().forEach(this::store);
+        }
+        result.putAll(loaded);
+        return result;
+    }
+    
+    /**
+     * Invalida la foto de una organización.
+     */
+    public void invalidate(Long organizationId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(organizationId);
+        log.debug("Invalidated entitlement snapshot for org: {}", organizationId);
+    }
+    
+    /**
+     * Invalida todas las fotos.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+        log.info("Invalidated all entitlement snapshots");
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private EntitlementSnapshot load(Long organizationId) {
+        log.debug("Loading entitlement snapshot for org: {}", organizationId);
+        
+        return subscriptionRepository.findByOrganizationId(organizationId)
+            .map(this::toSnapshot)
+            .orElse(null);
+    }
+    
+    private Map<Long, EntitlementSnapshot> loadAll(List<Long> organizationIds) {
+        log.debug("Loading entitlement snapshots for {} orgs", organizationIds.size());
+        
+        Map<Long, EntitlementSnapshot> loaded = new HashMap<>();
+        for (Subscription subscription : subscriptionRepository.findByOrganizationIdIn(organizationIds)) {
+            loaded.put(subscription.getOrganizationId(), toSnapshot(subscription));
+        }
+        return loaded;
+    }
+    
+    /**
+     * Guarda la foto salvo que el cache ya tenga una de una versión posterior
+     * de la subscription (dos cargas concurrentes: gana la más nueva).
+     */
+    private void store(EntitlementSnapshot snapshot) {
+        cache.asMap().merge(snapshot.getOrganizationId(), snapshot,
+            (current, loaded) -> loaded.isOlderThan(current) ? current : loaded);
+    }
+    
+    private EntitlementSnapshot toSnapshot(Subscription subscription) {
+        return EntitlementSnapshot.from(subscription, featureRegistryService.limitsFor(subscription.getPlan()));
+    }
+}
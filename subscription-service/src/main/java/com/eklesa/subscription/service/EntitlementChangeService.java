@@ -0,0 +1,474 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.response.EntitlementChangeDTO;
+import com.eklesa.subscription.dto.response.EntitlementChangesResponse;
+import com.eklesa.subscription.exception.SubscriptionException;
+import com.eklesa.subscription.model.EntitlementChange;
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.enums.EntitlementChangeType;
+import com.eklesa.subscription.repository.EntitlementChangeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Log versionado de cambios de entitlements y stream para consumidores.
+ * 
+ * RESPONSABILIDADES:
+ * - Registrar cada cambio de status/plan en entitlement_changes, en la
+ *   MISMA transacción que el cambio de la subscription
+ * - Entregar los cambios después de un cursor (GET, long-poll y SSE)
+ * - Invalidar el cache de entitlements de ESTA instancia con los cambios
+ *   hechos por otras instancias
+ * 
+ * CURSOR: "<ingestXid>_<id>" del último cambio entregado (orden de commit,
+ * ver EntitlementChangeRepository.findAfter). Dos transacciones pueden hacer
+ * commit en distinto orden que sus ids; un cambio solo se entrega cuando ya
+ * no puede aparecer otro antes que él. Un cursor numérico anterior a V18
+ * ("1523") equivale a "0_1523".
+ * 
+ * DISPATCH: Cada instancia consulta el último cambio cada poll-interval-ms y,
+ * si hay cambios, despierta a sus long-polls/streams. Sin cambios no hay
+ * queries por suscriptor.
+ * 
+ * LLAMADO POR: SubscriptionService, PayPalService, EntitlementController
+ */
+@Service
+@Slf4j
+public class EntitlementChangeService {
+    
+    private static final String CHANGE_EVENT = "change";
+    private static final String RESET_EVENT = "reset";
+    private static final String READY_EVENT = "ready";
+    private static final String CURSOR_SEPARATOR = "_";
+    
+    private final EntitlementChangeRepository entitlementChangeRepository;
+    private final EntitlementCacheService entitlementCacheService;
+    private final int maxPageSize;
+    private final Duration maxWait;
+    private final Duration streamTimeout;
+    private final Duration heartbeat;
+    
+    private final Set<ChangeSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    
+    // Solo los usa dispatch() (un hilo del scheduler)
+    private ChangeCursor invalidatedCursor;
+    private long lastHeartbeatNanos = System.nanoTime();
+    
+    public EntitlementChangeService(
+        EntitlementChangeRepository entitlementChangeRepository,
+        EntitlementCacheService entitlementCacheService,
+        MeterRegistry meterRegistry,
+        @Value("${app.entitlements.changes.max-page-size:1000}") int maxPageSize,
+        @Value("${app.entitlements.changes.max-wait:PT30S}") Duration maxWait,
+        @Value("${app.entitlements.changes.stream-timeout:PT5M}") Duration streamTimeout,
+        @Value("${app.entitlements.changes.heartbeat:PT15S}") Duration heartbeat
+    ) {
+        this.entitlementChangeRepository = entitlementChangeRepository;
+        this.entitlementCacheService = entitlementCacheService;
+        this.maxPageSize = maxPageSize;
+        this.maxWait = maxWait;
+        this.streamTimeout = streamTimeout;
+        this.heartbeat = heartbeat;
+        
+        meterRegistry.gaugeCollectionSize("entitlements.changes.subscribers", List.of(), subscribers);
+    }
+    
+    // ============================================
+    // REGISTRO
+    // ============================================
+    
+    /**
+     * Registra un cambio de entitlements de la subscription.
+     * 
+     * Llamar DESPUÉS de modificar la subscription (guarda plan y status
+     * resultantes). El cache local lo invalida EntitlementCacheEventListener
+     * con el evento de dominio de la misma transición.
+     */
+    @Transactional
+    public void recordChange(Subscription subscription, EntitlementChangeType changeType) {
+        EntitlementChange change = EntitlementChange.builder()
+            .organizationId(subscription.getOrganizationId())
+            .subscriptionId(subscription.getId())
+            .changeType(changeType)
+            .planCode(subscription.getPlan().getCode())
+            .status(subscription.getStatus().name())
+            .build();
+        
+        entitlementChangeRepository.save(change);
+        
+        log.debug("Recorded entitlement change {} for org: {}", changeType, subscription.getOrganizationId());
+    }
+    
+    /**
+     * Versión masiva de recordChange: un solo INSERT ... SELECT.
+     */
+    @Transactional
+    public void recordChanges(List<Subscription> subscriptions, EntitlementChangeType changeType) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        
+        entitlementChangeRepository.insertAll(subscriptions.stream().map(Subscription::getId).toList(), changeType.name());
+        
+        log.debug("Recorded {} entitlement changes {}", subscriptions.size(), changeType);
+    }
+    
+    // ============================================
+    // CONSULTA
+    // ============================================
+    
+    /**
+     * Obtiene los cambios después de un cursor.
+     * 
+     * Sin cursor retorna el cursor actual sin cambios: el consumidor empieza
+     * con su cache vacío y sigue desde ahí.
+     * 
+     * RETORNA: resetRequired=true si el cursor ya salió de la retención.
+     */
+    public EntitlementChangesResponse getChanges(String cursor, int limit) {
+        if (cursor == null) {
+            return page(head(), false, false, List.of());
+        }
+        return getChanges(ChangeCursor.parse(cursor), limit);
+    }
+    
+    /**
+     * Long-poll: responde apenas haya cambios después del cursor, o vacío
+     * al cumplirse wait (acotado por max-wait).
+     */
+    public DeferredResult<EntitlementChangesResponse> poll(String cursor, int limit, Duration wait) {
+        EntitlementChangesResponse current = getChanges(cursor, limit);
+        
+        Duration timeout = wait.compareTo(maxWait) > 0 ? maxWait : wait;
+        if (cursor == null || timeout.isZero() || timeout.isNegative()
+                || !current.getChanges().isEmpty() || current.getResetRequired()) {
+            DeferredResult<EntitlementChangesResponse> result = new DeferredResult<>();
+            result.setResult(current);
+            return result;
+        }
+        
+        LongPollSubscriber subscriber = new LongPollSubscriber(ChangeCursor.parse(current.getCursor()), limit, timeout);
+        subscribers.add(subscriber);
+        subscriber.result.onCompletion(() -> subscribers.remove(subscriber));
+        return subscriber.result;
+    }
+    
+    /**
+     * Stream SSE: evento "change" por cada cambio (id = cursor), "reset"
+     * si el cursor salió de la retención. El cliente reconecta con
+     * Last-Event-ID al expirar stream-timeout.
+     */
+    public SseEmitter stream(String cursor) {
+        ChangeCursor from = cursor != null ? ChangeCursor.parse(cursor) : head();
+        
+        StreamSubscriber subscriber = new StreamSubscriber(from);
+        subscriber.emitter.onCompletion(() -> subscriber.close());
+        subscriber.emitter.onTimeout(() -> subscriber.close());
+        subscriber.emitter.onError(e -> subscriber.close());
+        
+        if (subscriber.open(cursor == null)) {
+            subscribers.add(subscriber);
+        }
+        return subscriber.emitter;
+    }
+    
+    // ============================================
+    // DISPATCH Y RETENCIÓN
+    // ============================================
+    
+    /**
+     * Detecta cambios nuevos (de cualquier instancia), invalida el cache
+     * local y despierta a los suscriptores atrasados.
+     */
+    @Scheduled(fixedDelayString = "${app.entitlements.changes.poll-interval-ms:1000}")
+    public void dispatch() {
+        ChangeCursor head = head();
+        
+        if (invalidatedCursor == null) {
+            invalidatedCursor = head;
+        } else if (invalidatedCursor.compareTo(head) < 0) {
+            invalidateLocalCache();
+        }
+        
+        boolean heartbeatDue = System.nanoTime() - lastHeartbeatNanos > heartbeat.toNanos();
+        if (heartbeatDue) {
+            lastHeartbeatNanos = System.nanoTime();
+        }
+        
+        for (ChangeSubscriber subscriber : subscribers) {
+            if (subscriber.cursor.compareTo(head) < 0 || heartbeatDue) {
+                if (!subscriber.push(heartbeatDue)) {
+                    subscribers.remove(subscriber);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Elimina un lote de cambios anteriores a la fecha.
+     * 
+     * RETORNA: Cantidad de cambios eliminados.
+     * 
+     * LLAMADO POR: EntitlementChangeRetentionJob
+     */
+    @Transactional
+    public int purgeBefore(LocalDateTime before, int batchSize) {
+        return entitlementChangeRepository.deleteBatchCreatedBefore(before, batchSize);
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    /**
+     * Página después de un cursor ya parseado (en orden de commit).
+     */
+    private EntitlementChangesResponse getChanges(ChangeCursor after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        boolean reset = isPurged(after);
+        
+        List<EntitlementChange> rows = entitlementChangeRepository.findAfter(after.xid(), after.id(), pageSize);
+        
+        List<EntitlementChangeDTO> changes = new ArrayList<>(rows.size());
+        ChangeCursor last = after;
+        for (EntitlementChange row : rows) {
+            changes.add(toDTO(row));
+            last = ChangeCursor.of(row);
+        }
+        
+        return page(last, rows.size() == pageSize, reset, changes);
+    }
+    
+    /**
+     * Cursor del último cambio entregable (START si el log está vacío).
+     */
+    private ChangeCursor head() {
+        return entitlementChangeRepository.findHead().map(ChangeCursor::of).orElse(ChangeCursor.START);
+    }
+    
+    /**
+     * true si la retención eliminó cambios posteriores al cursor: el cambio
+     * más viejo que queda ya es posterior a él.
+     * 
+     * START (log vacío al pedir el cursor) nunca requiere reset.
+     */
+    private boolean isPurged(ChangeCursor cursor) {
+        if (cursor.equals(ChangeCursor.START)) {
+            return false;
+        }
+        return entitlementChangeRepository.findTail()
+            .map(ChangeCursor::of)
+            .filter(tail -> cursor.compareTo(tail) < 0)
+            .isPresent();
+    }
+    
+    private void invalidateLocalCache() {
+        EntitlementChangesResponse page;
+        do {
+            page = getChanges(invalidatedCursor, maxPageSize);
+            if (page.getResetRequired()) {
+                entitlementCacheService.invalidateAll();
+            }
+            page.getChanges().forEach(change -> entitlementCacheService.invalidate(change.getOrganizationId()));
+            invalidatedCursor = ChangeCursor.parse(page.getCursor());
+        } while (page.getHasMore());
+    }
+    
+    private EntitlementChangesResponse page(ChangeCursor cursor, boolean hasMore, boolean reset, List<EntitlementChangeDTO> changes) {
+        return EntitlementChangesResponse.builder()
+            .cursor(cursor.toString())
+            .hasMore(hasMore)
+            .resetRequired(reset)
+            .changes(changes)
+            .build();
+    }
+    
+    private EntitlementChangeDTO toDTO(EntitlementChange change) {
+        return EntitlementChangeDTO.builder()
+            .id(change.getId())
+            .cursor(ChangeCursor.of(change).toString())
+            .organizationId(change.getOrganizationId())
+            .subscriptionId(change.getSubscriptionId())
+            .changeType(change.getChangeType().name())
+            .planCode(change.getPlanCode())
+            .status(change.getStatus())
+            .changedAt(change.getCreatedAt())
+            .build();
+    }
+    
+    /**
+     * Posición en el log: (ingestXid, id), en orden de commit.
+     */
+    private record ChangeCursor(long xid, long id) implements Comparable<ChangeCursor> {
+        
+        static final ChangeCursor START = new ChangeCursor(0, 0);
+        
+        static ChangeCursor of(EntitlementChange change) {
+            return new ChangeCursor(change.getIngestXid(), change.getId());
+        }
+        
+        static ChangeCursor of(EntitlementChangeRepository.Position position) {
+            return new ChangeCursor(position.getXid(), position.getId());
+        }
+        
+        /**
+         * "<xid>_<id>", o solo "<id>" (cursor anterior a V18: xid 0).
+         */
+        static ChangeCursor parse(String cursor) {
+            try {
+                int separator = cursor.indexOf(CURSOR_SEPARATOR);
+                return separator < 0
+                    ? new ChangeCursor(0, Long.parseLong(cursor))
+                    : new ChangeCursor(Long.parseLong(cursor.substring(0, separator)), Long.parseLong(cursor.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                throw new SubscriptionException("Invalid change cursor: " + cursor);
+            }
+        }
+        
+        @Override
+        public int compareTo(ChangeCursor other) {
+            int byXid = Long.compare(xid, other.xid);
+            return byXid != 0 ? byXid : Long.compare(id, other.id);
+        }
+        
+        @Override
+        public String toString() {
+            return xid + CURSOR_SEPARATOR + id;
+        }
+    }
+    
+    /**
+     * Consumidor esperando cambios después de su cursor.
+     */
+    private abstract static class ChangeSubscriber {
+        
+        // Serializa el request inicial y dispatch(). ReentrantLock y no
+        // synchronized: se retiene durante queries y escrituras al socket
+        protected final ReentrantLock lock = new ReentrantLock();
+        protected volatile ChangeCursor cursor;
+        
+        ChangeSubscriber(ChangeCursor cursor) {
+            this.cursor = cursor;
+        }
+        
+        /**
+         * RETORNA: false si el suscriptor terminó y se debe quitar.
+         */
+        boolean push(boolean heartbeatDue) {
+            lock.lock();
+            try {
+                return pushLocked(heartbeatDue);
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        abstract boolean pushLocked(boolean heartbeatDue);
+    }
+    
+    private class LongPollSubscriber extends ChangeSubscriber {
+        
+        private final int limit;
+        private final DeferredResult<EntitlementChangesResponse> result;
+        
+        LongPollSubscriber(ChangeCursor cursor, int limit, Duration timeout) {
+            super(cursor);
+            this.limit = limit;
+            this.result = new DeferredResult<>(timeout.toMillis(), () -> page(this.cursor, false, false, List.of()));
+        }
+        
+        @Override
+        boolean pushLocked(boolean heartbeatDue) {
+            if (result.isSetOrExpired()) {
+                return false;
+            }
+            
+            EntitlementChangesResponse current = getChanges(cursor, limit);
+            cursor = ChangeCursor.parse(current.getCursor());
+            if (current.getChanges().isEmpty() && !current.getResetRequired()) {
+                return true;
+            }
+            
+            result.setResult(current);
+            return false;
+        }
+    }
+    
+    private class StreamSubscriber extends ChangeSubscriber {
+        
+        private final SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        private volatile boolean closed;
+        
+        StreamSubscriber(ChangeCursor cursor) {
+            super(cursor);
+        }
+        
+        /**
+         * Envía "ready" (sin cursor del cliente) y los cambios pendientes.
+         */
+        boolean open(boolean announceCursor) {
+            lock.lock();
+            try {
+                if (announceCursor) {
+                    emitter.send(SseEmitter.event().name(READY_EVENT).id(cursor.toString()).data(cursor.toString()));
+                }
+                return pushLocked(false);
+            } catch (IOException e) {
+                close();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        @Override
+        boolean pushLocked(boolean heartbeatDue) {
+            if (closed) {
+                return false;
+            }
+            
+            try {
+                EntitlementChangesResponse current;
+                do {
+                    current = getChanges(cursor, maxPageSize);
+                    if (current.getResetRequired()) {
+                        emitter.send(SseEmitter.event().name(RESET_EVENT).data(current.getCursor()));
+                    }
+                    for (EntitlementChangeDTO change : current.getChanges()) {
+                        emitter.send(SseEmitter.event().name(CHANGE_EVENT).id(change.getCursor()).data(change));
+                    }
+                    cursor = ChangeCursor.parse(current.getCursor());
+                } while (current.getHasMore());
+                
+                if (heartbeatDue) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado o emitter ya completado
+                close();
+                return false;
+            }
+        }
+        
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
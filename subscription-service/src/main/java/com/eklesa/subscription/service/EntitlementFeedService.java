@@ -0,0 +1,162 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.entitlement.FeatureIndex;
+import com.eklesa.subscription.entitlement.FeatureRegistry;
+import com.eklesa.subscription.entitlement.PlanCapabilities;
+import com.eklesa.subscription.entitlement.feed.EntitlementFeed;
+import com.eklesa.subscription.entitlement.feed.OrganizationEntry;
+import com.eklesa.subscription.entitlement.feed.PlanEntry;
+import com.eklesa.subscription.entitlement.feed.RegistryEntry;
+import com.eklesa.subscription.exception.SubscriptionException;
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.repository.SubscriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Feed versionado de entitlements para EntitlementClient.
+ * 
+ * RESPONSABILIDADES:
+ * - Publicar el registro de planes (límites + capabilities) cuando cambia su versión
+ * - Publicar las subscriptions nuevas o modificadas desde un cursor (keyset)
+ * 
+ * CURSOR: "<última modificación>_<id>" de la última subscription entregada.
+ * Sin cursor se entrega todo (paginado).
+ * 
+ * LAG: Solo se entregan cambios con más de app.entitlements.feed.lag de
+ * antigüedad, para no saltar transacciones que hacen commit con un
+ * updated_at anterior al de filas ya entregadas. El cliente además hace
+ * un resync completo periódico.
+ */
+@Service
+@Slf4j
+public class EntitlementFeedService {
+    
+    private static final LocalDateTime FEED_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String CURSOR_SEPARATOR = "_";
+    
+    private final SubscriptionRepository subscriptionRepository;
+    private final FeatureRegistryService featureRegistryService;
+    private final Duration lag;
+    private final int maxPageSize;
+    
+    public EntitlementFeedService(
+        SubscriptionRepository subscriptionRepository,
+        FeatureRegistryService featureRegistryService,
+        @Value("${app.entitlements.feed.lag:PT5S}") Duration lag,
+        @Value("${app.entitlements.feed.max-page-size:1000}") int maxPageSize
+    ) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.featureRegistryService = featureRegistryService;
+        this.lag = lag;
+        this.maxPageSize = maxPageSize;
+    }
+    
+    /**
+     * Obtiene una página del feed.
+     * 
+     * @param cursor          Cursor de la página anterior (null = desde el inicio)
+     * @param registryVersion Versión del registro que ya tiene el cliente
+     * @param limit           Máximo de organizaciones (acotado por max-page-size)
+     */
+    @Transactional(readOnly = true)
+    public EntitlementFeed getFeed(String cursor, String registryVersion, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        FeatureRegistry registry = featureRegistryService.getRegistry();
+        
+        LocalDateTime afterAt = FEED_START;
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+            try {
+                afterAt = LocalDateTime.parse(cursor.substring(0, separator));
+                afterId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw new SubscriptionException("Invalid feed cursor: " + cursor);
+            }
+        }
+        
+        List<Subscription> changed = subscriptionRepository.findChangedAfter(
+            afterAt, afterId, LocalDateTime.now().minus(lag), PageRequest.of(0, pageSize));
+        
+        List<OrganizationEntry> organizations = new ArrayList<>(changed.size());
+        for (Subscription subscription : changed) {
+            organizations.add(toEntry(subscription));
+        }
+        
+        String nextCursor = cursor;
+        if (!changed.isEmpty()) {
+            Subscription last = changed.get(changed.size() - 1);
+            nextCursor = changedAt(last) + CURSOR_SEPARATOR + last.getId();
+        } else if (nextCursor == null) {
+            nextCursor = FEED_START + CURSOR_SEPARATOR + 0;
+        }
+        
+        log.debug("Entitlement feed page: {} organizations, cursor: {}", organizations.size(), nextCursor);
+        
+        return new EntitlementFeed(
+            nextCursor,
+            changed.size() == pageSize,
+            Objects.equals(registryVersion, registry.getFingerprint()) ? null : toEntry(registry),
+            organizations
+        );
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private OrganizationEntry toEntry(Subscription subscription) {
+        return new OrganizationEntry(
+            subscription.getOrganizationId(),
+            subscription.getId(),
+            subscription.getPlan().getId(),
+            subscription.getPlan().getCode(),
+            subscription.getStatus().name(),
+            subscription.canAccess(),
+            subscription.isReadOnly(),
+            subscription.getVersion()
+        );
+    }
+    
+    private RegistryEntry toEntry(FeatureRegistry registry) {
+        Map<Long, PlanCapabilities> capabilities = registry.getCapabilitiesByPlanId();
+        
+        List<PlanEntry> plans = new ArrayList<>(registry.getPlanCount());
+        registry.getLimitsByPlanId().forEach((planId, limits) -> plans.add(new PlanEntry(
+            planId,
+            limits.toArray(),
+            capabilities.getOrDefault(planId, PlanCapabilities.NONE).enabledCodes()
+        )));
+        
+        return new RegistryEntry(
+            registry.getFingerprint(),
+            codesOf(registry.getFeatures()),
+            codesOf(registry.getCapabilities()),
+            plans
+        );
+    }
+    
+    private List<String> codesOf(FeatureIndex features) {
+        List<String> codes = new ArrayList<>(features.size());
+        for (int i = 0; i < features.size(); i++) {
+            codes.add(features.code(i));
+        }
+        return codes;
+    }
+    
+    private LocalDateTime changedAt(Subscription subscription) {
+        return subscription.getUpdatedAt() != null ? subscription.getUpdatedAt() : subscription.getCreatedAt();
+    }
+}
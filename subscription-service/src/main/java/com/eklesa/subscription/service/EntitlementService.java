@@ -0,0 +1,106 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.response.FeatureAccessBatchResponse;
+import com.eklesa.subscription.dto.response.FeatureAccessResponse;
+import com.eklesa.subscription.entitlement.EntitlementSnapshot;
+import com.eklesa.subscription.entitlement.PlanCapabilities;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Servicio de verificación de features MODULE/CAPABILITY.
+ * 
+ * RESPONSABILIDADES:
+ * - Responder si una org tiene una feature (hasFeature)
+ * - Responder varias features de una org en una sola llamada
+ * 
+ * HOT PATH: Foto de la org desde EntitlementCacheService (plan id) +
+ * bitset del plan en FeatureRegistry. Sin BD salvo en un miss del cache.
+ * 
+ * LLAMADO POR: crm-service y frontend para mostrar/ocultar módulos
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EntitlementService {
+    
+    private static final String NO_SUBSCRIPTION = "No active subscription found";
+    private static final String NOT_ACTIVE = "Subscription is not active";
+    private static final String NOT_INCLUDED = "Feature not included in plan";
+    
+    private final EntitlementCacheService entitlementCacheService;
+    private final FeatureRegistryService featureRegistryService;
+    
+    /**
+     * Verifica si la org tiene una feature.
+     * 
+     * Una org sin subscription o sin acceso (suspended, canceled...)
+     * retorna enabled=false con el motivo, no un error.
+     */
+    public FeatureAccessResponse hasFeature(Long organizationId, String featureCode) {
+        Optional<EntitlementSnapshot> entitlements = entitlementCacheService.get(organizationId);
+        
+        String reason = entitlements.isPresent() ? denyReason(entitlements.get()) : NO_SUBSCRIPTION;
+        if (reason == null && !capabilitiesOf(entitlements.get()).has(featureCode)) {
+            reason = NOT_INCLUDED;
+        }
+        
+        return FeatureAccessResponse.builder()
+            .organizationId(organizationId)
+            .featureCode(featureCode)
+            .enabled(reason == null)
+            .planCode(entitlements.map(EntitlementSnapshot::getPlanCode).orElse(null))
+            .reason(reason)
+            .build();
+    }
+    
+    /**
+     * Verifica varias features de una org.
+     * 
+     * Sin códigos: retorna todas las features habilitadas del plan.
+     */
+    public FeatureAccessBatchResponse getFeatures(Long organizationId, Collection<String> featureCodes) {
+        Optional<EntitlementSnapshot> entitlements = entitlementCacheService.get(organizationId);
+        
+        String reason = entitlements.isPresent() ? denyReason(entitlements.get()) : NO_SUBSCRIPTION;
+        PlanCapabilities capabilities = reason == null ? capabilitiesOf(entitlements.get()) : PlanCapabilities.NONE;
+        
+        List<String> codes = featureCodes == null || featureCodes.isEmpty()
+            ? capabilities.enabledCodes()
+            : List.copyOf(featureCodes);
+        
+        Map<String, Boolean> features = new LinkedHashMap<>();
+        for (String code : codes) {
+            features.put(code, capabilities.has(code));
+        }
+        
+        return FeatureAccessBatchResponse.builder()
+            .organizationId(organizationId)
+            .planCode(entitlements.map(EntitlementSnapshot::getPlanCode).orElse(null))
+            .features(features)
+            .reason(reason)
+            .build();
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    /**
+     * RETORNA: null si la subscription da acceso a sus features.
+     */
+    private String denyReason(EntitlementSnapshot entitlements) {
+        return entitlements.isCanAccess() ? null : NOT_ACTIVE;
+    }
+    
+    private PlanCapabilities capabilitiesOf(EntitlementSnapshot entitlements) {
+        return featureRegistryService.capabilitiesFor(entitlements.getPlanId());
+    }
+}
@@ -0,0 +1,237 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.model.EventOutbox;
+import com.eklesa.subscription.repository.EventOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publicación en SQS de los eventos de event_outbox.
+ * 
+ * RESPONSABILIDADES:
+ * - Reclamar lotes del outbox (cabeza de la cola de cada organización)
+ * - Publicar con SendMessageBatch (10 mensajes por llamada), todas las
+ *   llamadas del lote en paralelo con el cliente async
+ * - Borrar los publicados; reintentar los fallidos con backoff
+ * 
+ * ORDEN: Un lote nunca tiene dos eventos de la misma org, y el siguiente
+ * evento de una org no se reclama hasta que se borró el anterior. En colas
+ * FIFO además se envía MessageGroupId = organizationId.
+ * 
+ * DUPLICADOS: Si el proceso muere entre el envío y el borrado, el evento
+ * se reenvía al vencer el lease. MessageDeduplicationId (FIFO) y el
+ * atributo eventId permiten descartarlo.
+ * 
+ * MÉTRICAS:
+ * - events.outbox.published, events.outbox.failed
+ * - events.outbox.delivery.lag (timer: creación -> publicación)
+ * - events.outbox.pending, events.outbox.oldest.age.seconds (gauges)
+ */
+@Service
+@Slf4j
+public class EventOutboxService {
+    
+    private static final int SQS_BATCH_SIZE = 10;
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final EventOutboxRepository eventOutboxRepository;
+    private final SqsAsyncClient sqsAsyncClient;
+    private final String queueUrl;
+    private final boolean fifo;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer deliveryLag;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+    
+    public EventOutboxService(
+        EventOutboxRepository eventOutboxRepository,
+        SqsAsyncClient sqsAsyncClient,
+        MeterRegistry meterRegistry,
+        @Value("${app.sqs.subscription-events-queue-url}") String queueUrl,
+        @Value("${app.events.outbox.lease:PT2M}") Duration lease,
+        @Value("${app.events.outbox.initial-backoff:PT5S}") Duration initialBackoff,
+        @Value("${app.events.outbox.max-backoff:PT10M}") Duration maxBackoff
+    ) {
+        this.eventOutboxRepository = eventOutboxRepository;
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrl = queueUrl;
+        this.fifo = queueUrl.endsWith(".fifo");
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        
+        this.publishedCounter = Counter.builder("events.outbox.published")
+            .description("Eventos publicados en SQS")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("events.outbox.failed")
+            .description("Publicaciones fallidas (se reintentan)")
+            .register(meterRegistry);
+        this.deliveryLag = Timer.builder("events.outbox.delivery.lag")
+            .description("Tiempo entre el commit del evento y su publicación")
+            .register(meterRegistry);
+        Gauge.builder("events.outbox.pending", pending, AtomicLong::get)
+            .description("Eventos pendientes en event_outbox")
+            .register(meterRegistry);
+        Gauge.builder("events.outbox.oldest.age.seconds", oldestAgeSeconds, AtomicLong::get)
+            .description("Antigüedad del evento pendiente más viejo")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Reclama un lote listo para publicar.
+     * 
+     * LLAMADO POR: EventOutboxRelayJob
+     */
+    public List<EventOutbox> claimBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        return eventOutboxRepository.claimBatch(now, now.plus(lease), batchSize);
+    }
+    
+    /**
+     * Publica un lote reclamado.
+     * 
+     * Sin transacción: las llamadas a SQS no retienen una conexión de la BD.
+     * 
+     * RETORNA: Cantidad publicada.
+     * 
+     * LLAMADO POR: EventOutboxRelayJob
+     */
+    public int publish(List<EventOutbox> batch) {
+        Map<String, EventOutbox> byEntryId = new HashMap<>();
+        List<CompletableFuture<SendMessageBatchResponse>> calls = new ArrayList<>();
+        List<List<EventOutbox>> chunks = new ArrayList<>();
+        
+        for (int from = 0; from < batch.size(); from += SQS_BATCH_SIZE) {
+            List<EventOutbox> chunk = batch.subList(from, Math.min(from + SQS_BATCH_SIZE, batch.size()));
+            List<SendMessageBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+            for (EventOutbox event : chunk) {
+                String entryId = String.valueOf(event.getId());
+                byEntryId.put(entryId, event);
+                entries.add(toEntry(entryId, event));
+            }
+            chunks.add(chunk);
+            calls.add(sqsAsyncClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(entries)
+                .build()));
+        }
+        
+        List<Long> published = new ArrayList<>(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        
+        for (int i = 0; i < calls.size(); i++) {
+            SendMessageBatchResponse response;
+            try {
+                response = calls.get(i).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                chunks.get(i).forEach(event -> markFailed(event, cause.getMessage()));
+                continue;
+            }
+            
+            for (SendMessageBatchResultEntry result : response.successful()) {
+                EventOutbox event = byEntryId.get(result.id());
+                published.add(event.getId());
+                deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+            }
+            for (BatchResultErrorEntry error : response.failed()) {
+                markFailed(byEntryId.get(error.id()), error.code() + ": " + error.message());
+            }
+        }
+        
+        if (!published.isEmpty()) {
+            eventOutboxRepository.deleteByIds(published);
+            publishedCounter.increment(published.size());
+        }
+        return published.size();
+    }
+    
+    /**
+     * Actualiza los gauges de backlog (pendientes y antigüedad).
+     * 
+     * LLAMADO POR: EventOutboxRelayJob al final de cada ciclo
+     */
+    public void refreshBacklogMetrics() {
+        pending.set(eventOutboxRepository.count());
+        LocalDateTime oldest = eventOutboxRepository.findOldestCreatedAt();
+        oldestAgeSeconds.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).toSeconds() : 0);
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private SendMessageBatchRequestEntry toEntry(String entryId, EventOutbox event) {
+        SendMessageBatchRequestEntry.Builder entry = SendMessageBatchRequestEntry.builder()
+            .id(entryId)
+            .messageBody(event.getPayload())
+            .messageAttributes(Map.of(
+                "eventType", stringAttribute(event.getEventType()),
+                "eventId", stringAttribute(event.getEventId())
+            ));
+        
+        if (fifo) {
+            entry.messageGroupId(String.valueOf(event.getOrganizationId()))
+                .messageDeduplicationId(event.getEventId());
+        }
+        return entry.build();
+    }
+    
+    private MessageAttributeValue stringAttribute(String value) {
+        return MessageAttributeValue.builder()
+            .dataType("String")
+            .stringValue(value)
+            .build();
+    }
+    
+    private void markFailed(EventOutbox event, String error) {
+        failedCounter.increment();
+        
+        Duration backoff = backoff(event.getAttempts());
+        String message = String.valueOf(error);
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        
+        eventOutboxRepository.markFailed(event.getId(), LocalDateTime.now().plus(backoff), message);
+        
+        log.warn("Failed to publish event {} ({}) for org {} (attempt {}), retrying in {}: {}",
+            event.getEventId(), event.getEventType(), event.getOrganizationId(),
+            event.getAttempts() + 1, backoff, message);
+    }
+    
+    /**
+     * initialBackoff * 2^attempts, acotado por maxBackoff.
+     */
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
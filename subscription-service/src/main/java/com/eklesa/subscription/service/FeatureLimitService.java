@@ -0,0 +1,353 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.request.ValidateFeatureLimitRequest;
+import com.eklesa.subscription.dto.response.BatchFeatureLimitValidationResponse;
+import com.eklesa.subscription.dto.response.FeatureLimitValidationResponse;
+import com.eklesa.subscription.dto.response.UsageLimitsDTO;
+import com.eklesa.subscription.entitlement.EntitlementSnapshot;
+import com.eklesa.subscription.entitlement.LimitDecision;
+import com.eklesa.subscription.entitlement.LimitEvaluator;
+import com.eklesa.subscription.entitlement.LimitedFeature;
+import com.eklesa.subscription.entitlement.PlanLimits;
+import com.eklesa.subscription.exception.FeatureLimitExceededException;
+import com.eklesa.subscription.model.enums.PlanTier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio para validación de límites de features.
+ * 
+ * RESPONSABILIDADES:
+ * - Validar si una org puede crear más recursos
+ * - Calcular usage percentage
+ * - Retornar información de límites
+ * 
+ * LLAMADO POR: crm-service antes de crear contactos, deals, etc.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeatureLimitService {
+    
+    private final UsageTrackingService usageTrackingService;
+    private final EntitlementCacheService entitlementCacheService;
+    
+    private static final BigDecimal MB_PER_GB = BigDecimal.valueOf(1024);
+    private static final String STORAGE_FEATURE_CODE = "STORAGE_MB";
+    
+    /**
+     * Valida si puede usar una feature.
+     * 
+     * RETORNA:
+     * - allowed: true/false
+     * - reason: si no está permitido
+     * - upgradeMessage: mensaje para mostrar al user
+     * 
+     * HOT PATH: Lee de EntitlementCacheService, normalmente sin ir a la BD.
+     */
+    public FeatureLimitValidationResponse validateFeatureLimit(ValidateFeatureLimitRequest request) {
+        log.debug("Validating feature limit for org: {}, feature: {}", 
+            request.getOrganizationId(), request.getFeatureCode());
+        
+        EntitlementSnapshot entitlements = entitlementCacheService
+            .get(request.getOrganizationId())
+            .orElseThrow(() -> new FeatureLimitExceededException("No active subscription found"));
+        
+        return evaluate(entitlements, request.getFeatureCode(), resolveCurrentCount(entitlements, request), incrementOf(request));
+    }
+    
+    /**
+     * Valida varios límites en una sola llamada.
+     * 
+     * FLOW:
+     * 1. Agrupa los items por organización
+     * 2. Resuelve todas las subscriptions con UNA sola query (solo misses del cache)
+     * 3. Resuelve el uso de los items sin currentCount con UNA sola query
+     * 4. Evalúa cada item con la misma lógica de validateFeatureLimit
+     * 
+     * Los resultados conservan el orden del request. Un item de una org sin
+     * subscription no falla todo el batch: retorna allowed=false.
+     */
+    public BatchFeatureLimitValidationResponse validateFeatureLimits(List<ValidateFeatureLimitRequest> items) {
+        log.debug("Validating {} feature limits in batch", items.size());
+        
+        Set<Long> organizationIds = items.stream()
+            .map(ValidateFeatureLimitRequest::getOrganizationId)
+            .collect(Collectors.toSet());
+        
+        Map<Long, EntitlementSnapshot> entitlementsByOrg = entitlementCacheService.getAll(organizationIds);
+        Map<Long, Map<String, Integer>> usagesBySubscription = resolveMissingCounts(items, entitlementsByOrg);
+        
+        List<FeatureLimitValidationResponse> results = new ArrayList<>(items.size());
+        int allowedCount = 0;
+        
+        for (ValidateFeatureLimitRequest item : items) {
+            EntitlementSnapshot entitlements = entitlementsByOrg.get(item.getOrganizationId());
+            
+            FeatureLimitValidationResponse result = entitlements != null
+                ? evaluate(entitlements, item.getFeatureCode(), currentCountOf(entitlements, item, usagesBySubscription), incrementOf(item))
+                : FeatureLimitValidationResponse.builder()
+                    .allowed(false)
+                    .featureCode(item.getFeatureCode())
+                    .reason("No active subscription found")
+                    .build();
+            
+            if (Boolean.TRUE.equals(result.getAllowed())) {
+                allowedCount++;
+            }
+            results.add(result);
+        }
+        
+        return BatchFeatureLimitValidationResponse.builder()
+            .results(results)
+            .allowedCount(allowedCount)
+            .deniedCount(results.size() - allowedCount)
+            .build();
+    }
+    
+    /**
+     * Evalúa un uso contra la foto de entitlements de la org.
+     * 
+     * USADO TAMBIÉN POR: UsageCounterService para armar la respuesta de reserve.
+     */
+    FeatureLimitValidationResponse evaluate(
+        EntitlementSnapshot entitlements, 
+        String featureCode, 
+        int currentCount, 
+        int incrementBy
+    ) {
+        // Regla compartida con EntitlementClient (misma decisión en el servidor y en los llamadores)
+        LimitDecision decision = LimitEvaluator.decide(
+            !entitlements.isReadOnly() && entitlements.isCanAccess(),
+            entitlements.getLimits(),
+            featureCode,
+            currentCount,
+            incrementBy
+        );
+        
+        switch (decision.outcome()) {
+            case INACTIVE:
+                // Grace period o suspended: no permitir
+                return FeatureLimitValidationResponse.builder()
+                    .allowed(false)
+                    .featureCode(featureCode)
+                    .reason("Subscription is not active")
+                    .upgradeMessage("Tu suscripción ha expirado. Por favor, renueva tu plan para continuar.")
+                    .build();
+            
+            case UNLIMITED:
+                return FeatureLimitValidationResponse.builder()
+                    .allowed(true)
+                    .featureCode(featureCode)
+                    .currentUsage(currentCount)
+                    .maxLimit(null)
+                    .remaining(null)
+                    .usagePercentage(BigDecimal.ZERO)
+                    .build();
+            
+            case EXCEEDED:
+                // Hard limit exceeded (soft limit: 110% del límite)
+                return FeatureLimitValidationResponse.builder()
+                    .allowed(false)
+                    .featureCode(featureCode)
+                    .currentUsage(currentCount)
+                    .maxLimit(decision.maxLimit())
+                    .remaining(0)
+                    .usagePercentage(LimitEvaluator.toPercentage(decision.usageBasisPoints()))
+                    .reason("Feature limit exceeded")
+                    .upgradeMessage(buildUpgradeMessage(
+                        entitlements.getLimits().displayName(decision.feature()), entitlements.getPlanName()))
+                    .recommendedPlan(getRecommendedPlan(entitlements.getPlanTier()))
+                    .build();
+            
+            default:
+                // Permitir pero con warning si está cerca del límite
+                boolean isNearLimit = decision.outcome() == LimitDecision.Outcome.NEAR_LIMIT;
+                
+                return FeatureLimitValidationResponse.builder()
+                    .allowed(true)
+                    .featureCode(featureCode)
+                    .currentUsage(currentCount)
+                    .maxLimit(decision.maxLimit())
+                    .remaining(decision.remaining())
+                    .usagePercentage(LimitEvaluator.toPercentage(decision.usageBasisPoints()))
+                    .upgradeMessage(isNearLimit ? "Estás alcanzando el límite de tu plan. Considera actualizar." : null)
+                    .recommendedPlan(isNearLimit ? getRecommendedPlan(entitlements.getPlanTier()) : null)
+                    .build();
+        }
+    }
+    
+    /**
+     * Obtiene límites actuales de una organización.
+     * 
+     * Entitlements desde el cache + UNA query para el uso de todas las features.
+     * 
+     * USADO EN: Frontend para mostrar usage bars
+     */
+    public UsageLimitsDTO getCurrentLimits(Long organizationId) {
+        log.debug("Getting current limits for org: {}", organizationId);
+        
+        EntitlementSnapshot entitlements = entitlementCacheService
+            .get(organizationId)
+            .orElseThrow(() -> new FeatureLimitExceededException("No active subscription found"));
+        
+        // Usage actual de todas las features en una sola query
+        Map<String, Integer> usages = usageTrackingService.getCurrentUsages(entitlements.getSubscriptionId());
+        
+        int currentContacts = usages.getOrDefault("CONTACTS", 0);
+        int currentUsers = usages.getOrDefault("USERS", 0);
+        int currentPipelines = usages.getOrDefault("PIPELINES", 0);
+        int currentDeals = usages.getOrDefault("DEALS", 0);
+        PlanLimits limits = entitlements.getLimits();
+        BigDecimal currentStorageGb = toGb(usages.getOrDefault(STORAGE_FEATURE_CODE, 0));
+        
+        return UsageLimitsDTO.builder()
+            // Contacts
+            .maxContacts(limits.maxLimitOrNull(LimitedFeature.CONTACTS.index()))
+            .currentContacts(currentContacts)
+            .canCreateContact(canCreate(currentContacts, limits, LimitedFeature.CONTACTS.index()))
+            .contactsRemaining(calculateRemaining(currentContacts, limits, LimitedFeature.CONTACTS.index()))
+            
+            // Users
+            .maxUsers(limits.maxLimitOrNull(LimitedFeature.USERS.index()))
+            .currentUsers(currentUsers)
+            .canCreateUser(canCreate(currentUsers, limits, LimitedFeature.USERS.index()))
+            .usersRemaining(calculateRemaining(currentUsers, limits, LimitedFeature.USERS.index()))
+            
+            // Pipelines
+            .maxPipelines(limits.maxLimitOrNull(LimitedFeature.PIPELINES.index()))
+            .currentPipelines(currentPipelines)
+            .canCreatePipeline(canCreate(currentPipelines, limits, LimitedFeature.PIPELINES.index()))
+            
+            // Deals
+            .maxDeals(limits.maxLimitOrNull(LimitedFeature.DEALS.index()))
+            .currentDeals(currentDeals)
+            .canCreateDeal(canCreate(currentDeals, limits, LimitedFeature.DEALS.index()))
+            
+            // Storage
+            .maxStorageGb(entitlements.getMaxStorageGb())
+            .currentStorageGb(currentStorageGb)
+            .hasStorageAvailable(hasStorageAvailable(currentStorageGb, entitlements.getMaxStorageGb()))
+            
+            // General
+            .planCode(entitlements.getPlanCode())
+            .planName(entitlements.getPlanName())
+            .isReadOnly(entitlements.isReadOnly())
+            .build();
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    /**
+     * Soft limit de una feature para la org (null = ilimitado).
+     */
+    Integer getSoftLimit(EntitlementSnapshot entitlements, String featureCode) {
+        PlanLimits limits = entitlements.getLimits();
+        return limits.softLimitOrNull(limits.indexOf(featureCode));
+    }
+    
+    /**
+     * Si el request no trae currentCount, usa el contador del servidor.
+     */
+    private int resolveCurrentCount(EntitlementSnapshot entitlements, ValidateFeatureLimitRequest request) {
+        if (request.getCurrentCount() != null) {
+            return request.getCurrentCount();
+        }
+        return usageTrackingService.getCurrentUsage(entitlements.getSubscriptionId(), request.getFeatureCode());
+    }
+    
+    /**
+     * Uso del servidor para los items del batch sin currentCount.
+     * 
+     * NOTA: Una sola query agrupada por (subscription_id, feature_code);
+     * resolver item por item sería N+1.
+     */
+    private Map<Long, Map<String, Integer>> resolveMissingCounts(List<ValidateFeatureLimitRequest> items,
+                                                                 Map<Long, EntitlementSnapshot> entitlementsByOrg) {
+        Set<Long> subscriptionIds = new HashSet<>();
+        Set<String> featureCodes = new HashSet<>();
+        
+        for (ValidateFeatureLimitRequest item : items) {
+            EntitlementSnapshot entitlements = entitlementsByOrg.get(item.getOrganizationId());
+            if (item.getCurrentCount() == null && entitlements != null) {
+                subscriptionIds.add(entitlements.getSubscriptionId());
+                featureCodes.add(item.getFeatureCode());
+            }
+        }
+        
+        if (subscriptionIds.isEmpty()) {
+            return Map.of();
+        }
+        return usageTrackingService.getCurrentUsages(subscriptionIds, featureCodes);
+    }
+    
+    private int currentCountOf(EntitlementSnapshot entitlements, ValidateFeatureLimitRequest request,
+                               Map<Long, Map<String, Integer>> usagesBySubscription) {
+        if (request.getCurrentCount() != null) {
+            return request.getCurrentCount();
+        }
+        return usagesBySubscription
+            .getOrDefault(entitlements.getSubscriptionId(), Map.of())
+            .getOrDefault(request.getFeatureCode().toUpperCase(), 0);
+    }
+    
+    private int incrementOf(ValidateFeatureLimitRequest request) {
+        return request.getIncrementBy() != null ? request.getIncrementBy() : 1;
+    }
+    
+    private boolean canCreate(int current, PlanLimits limits, int feature) {
+        if (limits.isUnlimited(feature)) {
+            return true; // Unlimited
+        }
+        return current < limits.softLimit(feature);
+    }
+    
+    private boolean hasStorageAvailable(BigDecimal currentGb, Integer maxGb) {
+        if (maxGb == null) {
+            return true; // Unlimited
+        }
+        return currentGb.compareTo(BigDecimal.valueOf(maxGb)) < 0;
+    }
+    
+    private BigDecimal toGb(int megabytes) {
+        return BigDecimal.valueOf(megabytes).divide(MB_PER_GB, 2, RoundingMode.HALF_UP);
+    }
+    
+    private Integer calculateRemaining(int current, PlanLimits limits, int feature) {
+        if (limits.isUnlimited(feature)) {
+            return null; // Unlimited
+        }
+        return LimitEvaluator.remaining(current, limits.maxLimit(feature));
+    }
+    
+    private String buildUpgradeMessage(String featureName, String planName) {
+        return String.format(
+            "Has alcanzado el límite de %s de tu plan %s. Actualiza a un plan superior para continuar.",
+            featureName,
+            planName
+        );
+    }
+    
+    private String getRecommendedPlan(PlanTier currentTier) {
+        switch (currentTier) {
+            case STARTER:
+                return "PROFESSIONAL";
+            case PROFESSIONAL:
+                return "ENTERPRISE";
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.entitlement.FeatureRegistry;
+import com.eklesa.subscription.entitlement.PlanCapabilities;
+import com.eklesa.subscription.entitlement.PlanLimits;
+import com.eklesa.subscription.model.Plan;
+import com.eklesa.subscription.repository.PlanRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registro de límites compilado desde plans + plan_features.
+ * 
+ * RESPONSABILIDADES:
+ * - Compilar límites (tablas de enteros) y capabilities (bitsets) de todos los planes
+ * - Publicar el registro nuevo con un swap atómico (referencia volatile)
+ * - Recompilar solo cuando cambian plans/plan_features (misma huella que PlanCatalogService)
+ * 
+ * NOTA: Las fotos de EntitlementCacheService guardan la PlanLimits del
+ * registro vigente al cargarlas. Después de un cambio de límites, el TTL
+ * del cache acota cuánto tiempo se sigue usando la anterior.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeatureRegistryService {
+    
+    private final PlanRepository planRepository;
+    
+    private final ReentrantLock loadLock = new ReentrantLock();
+    
+    private volatile FeatureRegistry registry;
+    
+    /**
+     * Obtiene el registro actual (lo compila si aún no existe).
+     */
+    public FeatureRegistry getRegistry() {
+        FeatureRegistry current = registry;
+        if (current == null) {
+            // ReentrantLock y no synchronized: la primera carga hace I/O a la BD
+            // y un monitor retenido fija (pin) el virtual thread a su carrier
+            loadLock.lock();
+            try {
+                if (registry == null) {
+                    registry = compile(planRepository.getCatalogFingerprint());
+                }
+                current = registry;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Límites compilados del plan de una subscription.
+     * 
+     * USADO POR: EntitlementCacheService al armar cada foto
+     */
+    public PlanLimits limitsFor(Plan plan) {
+        return getRegistry().limitsFor(plan);
+    }
+    
+    /**
+     * Capabilities compiladas de un plan.
+     * 
+     * Un plan creado después de la última compilación fuerza un chequeo
+     * de huella (y recompilación) antes de responder.
+     * 
+     * USADO POR: EntitlementService
+     */
+    public PlanCapabilities capabilitiesFor(Long planId) {
+        FeatureRegistry current = getRegistry();
+        if (!current.contains(planId)) {
+            refreshIfChanged();
+            current = getRegistry();
+        }
+        return current.capabilitiesFor(planId);
+    }
+    
+    /**
+     * Compila el registro al arrancar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            getRegistry();
+        } catch (Exception e) {
+            // Se reintenta en el primer request / siguiente refresh
+            log.error("Error compiling feature registry on startup", e);
+        }
+    }
+    
+    /**
+     * Recompila el registro si cambiaron los planes.
+     */
+    @Scheduled(fixedDelayString = "${app.plans.catalog.refresh-interval-ms:60000}")
+    public void refreshIfChanged() {
+        try {
+            String fingerprint = planRepository.getCatalogFingerprint();
+            FeatureRegistry current = registry;
+            
+            if (current == null || !Objects.equals(current.getFingerprint(), fingerprint)) {
+                registry = compile(fingerprint);
+                log.info("Feature registry compiled ({} plans, {} limited features, {} capabilities)",
+                    registry.getPlanCount(), registry.getFeatures().size(), registry.getCapabilities().size());
+            }
+        } catch (Exception e) {
+            // Se sigue usando el registro anterior
+            log.error("Error refreshing feature registry", e);
+        }
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private FeatureRegistry compile(String fingerprint) {
+        // Planes + features en UNA query
+        return FeatureRegistry.compile(planRepository.findAllWithFeatures(), fingerprint);
+    }
+}
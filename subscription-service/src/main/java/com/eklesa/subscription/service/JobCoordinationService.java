@@ -0,0 +1,183 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.repository.SchedulerInstanceRepository;
+import com.eklesa.subscription.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Coordinación de scheduled jobs entre instancias (Postgres).
+ * 
+ * RESPONSABILIDADES:
+ * - Heartbeat de la instancia en scheduler_instances
+ * - runExclusive: el job corre en UNA instancia (lease en scheduler_leases)
+ * - runSharded: las organizaciones se parten en un shard por instancia viva
+ *   (organization_id % count = index), cada uno con su lease; agregar
+ *   instancias reparte el trabajo
+ * 
+ * LEASES:
+ * - max-lease: si la instancia muere, el lease vence solo
+ * - min-lease: al terminar el lease se conserva hasta locked_at + min-lease,
+ *   para que un cron que dispara tarde en otra instancia no repita el job
+ * 
+ * NOTA: Mientras cambia la cantidad de instancias (deploy, scale-out) dos
+ * instancias pueden ver membresías distintas y solapar shards por una
+ * corrida. Los jobs sharded deben ser idempotentes.
+ * 
+ * USADO POR: TrialReminderJob, UsageRecordJob, UsagePartitionMaintenanceJob,
+ * EntitlementChangeRetentionJob
+ */
+@Service
+@Slf4j
+public class JobCoordinationService {
+    
+    private final SchedulerInstanceRepository schedulerInstanceRepository;
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final String instanceId;
+    private final Duration instanceTtl;
+    private final Duration maxLease;
+    private final Duration minLease;
+    
+    public JobCoordinationService(
+        SchedulerInstanceRepository schedulerInstanceRepository,
+        SchedulerLeaseRepository schedulerLeaseRepository,
+        @Value("${app.scheduler.coordination.instance-ttl:PT30S}") Duration instanceTtl,
+        @Value("${app.scheduler.coordination.max-lease:PT30M}") Duration maxLease,
+        @Value("${app.scheduler.coordination.min-lease:PT5M}") Duration minLease
+    ) {
+        this.schedulerInstanceRepository = schedulerInstanceRepository;
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.instanceId = UUID.randomUUID().toString();
+        this.instanceTtl = instanceTtl;
+        this.maxLease = maxLease;
+        this.minLease = minLease;
+    }
+    
+    /**
+     * Shard de organizaciones asignado a esta instancia.
+     */
+    public record JobShard(int index, int count) {
+        
+        public static final JobShard ALL = new JobShard(0, 1);
+        
+        public boolean contains(Long organizationId) {
+            return Math.floorMod(organizationId, count) == index;
+        }
+        
+        @Override
+        public String toString() {
+            return index + "/" + count;
+        }
+    }
+    
+    // ============================================
+    // EJECUCIÓN
+    // ============================================
+    
+    /**
+     * Ejecuta el job solo si esta instancia obtiene su lease.
+     * 
+     * RETORNA: false si otra instancia lo tiene (no se ejecutó).
+     */
+    public boolean runExclusive(String jobName, Runnable task) {
+        if (schedulerLeaseRepository.tryAcquire(jobName, instanceId, maxLease.toSeconds()) == 0) {
+            log.info("Skipping {}: running on another instance", jobName);
+            return false;
+        }
+        
+        try {
+            task.run();
+            return true;
+        } finally {
+            schedulerLeaseRepository.release(jobName, instanceId, minLease.toSeconds());
+        }
+    }
+    
+    /**
+     * Ejecuta todos los shards que no tenga otra instancia, con un lease por
+     * shard.
+     * 
+     * Empieza por el shard de esta instancia y sigue con los demás: si todas
+     * corren, cada una toma el suyo y encuentra tomados los otros (min-lease).
+     * Si una instancia figura viva pero no corre (cron pausado, colgada,
+     * aún arrancando), su shard lo toma la primera que termine el propio.
+     * 
+     * RETORNA: cantidad de shards que ejecutó esta instancia.
+     */
+    public int runSharded(String jobName, Consumer<JobShard> task) {
+        JobShard own = currentShard();
+        int ran = 0;
+        
+        for (int offset = 0; offset < own.count(); offset++) {
+            JobShard shard = new JobShard((own.index() + offset) % own.count(), own.count());
+            
+            if (runExclusive(jobName + "#" + shard, () -> {
+                log.info("Running {} for shard {}", jobName, shard);
+                task.accept(shard);
+            })) {
+                ran++;
+            }
+        }
+        
+        return ran;
+    }
+    
+    /**
+     * Shard propio según las instancias vivas (el primero que intenta
+     * runSharded).
+     * 
+     * Si esta instancia aún no aparece (primer heartbeat pendiente), se
+     * registra antes de calcular.
+     */
+    public JobShard currentShard() {
+        List<String> live = schedulerInstanceRepository.findLiveInstanceIds(instanceTtl.toSeconds());
+        int index = live.indexOf(instanceId);
+        
+        if (index < 0) {
+            heartbeat();
+            live = schedulerInstanceRepository.findLiveInstanceIds(instanceTtl.toSeconds());
+            index = live.indexOf(instanceId);
+        }
+        
+        return index < 0 ? JobShard.ALL : new JobShard(index, live.size());
+    }
+    
+    // ============================================
+    // HEARTBEAT
+    // ============================================
+    
+    /**
+     * Renueva el heartbeat y limpia instancias muertas.
+     * 
+     * SCHEDULE: heartbeat-interval-ms (menor que instance-ttl)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.scheduler.coordination.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        schedulerInstanceRepository.heartbeat(instanceId);
+        schedulerInstanceRepository.deleteStale(instanceTtl.multipliedBy(10).toSeconds());
+    }
+    
+    /**
+     * Sale de la lista de instancias al apagar: las demás toman sus shards
+     * sin esperar instance-ttl.
+     */
+    @PreDestroy
+    public void deregister() {
+        try {
+            schedulerInstanceRepository.deleteByInstanceId(instanceId);
+        } catch (Exception e) {
+            log.warn("Failed to deregister scheduler instance {}: {}", instanceId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.enums.EmailTemplate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.ses.SesClient;
+import software.amazon.awssdk.services.ses.model.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Servicio para envío de notificaciones.
+ * 
+ * RESPONSABILIDADES:
+ * - Enviar emails via AWS SES con templates guardados en SES
+ * - Sincronizar los templates (resources/email-templates) al arrancar
+ * - Envío masivo (SendBulkTemplatedEmail) para las olas de los jobs
+ * 
+ * ENVÍO MASIVO: Hasta 50 destinatarios por llamada, cada uno con sus
+ * propias variables (replacementTemplateData). Un recordatorio a 5.000
+ * trials son 100 llamadas a SES en lugar de 5.000.
+ * 
+ * MÉTRICAS:
+ * - notifications.sent, notifications.failed (tag template)
+ * 
+ * NOTA: app.ses.endpoint permite apuntar a un SES local (LocalStack, ver
+ * docker-compose.yml).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationService {
+    
+    private static final int BULK_MAX_DESTINATIONS = 50;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    
+    private final SesClient sesClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${app.email.from}")
+    private String fromEmail;
+    
+    @Value("${app.frontend-url}")
+    private String frontendUrl;
+    
+    @Value("${app.email.templates.prefix:eklesa-}")
+    private String templatePrefix;
+    
+    @Value("${app.email.templates.sync-on-startup:true}")
+    private boolean syncTemplatesOnStartup;
+    
+    /**
+     * Envía notificación de trial iniciado.
+     */
+    public void sendTrialStartedEmail(String toEmail, Subscription subscription) {
+        log.info("Sending trial started email to: {}", toEmail);
+        
+        sendEmail(toEmail, EmailTemplate.TRIAL_STARTED, Map.of(
+            "trialEndDate", formatDate(subscription.getTrialEndDate())
+        ));
+    }
+    
+    /**
+     * Envía recordatorio de trial próximo a expirar.
+     */
+    public void sendTrialExpiringEmail(String toEmail, Subscription subscription, long daysLeft) {
+        log.info("Sending trial expiring email to: {}, days left: {}", toEmail, daysLeft);
+        
+        sendEmail(toEmail, EmailTemplate.TRIAL_EXPIRING, Map.of(
+            "daysLeft", daysLeft,
+            "trialEndDate", formatDate(subscription.getTrialEndDate())
+        ));
+    }
+    
+    /**
+     * Envía notificación de trial expirado.
+     */
+    public void sendTrialExpiredEmail(String toEmail, Subscription subscription) {
+        log.info("Sending trial expired email to: {}", toEmail);
+        
+        sendEmail(toEmail, EmailTemplate.TRIAL_EXPIRED, Map.of());
+    }
+    
+    /**
+     * Envía confirmación de suscripción activada.
+     */
+    public void sendSubscriptionActivatedEmail(String toEmail, Subscription subscription) {
+        log.info("Sending subscription activated email to: {}", toEmail);
+        
+        sendEmail(toEmail, EmailTemplate.SUBSCRIPTION_ACTIVATED, Map.of(
+            "planName", subscription.getPlan().getName()
+        ));
+    }
+    
+    /**
+     * Envía notificación de pago fallido.
+     */
+    public void sendPaymentFailedEmail(String toEmail, Subscription subscription) {
+        log.error("Sending payment failed email to: {}", toEmail);
+        
+        sendEmail(toEmail, EmailTemplate.PAYMENT_FAILED, Map.of());
+    }
+    
+    // ============================================
+    // BULK SENDING
+    // ============================================
+    
+    /**
+     * Envía el recordatorio de trial a una ola de subscriptions.
+     * 
+     * RETORNA: Emails aceptados por SES y subscriptions cuyo email falló
+     * (error de SES o status distinto de SUCCESS).
+     * 
+     * LLAMADO POR: TrialReminderJob
+     */
+    public BulkEmailResult sendTrialExpiringEmails(List<Subscription> subscriptions, long daysLeft) {
+        log.info("Sending {} trial expiring emails, days left: {}", subscriptions.size(), daysLeft);
+        
+        return sendBulkEmail(EmailTemplate.TRIAL_EXPIRING, subscriptions, Map.of("daysLeft", daysLeft),
+            subscription -> Map.of("trialEndDate", formatDate(subscription.getTrialEndDate())));
+    }
+    
+    /**
+     * Envía la notificación de trial expirado a una ola de subscriptions.
+     * 
+     * RETORNA: Cantidad de emails aceptados por SES.
+     * 
+     * LLAMADO POR: TrialExpirationJob
+     */
+    public int sendTrialExpiredEmails(List<Subscription> subscriptions) {
+        log.info("Sending {} trial expired emails", subscriptions.size());
+        
+        return sendBulkEmail(EmailTemplate.TRIAL_EXPIRED, subscriptions, Map.of(), subscription -> Map.of()).sent();
+    }
+    
+    // ============================================
+    // TEMPLATES
+    // ============================================
+    
+    /**
+     * Crea o actualiza en SES los templates de resources/email-templates.
+     * 
+     * Un fallo no detiene el arranque (SES puede no estar configurado en
+     * el ambiente); los envíos fallarán y quedarán en el log.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncTemplates() {
+        if (!syncTemplatesOnStartup) {
+            return;
+        }
+        
+        for (EmailTemplate emailTemplate : EmailTemplate.values()) {
+            Template template = Template.builder()
+                .templateName(templateName(emailTemplate))
+                .subjectPart(emailTemplate.getSubject())
+                .htmlPart(loadHtml(emailTemplate))
+                .build();
+            
+            try {
+                try {
+                    sesClient.updateTemplate(UpdateTemplateRequest.builder().template(template).build());
+                } catch (TemplateDoesNotExistException e) {
+                    sesClient.createTemplate(CreateTemplateRequest.builder().template(template).build());
+                }
+                log.info("Synced email template: {}", template.templateName());
+            } catch (Exception e) {
+                log.warn("Failed to sync email template {}: {}", template.templateName(), e.getMessage());
+            }
+        }
+    }
+    
+    // ============================================
+    // EMAIL SENDING
+    // ============================================
+    
+    private void sendEmail(String toEmail, EmailTemplate template, Map<String, Object> templateData) {
+        try {
+            SendTemplatedEmailRequest request = SendTemplatedEmailRequest.builder()
+                .source(fromEmail)
+                .destination(Destination.builder()
+                    .toAddresses(toEmail)
+                    .build())
+                .template(templateName(template))
+                .templateData(toJson(withDefaults(templateData)))
+                .build();
+            
+            sesClient.sendTemplatedEmail(request);
+            meterRegistry.counter("notifications.sent", "template", template.getSlug()).increment();
+            
+            log.info("Email sent successfully to: {}", toEmail);
+            
+        } catch (Exception e) {
+            meterRegistry.counter("notifications.failed", "template", template.getSlug()).increment();
+            log.error("Failed to send email to: {}", toEmail, e);
+        }
+    }
+    
+    /**
+     * SendBulkTemplatedEmail en bloques de 50 destinatarios.
+     * 
+     * Un bloque fallido no detiene los siguientes. Las subscriptions sin
+     * email de notificación se omiten (no cuentan como fallidas).
+     */
+    private BulkEmailResult sendBulkEmail(
+        EmailTemplate template,
+        List<Subscription> subscriptions,
+        Map<String, Object> sharedData,
+        Function<Subscription, Map<String, Object>> recipientData
+    ) {
+        List<BulkEmailDestination> destinations = new ArrayList<>(subscriptions.size());
+        // Mismo orden que destinations (y que response.status())
+        List<Subscription> recipients = new ArrayList<>(subscriptions.size());
+        for (Subscription subscription : subscriptions) {
+            String email = subscription.getNotificationEmail();
+            if (email == null) {
+                log.debug("No recipient for org: {}, skipping notification", subscription.getOrganizationId());
+                continue;
+            }
+            destinations.add(BulkEmailDestination.builder()
+                .destination(Destination.builder().toAddresses(email).build())
+                .replacementTemplateData(toJson(recipientData.apply(subscription)))
+                .build());
+            recipients.add(subscription);
+        }
+        
+        String defaultTemplateData = toJson(withDefaults(sharedData));
+        int sent = 0;
+        List<Subscription> failed = new ArrayList<>();
+        
+        for (int from = 0; from < destinations.size(); from += BULK_MAX_DESTINATIONS) {
+            List<BulkEmailDestination> chunk =
+                destinations.subList(from, Math.min(from + BULK_MAX_DESTINATIONS, destinations.size()));
+            
+            try {
+                SendBulkTemplatedEmailResponse response = sesClient.sendBulkTemplatedEmail(
+                    SendBulkTemplatedEmailRequest.builder()
+                        .source(fromEmail)
+                        .template(templateName(template))
+                        .defaultTemplateData(defaultTemplateData)
+                        .destinations(chunk)
+                        .build());
+                
+                List<BulkEmailDestinationStatus> statuses = response.status();
+                for (int i = 0; i < chunk.size(); i++) {
+                    BulkEmailDestinationStatus status = i < statuses.size() ? statuses.get(i) : null;
+                    if (status != null && status.status() == BulkEmailStatus.SUCCESS) {
+                        sent++;
+                    } else {
+                        failed.add(recipients.get(from + i));
+                        log.warn("Bulk email {} rejected: {} {}", template.getSlug(),
+                            status != null ? status.status() : null, status != null ? status.error() : null);
+                    }
+                }
+            } catch (Exception e) {
+                failed.addAll(recipients.subList(from, from + chunk.size()));
+                log.error("Failed to send bulk email {} to {} recipients", template.getSlug(), chunk.size(), e);
+            }
+        }
+        
+        meterRegistry.counter("notifications.sent", "template", template.getSlug()).increment(sent);
+        meterRegistry.counter("notifications.failed", "template", template.getSlug()).increment(failed.size());
+        
+        log.info("Bulk email {} completed. Sent: {}, failed: {}, skipped: {}",
+            template.getSlug(), sent, failed.size(), subscriptions.size() - destinations.size());
+        
+        return new BulkEmailResult(sent, failed);
+    }
+    
+    /**
+     * Resultado de un envío masivo.
+     * 
+     * sent: emails aceptados por SES. failed: subscriptions cuyo email no
+     * se envió (para liberar lo registrado y reintentar).
+     */
+    public record BulkEmailResult(int sent, List<Subscription> failed) {
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private String templateName(EmailTemplate template) {
+        return templatePrefix + template.getSlug();
+    }
+    
+    private Map<String, Object> withDefaults(Map<String, Object> templateData) {
+        Map<String, Object> data = new HashMap<>(templateData);
+        data.putIfAbsent("frontendUrl", frontendUrl);
+        return data;
+    }
+    
+    private String toJson(Map<String, Object> templateData) {
+        try {
+            return objectMapper.writeValueAsString(templateData);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize email template data", e);
+        }
+    }
+    
+    private String formatDate(LocalDateTime date) {
+        return date != null ? date.format(DATE_FORMAT) : "";
+    }
+    
+    private String loadHtml(EmailTemplate template) {
+        ClassPathResource resource = new ClassPathResource("email-templates/" + template.getSlug() + ".html");
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Email template not found: " + template.getSlug(), e);
+        }
+    }
+}
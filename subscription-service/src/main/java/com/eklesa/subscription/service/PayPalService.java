@@ -1,10 +1,13 @@
 package com.eklesa.subscription.service;
 
+import com.eklesa.subscription.client.PayPalApiContextProvider;
 import com.eklesa.subscription.dto.request.CreatePayPalSubscriptionRequest;
 import com.eklesa.subscription.dto.response.PayPalCheckoutResponse;
+import com.eklesa.subscription.event.publisher.SubscriptionEventPublisher;
 import com.eklesa.subscription.exception.PaymentProcessingException;
 import com.eklesa.subscription.model.Plan;
 import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.enums.EntitlementChangeType;
 import com.eklesa.subscription.repository.SubscriptionRepository;
 import com.eklesa.subscription.util.PayPalWebhookValidator;
 import com.paypal.api.payments.*;
@@ -15,6 +18,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -36,11 +40,14 @@ import java.util.*;
 @Slf4j
 public class PayPalService {
     
-    private final APIContext apiContext;
+    private final PayPalApiContextProvider apiContextProvider;
     private final SubscriptionRepository subscriptionRepository;
     private final SubscriptionService subscriptionService;
     private final PlanService planService;
     private final PayPalWebhookValidator webhookValidator;
+    private final EntitlementChangeService entitlementChangeService;
+    private final AuthSyncOutboxService authSyncOutboxService;
+    private final SubscriptionEventPublisher eventPublisher;
     
     @Value("${app.frontend-url}")
     private String frontendUrl;
@@ -96,7 +103,7 @@ public class PayPalService {
             // --- PASO 3: Crear el Agreement en PayPal ---
             
             // Esta es la llamada a la API de PayPal que puede lanzar las excepciones
-            Agreement createdAgreement = agreement.create(apiContext);
+            Agreement createdAgreement = agreement.create(apiContextProvider.get());
             
             // --- PASO 4: Extraer la URL de aprobación de la respuesta ---
 
@@ -152,7 +159,7 @@ public class PayPalService {
             // Ejecutar agreement
             Agreement agreement = new Agreement();
             agreement.setToken(token);
-            Agreement executedAgreement = agreement.execute(apiContext, agreement.getToken());
+            Agreement executedAgreement = agreement.execute(apiContextProvider.get(), agreement.getToken());
             
             // Obtener subscription de BD
             Subscription subscription = subscriptionRepository
@@ -188,6 +195,7 @@ public class PayPalService {
         log.info("Canceling PayPal subscription: {}", paypalSubscriptionId);
         
         try {
+            APIContext apiContext = apiContextProvider.get();
             Agreement agreement = Agreement.get(apiContext, paypalSubscriptionId);
             
             AgreementStateDescriptor stateDescriptor = new AgreementStateDescriptor();
@@ -211,7 +219,11 @@ public class PayPalService {
      * - BILLING.SUBSCRIPTION.CANCELLED
      * - PAYMENT.SALE.COMPLETED
      * - PAYMENT.SALE.DENIED
+     * 
+     * TRANSACCIONAL: El cambio de la subscription y su registro en
+     * entitlement_changes hacen commit juntos.
      */
+    @Transactional
     public void processWebhook(Map<String, Object> payload, Map<String, String> headers) {
         log.info("Processing PayPal webhook");
         
@@ -274,6 +286,9 @@ public class PayPalService {
             .ifPresent(subscription -> {
                 subscription.cancel();
                 subscriptionRepository.save(subscription);
+                entitlementChangeService.recordChange(subscription, EntitlementChangeType.CANCELED);
+                authSyncOutboxService.enqueue(subscription);
+                eventPublisher.publishSubscriptionCanceled(subscription, "Canceled in PayPal");
                 log.info("Subscription canceled via webhook: {}", subscription.getId());
             });
     }
@@ -301,6 +316,9 @@ public class PayPalService {
             .ifPresent(subscription -> {
                 subscription.setStatus(com.eklesa.subscription.model.enums.SubscriptionStatus.PAST_DUE);
                 subscriptionRepository.save(subscription);
+                entitlementChangeService.recordChange(subscription, EntitlementChangeType.PAST_DUE);
+                authSyncOutboxService.enqueue(subscription);
+                eventPublisher.publishPaymentFailed(subscription, "PAYMENT.SALE.DENIED");
                 log.error("Subscription marked as PAST_DUE: {}", subscription.getId());
             });
     }
@@ -0,0 +1,169 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.catalog.PlanCatalog;
+import com.eklesa.subscription.dto.response.PlanDTO;
+import com.eklesa.subscription.exception.SubscriptionException;
+import com.eklesa.subscription.model.Plan;
+import com.eklesa.subscription.repository.PlanRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Catálogo de planes pre-calculado.
+ * 
+ * RESPONSABILIDADES:
+ * - Materializar los planes activos (features + precios formateados) UNA vez
+ * - Servir el DTO de plan de las subscriptions sin ir a la BD
+ * - Serializar el JSON de GET /api/plans y calcular su ETag
+ * - Reconstruir solo cuando cambian plans/plan_features (chequeo periódico de huella)
+ * 
+ * Los requests leen una referencia volatile: sin BD, sin locks, sin mapping.
+ * Los DTOs del catálogo son compartidos: no modificarlos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlanCatalogService {
+    
+    private final PlanRepository planRepository;
+    private final PlanService planService;
+    private final ObjectMapper objectMapper;
+    
+    private final ReentrantLock loadLock = new ReentrantLock();
+    
+    private volatile PlanCatalog catalog;
+    
+    /**
+     * Obtiene el catálogo actual (lo construye si aún no existe).
+     */
+    public PlanCatalog getCatalog() {
+        PlanCatalog current = catalog;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                if (catalog == null) {
+                    catalog = build(planRepository.getCatalogFingerprint());
+                }
+                current = catalog;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Obtiene el plan destacado.
+     */
+    public PlanDTO getFeaturedPlan() {
+        PlanDTO featured = getCatalog().getFeaturedPlan();
+        if (featured == null) {
+            throw new SubscriptionException("No featured plan found");
+        }
+        return featured;
+    }
+    
+    /**
+     * Obtiene el DTO de un plan.
+     * 
+     * Planes activos: DTO del catálogo (sin queries). Planes inactivos
+     * (subscriptions legacy): se mapean desde la entidad.
+     * 
+     * USADO POR: SubscriptionService.mapToDTO
+     */
+    public PlanDTO getPlanDTO(Plan plan) {
+        PlanDTO dto = getCatalog().getPlansByCode().get(plan.getCode());
+        return dto != null ? dto : planService.mapToDTO(plan);
+    }
+    
+    /**
+     * Construye el catálogo al arrancar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            getCatalog();
+        } catch (Exception e) {
+            // Se reintenta en el primer request / siguiente refresh
+            log.error("Error building plan catalog on startup", e);
+        }
+    }
+    
+    /**
+     * Reconstruye el catálogo si cambiaron los planes.
+     * 
+     * La huella (count + último created/updated_at) es una query barata;
+     * el catálogo solo se reconstruye cuando cambia.
+     */
+    @Scheduled(fixedDelayString = "${app.plans.catalog.refresh-interval-ms:60000}")
+    public void refreshIfChanged() {
+        try {
+            String fingerprint = planRepository.getCatalogFingerprint();
+            PlanCatalog current = catalog;
+            
+            if (current == null || !Objects.equals(current.getFingerprint(), fingerprint)) {
+                catalog = build(fingerprint);
+                log.info("Plan catalog rebuilt ({} plans, etag: {})", catalog.getPlans().size(), catalog.getEtag());
+            }
+        } catch (Exception e) {
+            // Se sigue sirviendo el catálogo anterior
+            log.error("Error refreshing plan catalog", e);
+        }
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private PlanCatalog build(String fingerprint) {
+        // Planes + features en UNA query
+        List<Plan> plans = planRepository.findActiveWithFeatures();
+        
+        List<PlanDTO> dtos = new ArrayList<>(plans.size());
+        Map<String, PlanDTO> byCode = new LinkedHashMap<>();
+        PlanDTO featured = null;
+        
+        for (Plan plan : plans) {
+            PlanDTO dto = planService.mapToDTO(plan);
+            dtos.add(dto);
+            byCode.put(dto.getCode(), dto);
+            if (Boolean.TRUE.equals(dto.getIsFeatured())) {
+                featured = dto;
+            }
+        }
+        
+        byte[] json = serialize(dtos);
+        
+        return PlanCatalog.builder()
+            .plans(Collections.unmodifiableList(dtos))
+            .plansByCode(Collections.unmodifiableMap(byCode))
+            .featuredPlan(featured)
+            .plansJson(json)
+            .etag("\"" + DigestUtils.md5DigestAsHex(json) + "\"")
+            .fingerprint(fingerprint)
+            .build();
+    }
+    
+    private byte[] serialize(List<PlanDTO> plans) {
+        try {
+            return objectMapper.writeValueAsBytes(plans);
+        } catch (JsonProcessingException e) {
+            throw new SubscriptionException("Error serializing plan catalog", e);
+        }
+    }
+}
@@ -6,7 +6,6 @@ import com.eklesa.subscription.exception.SubscriptionException;
 import com.eklesa.subscription.model.Plan;
 import com.eklesa.subscription.model.PlanFeature;
 import com.eklesa.subscription.model.enums.PlanTier;
-import com.eklesa.subscription.repository.PlanFeatureRepository;
 import com.eklesa.subscription.repository.PlanRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.text.NumberFormat;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
@@ -22,33 +22,21 @@ import java.util.stream.Collectors;
  * Servicio para gestión de planes.
  * 
  * RESPONSABILIDADES:
- * - Obtener planes disponibles
+ * - Obtener planes por código/tier
  * - Mapear a DTOs con features
  * - Formatear precios
+ * 
+ * NOTA: El listado público de planes sale de PlanCatalogService
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PlanService {
     
-    private final PlanRepository planRepository;
-    private final PlanFeatureRepository planFeatureRepository;
+    private static final Comparator<PlanFeature> FEATURE_ORDER =
+        Comparator.comparing(PlanFeature::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder()));
     
-    /**
-     * Obtiene todos los planes activos.
-     * 
-     * USADO EN: PricingPage del frontend
-     */
-    @Transactional(readOnly = true)
-    public List<PlanDTO> getAllActivePlans() {
-        log.debug("Fetching all active plans");
-        
-        List<Plan> plans = planRepository.findByActiveTrueOrderBySortOrder();
-        
-        return plans.stream()
-            .map(this::mapToDTO)
-            .collect(Collectors.toList());
-    }
+    private final PlanRepository planRepository;
     
     /**
      * Obtiene plan por código.
@@ -60,31 +48,25 @@ public class PlanService {
     }
     
     /**
-     * Obtiene plan por tier.
+     * Obtiene el plan de entrada de un tier (primero por sort_order).
      */
     @Transactional(readOnly = true)
     public Plan getPlanByTier(PlanTier tier) {
-        return planRepository.findByTier(tier)
+        return planRepository.findFirstByTierAndActiveTrueOrderBySortOrder(tier)
             .orElseThrow(() -> new SubscriptionException("Plan not found for tier: " + tier));
     }
     
-    /**
-     * Obtiene plan destacado.
-     */
-    @Transactional(readOnly = true)
-    public PlanDTO getFeaturedPlan() {
-        Plan plan = planRepository.findByIsFeaturedTrue()
-            .orElseThrow(() -> new SubscriptionException("No featured plan found"));
-        
-        return mapToDTO(plan);
-    }
-    
     /**
      * Mapea Plan a DTO con features incluidas.
+     * 
+     * Usa plan.getFeatures(): cargar el plan con PlanRepository.findActiveWithFeatures
+     * para no disparar una query extra por plan.
      */
     public PlanDTO mapToDTO(Plan plan) {
-        List<PlanFeature> features = planFeatureRepository
-            .findByPlanIdAndEnabledTrueOrderBySortOrder(plan.getId());
+        List<PlanFeature> features = plan.getFeatures().stream()
+            .filter(feature -> Boolean.TRUE.equals(feature.getEnabled()))
+            .sorted(FEATURE_ORDER)
+            .collect(Collectors.toList());
         
         return PlanDTO.builder()
             .id(plan.getId())
@@ -1,7 +1,5 @@
 package com.eklesa.subscription.service;
 
-import com.eklesa.subscription.client.AuthServiceClient;
-import com.eklesa.subscription.client.dto.UpdateSubscriptionStatusRequest;
 import com.eklesa.subscription.dto.request.CancelSubscriptionRequest;
 import com.eklesa.subscription.dto.request.StartTrialRequest;
 import com.eklesa.subscription.dto.request.UpgradePlanRequest;
@@ -10,15 +8,22 @@ import com.eklesa.subscription.event.publisher.SubscriptionEventPublisher;
 import com.eklesa.subscription.exception.SubscriptionException;
 import com.eklesa.subscription.model.Plan;
 import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.enums.EntitlementChangeType;
 import com.eklesa.subscription.model.enums.PlanTier;
+import com.eklesa.subscription.model.enums.SubscriptionDeadlineAction;
 import com.eklesa.subscription.model.enums.SubscriptionStatus;
+import com.eklesa.subscription.model.enums.TrialReminderKind;
 import com.eklesa.subscription.repository.SubscriptionRepository;
+import com.eklesa.subscription.repository.TrialReminderSentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Servicio principal para gestión de suscripciones.
@@ -28,7 +33,12 @@ import java.time.LocalDateTime;
  * - Activar suscripciones
  * - Upgrades/downgrades
  * - Cancelaciones
- * - Sincronización con auth-service
+ * - Sincronización con auth-service (vía AuthSyncOutboxService)
+ * 
+ * EFECTOS SECUNDARIOS: Cada transición solo escribe en la BD (subscription,
+ * outboxes y entitlement_changes) y publica un evento de dominio. Emails,
+ * invalidación de cache y el disparo de los relays (SQS, auth-service)
+ * corren en los listeners de event.listener después del commit.
  */
 @Service
 @RequiredArgsConstructor
@@ -37,8 +47,11 @@ public class SubscriptionService {
     
     private final SubscriptionRepository subscriptionRepository;
     private final PlanService planService;
-    private final AuthServiceClient authServiceClient;
+    private final PlanCatalogService planCatalogService;
+    private final AuthSyncOutboxService authSyncOutboxService;
     private final SubscriptionEventPublisher eventPublisher;
+    private final EntitlementChangeService entitlementChangeService;
+    private final TrialReminderSentRepository trialReminderSentRepository;
     
     private static final int TRIAL_DAYS = 21;
     private static final int GRACE_PERIOD_DAYS = 7;
@@ -50,7 +63,7 @@ public class SubscriptionService {
      * 
      * FLOW:
      * 1. Verifica que no exista subscription previa
-     * 2. Crea subscription con plan STARTER
+     * 2. Crea subscription con el plan de entrada del tier STARTER
      * 3. Status = TRIALING
      * 4. trialEndDate = now + 21 días
      * 5. Sincroniza con auth-service
@@ -65,23 +78,30 @@ public class SubscriptionService {
             throw new SubscriptionException("Organization already has a subscription");
         }
         
-        // Obtener plan STARTER
+        // Plan de entrada del tier STARTER (menor sort_order)
         Plan starterPlan = planService.getPlanByTier(PlanTier.STARTER);
         
-        // Crear subscription
+        // Crear subscription (deadline: expira al final del trial)
+        LocalDateTime trialEndDate = LocalDateTime.now().plusDays(TRIAL_DAYS);
         Subscription subscription = Subscription.builder()
             .organizationId(request.getOrganizationId())
+            .ownerEmail(request.getOwnerEmail())
             .plan(starterPlan)
             .status(SubscriptionStatus.TRIALING)
             .trialStartDate(LocalDateTime.now())
-            .trialEndDate(LocalDateTime.now().plusDays(TRIAL_DAYS))
+            .trialEndDate(trialEndDate)
             .isTrialUsed(true)
+            .nextDeadlineAt(trialEndDate)
+            .nextDeadlineAction(SubscriptionDeadlineAction.EXPIRE_TRIAL)
             .build();
         
         subscription = subscriptionRepository.save(subscription);
         
-        // Sincronizar con auth-service
-        syncWithAuthService(subscription);
+        // Sincronizar con auth-service (outbox, se entrega después del commit)
+        authSyncOutboxService.enqueue(subscription);
+        
+        // Registrar cambio de entitlements
+        entitlementChangeService.recordChange(subscription, EntitlementChangeType.TRIAL_STARTED);
         
         // Publicar evento
         eventPublisher.publishTrialStarted(subscription, request.getOwnerEmail());
@@ -134,8 +154,11 @@ public class SubscriptionService {
         
         subscription = subscriptionRepository.save(subscription);
         
-        // Sincronizar con auth-service
-        syncWithAuthService(subscription);
+        // Sincronizar con auth-service (outbox, se entrega después del commit)
+        authSyncOutboxService.enqueue(subscription);
+        
+        // Registrar cambio de entitlements
+        entitlementChangeService.recordChange(subscription, EntitlementChangeType.ACTIVATED);
         
         // Publicar evento
         eventPublisher.publishSubscriptionActivated(subscription);
@@ -163,14 +186,22 @@ public class SubscriptionService {
             throw new SubscriptionException("Cannot downgrade from " + subscription.getPlan().getCode() + " to " + newPlan.getCode());
         }
         
+        String previousPlanCode = subscription.getPlan().getCode();
+        
         // Actualizar plan
         subscription.setPlan(newPlan);
         subscription.setBillingPeriod(request.getBillingPeriod());
         
         subscription = subscriptionRepository.save(subscription);
         
-        // Sincronizar con auth-service
-        syncWithAuthService(subscription);
+        // Sincronizar con auth-service (outbox, se entrega después del commit)
+        authSyncOutboxService.enqueue(subscription);
+        
+        // Registrar cambio de entitlements
+        entitlementChangeService.recordChange(subscription, EntitlementChangeType.PLAN_CHANGED);
+        
+        // Publicar evento
+        eventPublisher.publishPlanChanged(subscription, previousPlanCode);
         
         log.info("Plan upgraded successfully for org: {}", request.getOrganizationId());
         
@@ -196,13 +227,17 @@ public class SubscriptionService {
             // Cancelar al final del período
             subscription.setStatus(SubscriptionStatus.CANCELED);
             subscription.setCanceledAt(LocalDateTime.now());
+            subscription.clearDeadline();
             // endedAt = currentPeriodEnd (se procesa después)
         }
         
         subscriptionRepository.save(subscription);
         
-        // Sincronizar con auth-service
-        syncWithAuthService(subscription);
+        // Sincronizar con auth-service (outbox, se entrega después del commit)
+        authSyncOutboxService.enqueue(subscription);
+        
+        // Registrar cambio de entitlements
+        entitlementChangeService.recordChange(subscription, EntitlementChangeType.CANCELED);
         
         // Publicar evento
         eventPublisher.publishSubscriptionCanceled(subscription, request.getReason());
@@ -228,11 +263,14 @@ public class SubscriptionService {
         
         log.info("Expiring trial for subscription: {}", subscriptionId);
         
-        subscription.enterGracePeriod();
+        subscription.enterGracePeriod(LocalDateTime.now().plusDays(GRACE_PERIOD_DAYS));
         subscriptionRepository.save(subscription);
         
-        // Sincronizar con auth-service
-        syncWithAuthService(subscription);
+        // Sincronizar con auth-service (outbox, se entrega después del commit)
+        authSyncOutboxService.enqueue(subscription);
+        
+        // Registrar cambio de entitlements
+        entitlementChangeService.recordChange(subscription, EntitlementChangeType.TRIAL_EXPIRED);
         
         // Publicar evento
         eventPublisher.publishTrialExpired(subscription);
@@ -254,37 +292,123 @@ public class SubscriptionService {
         subscription.suspend();
         subscriptionRepository.save(subscription);
         
-        // Sincronizar con auth-service
-        syncWithAuthService(subscription);
+        // Sincronizar con auth-service (outbox, se entrega después del commit)
+        authSyncOutboxService.enqueue(subscription);
+        
+        // Registrar cambio de entitlements
+        entitlementChangeService.recordChange(subscription, EntitlementChangeType.SUSPENDED);
         
         // Publicar evento
         eventPublisher.publishSubscriptionSuspended(subscription);
     }
     
     // ============================================
-    // HELPERS
+    // TRANSICIONES MASIVAS
     // ============================================
     
     /**
-     * Sincroniza status con auth-service.
+     * Expira hasta `limit` trials con el deadline vencido en una transacción.
+     * 
+     * FLOW:
+     * 1. UPDATE ... RETURNING: TRIALING -> GRACE_PERIOD (deadline SUSPEND
+     *    en now + 7 días) en un round trip
+     * 2. Un INSERT por cada efecto: auth_sync_outbox, entitlement_changes,
+     *    event_outbox
+     * 
+     * RETORNA: Las subscriptions expiradas (vacío = no quedan).
+     * 
+     * LLAMADO POR: TrialExpirationJob, hasta que retorne menos de `limit`
+     */
+    @Transactional
+    public List<Subscription> expireTrials(LocalDateTime now, int limit) {
+        List<Subscription> expired = subscriptionRepository
+            .expireDueTrials(now, now.plusDays(GRACE_PERIOD_DAYS), limit);
+        
+        authSyncOutboxService.enqueueAll(expired);
+        entitlementChangeService.recordChanges(expired, EntitlementChangeType.TRIAL_EXPIRED);
+        eventPublisher.publishTrialsExpired(expired);
+        
+        return expired;
+    }
+    
+    /**
+     * Suspende hasta `limit` subscriptions con el grace period vencido.
+     * 
+     * Mismo FLOW que expireTrials (GRACE_PERIOD -> SUSPENDED).
+     * 
+     * LLAMADO POR: TrialExpirationJob
      */
-    private void syncWithAuthService(Subscription subscription) {
-        try {
-            UpdateSubscriptionStatusRequest request = UpdateSubscriptionStatusRequest.builder()
-                .organizationId(subscription.getOrganizationId())
-                .subscriptionStatus(subscription.getStatus().name())
-                .trialEndsAt(subscription.getTrialEndDate())
-                .build();
-            
-            authServiceClient.updateSubscriptionStatus(request);
-            
-            log.debug("Synced subscription status with auth-service for org: {}", subscription.getOrganizationId());
-        } catch (Exception e) {
-            log.error("Failed to sync with auth-service for org: {}", subscription.getOrganizationId(), e);
-            // No lanzar excepción, solo loggear
+    @Transactional
+    public List<Subscription> suspendExpiredGracePeriods(LocalDateTime now, int limit) {
+        List<Subscription> suspended = subscriptionRepository.suspendDueGracePeriods(now, limit);
+        
+        authSyncOutboxService.enqueueAll(suspended);
+        entitlementChangeService.recordChanges(suspended, EntitlementChangeType.SUSPENDED);
+        eventPublisher.publishSubscriptionsSuspended(suspended);
+        
+        return suspended;
+    }
+    
+    /**
+     * Registra un recordatorio de trial en trial_reminders_sent.
+     * 
+     * RETORNA: Las subscriptions que aún no tenían el recordatorio (las
+     * demás ya lo recibieron en otra corrida).
+     * 
+     * NOTA: No publica TrialExpiringEvent: un registro liberado (email
+     * fallido) se vuelve a registrar en el reintento, y el evento saldría
+     * dos veces. Se publica en confirmTrialReminders, solo para los enviados.
+     * 
+     * LLAMADO POR: TrialReminderJob, que envía los emails después del commit
+     */
+    @Transactional
+    public List<Subscription> claimTrialReminders(List<Subscription> subscriptions, TrialReminderKind kind) {
+        if (subscriptions.isEmpty()) {
+            return List.of();
         }
+        
+        Set<Long> claimed = new HashSet<>(trialReminderSentRepository
+            .claim(subscriptions.stream().map(Subscription::getId).toList(), kind.name()));
+        List<Subscription> toRemind = subscriptions.stream()
+            .filter(subscription -> claimed.contains(subscription.getId()))
+            .toList();
+        
+        return toRemind;
     }
     
+    /**
+     * Publica TrialExpiringEvent de los recordatorios cuyo email se envió.
+     * 
+     * LLAMADO POR: TrialReminderJob
+     */
+    @Transactional
+    public void confirmTrialReminders(List<Subscription> subscriptions, TrialReminderKind kind) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        
+        eventPublisher.publishTrialsExpiring(subscriptions, kind.getDaysLeft());
+    }
+    
+    /**
+     * Libera recordatorios registrados cuyo email falló, para que el
+     * reintento del día (TrialReminderJob.retryTrialReminders) los tome.
+     * 
+     * LLAMADO POR: TrialReminderJob
+     */
+    @Transactional
+    public void releaseTrialReminders(List<Subscription> subscriptions, TrialReminderKind kind) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        
+        trialReminderSentRepository.release(subscriptions.stream().map(Subscription::getId).toList(), kind.name());
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
     /**
      * Valida si puede hacer upgrade.
      */
@@ -299,7 +423,7 @@ public class SubscriptionService {
         return SubscriptionDTO.builder()
             .id(subscription.getId())
             .organizationId(subscription.getOrganizationId())
-            .plan(planService.mapToDTO(subscription.getPlan()))
+            .plan(planCatalogService.getPlanDTO(subscription.getPlan()))
             .status(subscription.getStatus())
             .billingPeriod(subscription.getBillingPeriod())
             .trialStartDate(subscription.getTrialStartDate())
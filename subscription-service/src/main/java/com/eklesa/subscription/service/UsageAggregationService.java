@@ -0,0 +1,66 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.model.JobCheckpoint;
+import com.eklesa.subscription.repository.JobCheckpointRepository;
+import com.eklesa.subscription.repository.UsageDailyAggregateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio de agregación incremental de uso.
+ * 
+ * RESPONSABILIDADES:
+ * - Procesar usage_records por chunks (keyset sobre ingest_xid, id: orden de commit)
+ * - Mantener usage_daily_aggregates
+ * - Avanzar el watermark (job_checkpoints) en la misma transacción del chunk
+ * 
+ * LLAMADO POR: UsageRecordJob
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UsageAggregationService {
+    
+    public static final String JOB_NAME = "usage-daily-aggregation";
+    
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final UsageDailyAggregateRepository usageDailyAggregateRepository;
+    
+    /**
+     * Procesa el siguiente chunk.
+     * 
+     * FLOW:
+     * 1. Bloquea el checkpoint (serializa instancias)
+     * 2. Agrega hasta chunkSize registros confirmados después del watermark
+     * 3. Avanza el watermark
+     * 
+     * Los registros de transacciones aún en curso (buffer write-behind) se
+     * procesan en un chunk posterior, nunca se saltan.
+     * 
+     * RETORNA: Cantidad de registros procesados (0 = al día).
+     */
+    @Transactional
+    public int processNextChunk(int chunkSize) {
+        jobCheckpointRepository.insertIfAbsent(JOB_NAME);
+        
+        JobCheckpoint checkpoint = jobCheckpointRepository
+            .findByJobNameForUpdate(JOB_NAME)
+            .orElseThrow(() -> new IllegalStateException("Checkpoint not found: " + JOB_NAME));
+        
+        return usageDailyAggregateRepository
+            .aggregateNextChunk(checkpoint.getWatermarkXid(), checkpoint.getWatermarkId(), chunkSize)
+            .map(result -> {
+                checkpoint.setWatermarkXid(result.getLastXid());
+                checkpoint.setWatermarkId(result.getLastId());
+                jobCheckpointRepository.save(checkpoint);
+                
+                log.debug("Aggregated {} usage records, watermark: ({}, {})",
+                    result.getProcessed(), result.getLastXid(), result.getLastId());
+                
+                return result.getProcessed().intValue();
+            })
+            .orElse(0);
+    }
+}
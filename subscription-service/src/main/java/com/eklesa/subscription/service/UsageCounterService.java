@@ -0,0 +1,239 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.request.DecrementUsageRequest;
+import com.eklesa.subscription.dto.request.ReserveUsageRequest;
+import com.eklesa.subscription.dto.response.FeatureLimitValidationResponse;
+import com.eklesa.subscription.dto.response.UsageReservationResponse;
+import com.eklesa.subscription.entitlement.EntitlementSnapshot;
+import com.eklesa.subscription.exception.FeatureLimitExceededException;
+import com.eklesa.subscription.exception.SubscriptionException;
+import com.eklesa.subscription.model.UsageCounter;
+import com.eklesa.subscription.model.UsageReservation;
+import com.eklesa.subscription.repository.SubscriptionRepository;
+import com.eklesa.subscription.repository.UsageCounterRepository;
+import com.eklesa.subscription.repository.UsageReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Servicio de contadores de uso del lado del servidor.
+ * 
+ * RESPONSABILIDADES:
+ * - Reservar uso de forma atómica (reserve -> commit/release)
+ * - Restar uso cuando se eliminan recursos
+ * - Liberar reservas expiradas
+ * 
+ * CONCURRENCIA: La decisión de permitir se toma en un único UPDATE
+ * condicional sobre usage_counters. Varios pods de crm-service
+ * reservando a la vez no pueden pasar el soft limit.
+ */
+@Service
+@Slf4j
+public class UsageCounterService {
+    
+    private final UsageCounterRepository usageCounterRepository;
+    private final UsageReservationRepository usageReservationRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final EntitlementCacheService entitlementCacheService;
+    private final FeatureLimitService featureLimitService;
+    private final Duration reservationTtl;
+    
+    public UsageCounterService(
+        UsageCounterRepository usageCounterRepository,
+        UsageReservationRepository usageReservationRepository,
+        SubscriptionRepository subscriptionRepository,
+        EntitlementCacheService entitlementCacheService,
+        FeatureLimitService featureLimitService,
+        @Value("${app.usage.reservation-ttl:PT5M}") Duration reservationTtl
+    ) {
+        this.usageCounterRepository = usageCounterRepository;
+        this.usageReservationRepository = usageReservationRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.entitlementCacheService = entitlementCacheService;
+        this.featureLimitService = featureLimitService;
+        this.reservationTtl = reservationTtl;
+    }
+    
+    /**
+     * Reserva uso de una feature.
+     * 
+     * FLOW:
+     * 1. Obtiene entitlements (cache)
+     * 2. Asegura que exista el contador
+     * 3. UPDATE condicional: reserved += amount solo si no pasa el soft limit
+     * 4. Si reservó, crea la reserva con expiración
+     */
+    @Transactional
+    public UsageReservationResponse reserve(ReserveUsageRequest request) {
+        String featureCode = request.getFeatureCode().toUpperCase();
+        int amount = request.getAmount() != null ? request.getAmount() : 1;
+        
+        log.debug("Reserving usage for org: {}, feature: {}, amount: {}",
+            request.getOrganizationId(), featureCode, amount);
+        
+        EntitlementSnapshot entitlements = entitlementCacheService
+            .get(request.getOrganizationId())
+            .orElseThrow(() -> new FeatureLimitExceededException("No active subscription found"));
+        
+        Long subscriptionId = entitlements.getSubscriptionId();
+        
+        // Grace period / suspended: no reservar
+        if (entitlements.isReadOnly() || !entitlements.isCanAccess()) {
+            return toResponse(null, null, featureLimitService.evaluate(entitlements, featureCode, 0, amount));
+        }
+        
+        Integer softLimit = featureLimitService.getSoftLimit(entitlements, featureCode);
+        long limit = softLimit != null ? softLimit : Long.MAX_VALUE;
+        
+        usageCounterRepository.ensureExists(subscriptionId, featureCode);
+        boolean reserved = usageCounterRepository.tryReserve(subscriptionId, featureCode, amount, limit) == 1;
+        
+        UsageCounter counter = usageCounterRepository
+            .findBySubscriptionIdAndFeatureCode(subscriptionId, featureCode)
+            .orElseThrow(() -> new SubscriptionException("Usage counter not found"));
+        
+        if (!reserved) {
+            log.info("Usage reservation denied for org: {}, feature: {}, usage: {}, limit: {}",
+                request.getOrganizationId(), featureCode, counter.getTotalCount(), softLimit);
+            
+            FeatureLimitValidationResponse denied = featureLimitService
+                .evaluate(entitlements, featureCode, counter.getTotalCount(), amount);
+            denied.setAllowed(false);
+            return toResponse(null, counter, denied);
+        }
+        
+        UsageReservation reservation = UsageReservation.builder()
+            .reservationToken(UUID.randomUUID().toString())
+            .subscription(subscriptionRepository.getReferenceById(subscriptionId))
+            .featureCode(featureCode)
+            .amount(amount)
+            .expiresAt(LocalDateTime.now().plus(reservationTtl))
+            .build();
+        
+        reservation = usageReservationRepository.save(reservation);
+        
+        FeatureLimitValidationResponse allowed = featureLimitService
+            .evaluate(entitlements, featureCode, counter.getTotalCount() - amount, amount);
+        allowed.setAllowed(true);
+        return toResponse(reservation, counter, allowed);
+    }
+    
+    /**
+     * Confirma una reserva (el recurso fue creado).
+     * 
+     * Si la reserva ya expiró se libera y se lanza SubscriptionException
+     * (sin rollback, para que la liberación quede persistida).
+     */
+    @Transactional(noRollbackFor = SubscriptionException.class)
+    public void commit(String reservationId) {
+        UsageReservation reservation = usageReservationRepository
+            .findByTokenForUpdate(reservationId)
+            .orElseThrow(() -> new SubscriptionException("Reservation not found or already processed: " + reservationId));
+        
+        if (reservation.isExpired()) {
+            // El job de expiración aún no la procesó: liberarla aquí
+            release(reservation);
+            throw new SubscriptionException("Reservation expired: " + reservationId);
+        }
+        
+        usageCounterRepository.commitReserved(
+            reservation.getSubscription().getId(),
+            reservation.getFeatureCode(),
+            reservation.getAmount()
+        );
+        usageReservationRepository.delete(reservation);
+        
+        log.debug("Usage reservation committed: {}", reservationId);
+    }
+    
+    /**
+     * Libera una reserva (el recurso no se creó).
+     */
+    @Transactional
+    public void release(String reservationId) {
+        UsageReservation reservation = usageReservationRepository
+            .findByTokenForUpdate(reservationId)
+            .orElseThrow(() -> new SubscriptionException("Reservation not found or already processed: " + reservationId));
+        
+        release(reservation);
+        
+        log.debug("Usage reservation released: {}", reservationId);
+    }
+    
+    /**
+     * Resta uso confirmado (recursos eliminados).
+     */
+    @Transactional
+    public void decrement(DecrementUsageRequest request) {
+        String featureCode = request.getFeatureCode().toUpperCase();
+        int amount = request.getAmount() != null ? request.getAmount() : 1;
+        
+        EntitlementSnapshot entitlements = entitlementCacheService
+            .get(request.getOrganizationId())
+            .orElseThrow(() -> new SubscriptionException("Subscription not found"));
+        
+        usageCounterRepository.decrement(entitlements.getSubscriptionId(), featureCode, amount);
+        
+        log.debug("Usage decremented for org: {}, feature: {}, amount: {}",
+            request.getOrganizationId(), featureCode, amount);
+    }
+    
+    /**
+     * Libera un lote de reservas expiradas.
+     * 
+     * RETORNA: Cantidad de reservas liberadas.
+     * 
+     * LLAMADO POR: UsageReservationExpirationJob
+     */
+    @Transactional
+    public int releaseExpiredReservations(int batchSize) {
+        List<UsageReservation> expired = usageReservationRepository
+            .findExpiredForUpdate(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        
+        expired.forEach(this::release);
+        
+        return expired.size();
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private void release(UsageReservation reservation) {
+        usageCounterRepository.releaseReserved(
+            reservation.getSubscription().getId(),
+            reservation.getFeatureCode(),
+            reservation.getAmount()
+        );
+        usageReservationRepository.delete(reservation);
+    }
+    
+    private UsageReservationResponse toResponse(
+        UsageReservation reservation,
+        UsageCounter counter,
+        FeatureLimitValidationResponse validation
+    ) {
+        return UsageReservationResponse.builder()
+            .reservationId(reservation != null ? reservation.getReservationToken() : null)
+            .expiresAt(reservation != null ? reservation.getExpiresAt() : null)
+            .allowed(validation.getAllowed())
+            .featureCode(validation.getFeatureCode())
+            .currentUsage(counter != null ? counter.getUsedCount() : validation.getCurrentUsage())
+            .reservedUsage(counter != null ? counter.getReservedCount() : null)
+            .maxLimit(validation.getMaxLimit())
+            .remaining(validation.getRemaining())
+            .usagePercentage(validation.getUsagePercentage())
+            .reason(validation.getReason())
+            .upgradeMessage(validation.getUpgradeMessage())
+            .recommendedPlan(validation.getRecommendedPlan())
+            .build();
+    }
+}
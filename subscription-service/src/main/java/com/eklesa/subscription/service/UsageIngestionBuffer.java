@@ -0,0 +1,224 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.model.UsageRecord;
+import com.eklesa.subscription.repository.UsageCounterRepository;
+import com.eklesa.subscription.repository.UsageRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffer write-behind para recordUsage.
+ * 
+ * RESPONSABILIDADES:
+ * - Acumular registros de uso en memoria (acotado por capacity)
+ * - Coalescer: por (subscription, feature) solo se guarda el último valor de la ventana
+ * - Flush periódico con INSERT multi-fila + upsert multi-fila de contadores
+ * - Flush final al apagar la aplicación
+ * 
+ * BACKPRESSURE: Si el buffer está lleno, offer() retorna false y el
+ * llamador escribe de forma síncrona (writeNow).
+ * 
+ * MÉTRICAS:
+ * - usage.ingestion.buffer.size / usage.ingestion.buffer.capacity
+ * - usage.ingestion.coalesced, usage.ingestion.rejected, usage.ingestion.flushed
+ * - usage.ingestion.flush (timer)
+ * 
+ * NOTA: Los registros pendientes se pierden si el proceso muere sin
+ * shutdown ordenado. El contador se reconcilia en el siguiente recordUsage.
+ */
+@Component
+@Slf4j
+public class UsageIngestionBuffer {
+    
+    private final UsageRecordRepository usageRecordRepository;
+    private final UsageCounterRepository usageCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+    private final int batchSize;
+    
+    private final ConcurrentHashMap<PendingKey, UsageRecord> pending = new ConcurrentHashMap<>();
+    // Claves ocupadas (o reservadas) en pending; acota capacity de forma atómica
+    private final AtomicInteger slots = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    
+    private final Counter coalescedCounter;
+    private final Counter rejectedCounter;
+    private final Counter flushedCounter;
+    private final Timer flushTimer;
+    
+    public UsageIngestionBuffer(
+        UsageRecordRepository usageRecordRepository,
+        UsageCounterRepository usageCounterRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${app.usage.ingestion.capacity:50000}") int capacity,
+        @Value("${app.usage.ingestion.batch-size:1000}") int batchSize
+    ) {
+        this.usageRecordRepository = usageRecordRepository;
+        this.usageCounterRepository = usageCounterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        
+        Gauge.builder("usage.ingestion.buffer.size", slots, AtomicInteger::get)
+            .description("Registros de uso pendientes de flush")
+            .register(meterRegistry);
+        Gauge.builder("usage.ingestion.buffer.capacity", () -> capacity)
+            .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("usage.ingestion.coalesced")
+            .description("Registros reemplazados por uno más reciente antes del flush")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("usage.ingestion.rejected")
+            .description("Registros escritos de forma síncrona por buffer lleno")
+            .register(meterRegistry);
+        this.flushedCounter = Counter.builder("usage.ingestion.flushed")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("usage.ingestion.flush")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Encola un registro de uso.
+     * 
+     * Una clave ya pendiente se reemplaza sin ocupar lugar. Una clave nueva
+     * reserva un slot (getAndIncrement) antes de insertar; si no había
+     * lugar, la reserva se devuelve. Así capacity no se supera aunque
+     * muchos threads encolen claves nuevas a la vez.
+     * 
+     * RETORNA: false si el buffer está lleno (el llamador debe usar writeNow).
+     */
+    public boolean offer(UsageRecord record) {
+        PendingKey key = PendingKey.of(record);
+        
+        if (pending.replace(key, record) != null) {
+            coalescedCounter.increment();
+            return true;
+        }
+        
+        if (slots.getAndIncrement() >= capacity) {
+            slots.decrementAndGet();
+            rejectedCounter.increment();
+            return false;
+        }
+        
+        // Otro thread pudo insertar la misma clave entre replace y put
+        if (pending.put(key, record) != null) {
+            slots.decrementAndGet();
+            coalescedCounter.increment();
+        }
+        return true;
+    }
+    
+    /**
+     * Escribe registros de forma síncrona (fallback cuando el buffer está lleno).
+     */
+    public void writeNow(List<UsageRecord> records) {
+        transactionTemplate.executeWithoutResult(status -> write(records));
+    }
+    
+    /**
+     * Flush periódico del buffer.
+     */
+    @Scheduled(fixedDelayString = "${app.usage.ingestion.flush-interval-ms:2000}")
+    public void flush() {
+        if (pending.isEmpty() || !flushLock.tryLock()) {
+            return;
+        }
+        
+        try {
+            flushTimer.record(this::drain);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    /**
+     * Flush final al apagar (antes de cerrar el datasource).
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing {} pending usage records before shutdown", slots.get());
+        
+        flushLock.lock();
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    // ============================================
+    // HELPERS
+    // ============================================
+    
+    private void drain() {
+        // LinkedHashMap: si una clave se re-encola durante el drain, queda una sola vez en el lote
+        Map<PendingKey, UsageRecord> batch = new LinkedHashMap<>();
+        
+        for (PendingKey key : pending.keySet()) {
+            UsageRecord record = pending.remove(key);
+            if (record != null) {
+                slots.decrementAndGet();
+                batch.put(key, record);
+            }
+            if (batch.size() >= batchSize) {
+                flushBatch(new ArrayList<>(batch.values()));
+                batch.clear();
+            }
+        }
+        
+        if (!batch.isEmpty()) {
+            flushBatch(new ArrayList<>(batch.values()));
+        }
+    }
+    
+    private void flushBatch(List<UsageRecord> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+            flushedCounter.increment(batch.size());
+            log.debug("Flushed {} usage records", batch.size());
+        } catch (Exception e) {
+            log.error("Error flushing {} usage records, re-queueing", batch.size(), e);
+            
+            // Re-encolar sin pisar valores más recientes que llegaron durante el flush.
+            // No se descarta nada aunque eso supere capacity por un lote.
+            batch.forEach(record -> {
+                if (pending.putIfAbsent(PendingKey.of(record), record) == null) {
+                    slots.incrementAndGet();
+                }
+            });
+        }
+    }
+    
+    private void write(List<UsageRecord> records) {
+        usageRecordRepository.insertBatch(records);
+        usageCounterRepository.upsertUsedCounts(records);
+    }
+    
+    /**
+     * Clave de coalescing: una entrada por (subscription, feature).
+     */
+    private record PendingKey(Long subscriptionId, String featureCode) {
+        
+        static PendingKey of(UsageRecord record) {
+            return new PendingKey(record.getSubscription().getId(), record.getFeatureCode().toUpperCase());
+        }
+    }
+}
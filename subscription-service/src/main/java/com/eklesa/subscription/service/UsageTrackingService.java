@@ -0,0 +1,150 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.entitlement.EntitlementSnapshot;
+import com.eklesa.subscription.entitlement.LimitEvaluator;
+import com.eklesa.subscription.entitlement.PlanLimits;
+import com.eklesa.subscription.model.UsageCounter;
+import com.eklesa.subscription.model.UsageRecord;
+import com.eklesa.subscription.repository.SubscriptionRepository;
+import com.eklesa.subscription.repository.UsageCounterRepository;
+import com.eklesa.subscription.repository.UsageRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio para tracking de uso de features.
+ * 
+ * RESPONSABILIDADES:
+ * - Registrar uso actual de features (write-behind, ver UsageIngestionBuffer)
+ * - Mantener el contador actual (usage_counters) sincronizado
+ * - Calcular porcentajes
+ * - Detectar cuando se alcanza un límite
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UsageTrackingService {
+    
+    private final UsageRecordRepository usageRecordRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final UsageCounterRepository usageCounterRepository;
+    private final EntitlementCacheService entitlementCacheService;
+    private final UsageIngestionBuffer usageIngestionBuffer;
+    
+    /**
+     * Registra el uso actual de una feature.
+     * 
+     * WRITE-BEHIND: No escribe en la BD. El registro se encola en
+     * UsageIngestionBuffer (coalescing + INSERT multi-fila en el flush).
+     * Si el buffer está lleno, escribe de forma síncrona.
+     * 
+     * LLAMADO POR: crm-service después de crear/eliminar recursos
+     */
+    public void recordUsage(Long organizationId, String featureCode, Integer currentCount) {
+        log.debug("Recording usage for org: {}, feature: {}, count: {}", 
+            organizationId, featureCode, currentCount);
+        
+        EntitlementSnapshot entitlements = entitlementCacheService
+            .get(organizationId)
+            .orElseThrow(() -> new RuntimeException("Subscription not found"));
+        
+        // Obtener límite del plan
+        PlanLimits limits = entitlements.getLimits();
+        Integer planLimit = limits.maxLimitOrNull(limits.indexOf(featureCode));
+        
+        // Calcular porcentaje (basis points)
+        BigDecimal usagePercentage = planLimit != null
+            ? LimitEvaluator.toPercentage(LimitEvaluator.usageBasisPoints(currentCount, planLimit))
+            : BigDecimal.ZERO;
+        
+        // Verificar si excede límite
+        boolean limitExceeded = planLimit != null && currentCount > planLimit;
+        
+        UsageRecord record = UsageRecord.builder()
+            .subscription(subscriptionRepository.getReferenceById(entitlements.getSubscriptionId()))
+            .featureCode(featureCode.toUpperCase())
+            .usageCount(currentCount)
+            .planLimit(planLimit)
+            .usagePercentage(usagePercentage)
+            .recordedAt(LocalDateTime.now())
+            .limitExceeded(limitExceeded)
+            .build();
+        
+        // El flush también reconcilia el contador (usage_counters.used_count)
+        if (!usageIngestionBuffer.offer(record)) {
+            log.debug("Usage buffer full, writing synchronously for org: {}", organizationId);
+            usageIngestionBuffer.writeNow(List.of(record));
+        }
+        
+        if (limitExceeded) {
+            log.warn("Limit exceeded for org: {}, feature: {}, usage: {}, limit: {}", 
+                organizationId, featureCode, currentCount, planLimit);
+        }
+    }
+    
+    /**
+     * Obtiene el uso actual de una feature (confirmado + reservado).
+     * 
+     * Lee el contador (lookup por índice único). Si la feature aún no
+     * tiene contador, cae al último registro histórico.
+     */
+    @Transactional(readOnly = true)
+    public Integer getCurrentUsage(Long subscriptionId, String featureCode) {
+        return usageCounterRepository
+            .findBySubscriptionIdAndFeatureCode(subscriptionId, featureCode.toUpperCase())
+            .map(UsageCounter::getTotalCount)
+            .orElseGet(() -> usageRecordRepository
+                .findTopBySubscriptionIdAndFeatureCodeOrderByRecordedAtDesc(subscriptionId, featureCode.toUpperCase())
+                .map(UsageRecord::getUsageCount)
+                .orElse(0));
+    }
+    
+    /**
+     * Obtiene el uso actual de todas las features en una sola query.
+     * 
+     * RETORNA: featureCode (mayúsculas) -> uso. Features sin uso no aparecen.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Integer> getCurrentUsages(Long subscriptionId) {
+        Map<String, Integer> usages = new HashMap<>();
+        
+        for (UsageRecordRepository.FeatureUsage usage : usageRecordRepository.findCurrentUsagePerFeature(subscriptionId)) {
+            usages.putIfAbsent(usage.getFeatureCode().toUpperCase(), usage.getUsageCount());
+        }
+        
+        return usages;
+    }
+    
+    /**
+     * Obtiene el uso actual de varias subscriptions y features en una sola query.
+     * 
+     * RETORNA: subscriptionId -> (featureCode en mayúsculas -> uso).
+     * Pares sin contador ni registros no aparecen (uso 0).
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, Integer>> getCurrentUsages(Collection<Long> subscriptionIds, Collection<String> featureCodes) {
+        Set<String> codes = featureCodes.stream()
+            .map(String::toUpperCase)
+            .collect(Collectors.toSet());
+        
+        Map<Long, Map<String, Integer>> usages = new HashMap<>();
+        
+        for (UsageCounterRepository.SubscriptionFeatureUsage usage : usageCounterRepository.findCurrentUsages(subscriptionIds, codes)) {
+            usages.computeIfAbsent(usage.getSubscriptionId(), id -> new HashMap<>())
+                .putIfAbsent(usage.getFeatureCode(), usage.getUsageCount());
+        }
+        
+        return usages;
+    }
+}
@@ -0,0 +1,27 @@
+-- V10__Create_Auth_Sync_Outbox.sql
+
+-- Tabla: auth_sync_outbox
+-- Estado pendiente de sincronizar con auth-service, UNA fila por organización.
+-- Se escribe (upsert) en la misma transacción que el cambio de la subscription;
+-- varios cambios seguidos se coalescen al último estado (revision + 1).
+-- AuthSyncRelayJob la drena por lotes con lease (locked_until) y backoff
+-- (next_attempt_at), y borra la fila solo si la revision entregada es la actual.
+CREATE TABLE auth_sync_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    organization_id BIGINT UNIQUE NOT NULL,
+    subscription_status VARCHAR(20) NOT NULL,
+    trial_ends_at TIMESTAMP WITH TIME ZONE,
+    revision BIGINT NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_until TIMESTAMP WITH TIME ZONE,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0
+);
+CREATE TRIGGER update_auth_sync_outbox_updated_at BEFORE UPDATE ON auth_sync_outbox FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+CREATE INDEX idx_auth_sync_outbox_next_attempt_at ON auth_sync_outbox(next_attempt_at);
@@ -0,0 +1,28 @@
+-- V11__Create_Event_Outbox.sql
+
+-- Tabla: event_outbox
+-- Eventos de dominio pendientes de publicar en SQS. Se insertan en la misma
+-- transacción que el cambio de estado (si hace rollback, el evento no existe).
+-- EventOutboxRelayJob los publica con SendMessageBatch y borra los enviados.
+-- Orden por organización: solo se publica el evento más antiguo pendiente
+-- de cada organización (cabeza de su cola).
+CREATE TABLE event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(36) UNIQUE NOT NULL,
+    organization_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_until TIMESTAMP WITH TIME ZONE,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0
+);
+CREATE TRIGGER update_event_outbox_updated_at BEFORE UPDATE ON event_outbox FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- Cabeza de la cola de cada organización (DISTINCT ON organization_id ORDER BY id)
+CREATE INDEX idx_event_outbox_organization_id ON event_outbox(organization_id, id);
@@ -0,0 +1,6 @@
+-- V12__Add_Subscription_Owner_Email.sql
+
+-- Email del owner (StartTrialRequest.ownerEmail). Antes solo viajaba en
+-- TrialStartedEvent; NotificationEventListener lo necesita en cada
+-- cambio de estado. NULL en subscriptions creadas antes de esta versión.
+ALTER TABLE subscriptions ADD COLUMN owner_email VARCHAR(255);
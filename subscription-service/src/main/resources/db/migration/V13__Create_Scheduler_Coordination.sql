@@ -0,0 +1,37 @@
+-- V13__Create_Scheduler_Coordination.sql
+
+-- Tabla: scheduler_instances
+-- Instancias vivas del servicio. Cada una renueva heartbeat_at cada pocos
+-- segundos (JobCoordinationService); las que dejan de hacerlo salen de la
+-- lista y sus shards se reparten entre las demás.
+CREATE TABLE scheduler_instances (
+    id BIGSERIAL PRIMARY KEY,
+    instance_id VARCHAR(100) UNIQUE NOT NULL,
+    heartbeat_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0
+);
+CREATE TRIGGER update_scheduler_instances_updated_at BEFORE UPDATE ON scheduler_instances FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+CREATE INDEX idx_scheduler_instances_heartbeat_at ON scheduler_instances(heartbeat_at);
+
+-- Tabla: scheduler_leases
+-- Lease por job (o por shard de un job): solo la instancia dueña
+-- (owner_id) lo ejecuta hasta locked_until. Si la instancia muere, el
+-- lease vence solo. Todas las fechas se calculan con el reloj de la BD.
+CREATE TABLE scheduler_leases (
+    id BIGSERIAL PRIMARY KEY,
+    lock_name VARCHAR(150) UNIQUE NOT NULL,
+    owner_id VARCHAR(100) NOT NULL,
+    locked_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    locked_until TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0
+);
+CREATE TRIGGER update_scheduler_leases_updated_at BEFORE UPDATE ON scheduler_leases FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,19 @@
+-- V14__Create_Trial_Reminders_Sent.sql
+
+-- Tabla: trial_reminders_sent
+-- Recordatorios de trial ya enviados, uno por (subscription, tipo).
+-- TrialReminderJob inserta con ON CONFLICT DO NOTHING antes de publicar:
+-- solo envía los que logró insertar, así una re-ejecución (reinicio,
+-- otra instancia) no repite recordatorios.
+CREATE TABLE trial_reminders_sent (
+    id BIGSERIAL PRIMARY KEY,
+    subscription_id BIGINT NOT NULL REFERENCES subscriptions(id) ON DELETE CASCADE,
+    reminder_kind VARCHAR(30) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_trial_reminders_sent UNIQUE (subscription_id, reminder_kind)
+);
+CREATE TRIGGER update_trial_reminders_sent_updated_at BEFORE UPDATE ON trial_reminders_sent FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,26 @@
+-- V15__Add_Subscription_Deadlines.sql
+
+-- Cola de deadlines de subscriptions: próxima transición automática
+-- (next_deadline_action) y cuándo vence (next_deadline_at). Null = ninguna.
+-- TrialExpirationJob reclama las vencidas cada pocos segundos con
+-- FOR UPDATE SKIP LOCKED, en lugar de escanear por status una vez al día.
+ALTER TABLE subscriptions ADD COLUMN next_deadline_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE subscriptions ADD COLUMN next_deadline_action VARCHAR(30);
+
+-- Deadlines de las subscriptions existentes. El grace period empezaba en
+-- la última modificación (updated_at, que mantiene el trigger de V2) y
+-- nunca antes del fin del trial. De aquí en adelante se fija al entrar en
+-- GRACE_PERIOD y otros cambios no lo mueven.
+UPDATE subscriptions
+SET next_deadline_at = trial_end_date, next_deadline_action = 'EXPIRE_TRIAL'
+WHERE status = 'TRIALING' AND trial_end_date IS NOT NULL;
+
+UPDATE subscriptions
+SET next_deadline_at = GREATEST(COALESCE(updated_at, created_at), COALESCE(trial_end_date, created_at))
+        + INTERVAL '7 days',
+    next_deadline_action = 'SUSPEND'
+WHERE status = 'GRACE_PERIOD';
+
+-- Solo las filas con deadline pendiente (una fracción de la tabla)
+CREATE INDEX idx_subscriptions_next_deadline ON subscriptions(next_deadline_action, next_deadline_at)
+    WHERE next_deadline_at IS NOT NULL;
@@ -0,0 +1,37 @@
+-- V16__Tune_Query_Indexes.sql
+
+-- Índices ajustados a las queries de SubscriptionRepository e
+-- InvoiceRepository, y eliminación de duplicados de V3.
+
+-- Duplicados de constraints UNIQUE (V2 ya crea plans_code_key,
+-- subscriptions_organization_id_key y subscriptions_paypal_subscription_id_key)
+DROP INDEX IF EXISTS idx_plans_code;
+DROP INDEX IF EXISTS idx_subscriptions_organization_id;
+DROP INDEX IF EXISTS idx_subscriptions_paypal_id;
+
+-- Subscriptions
+
+-- TrialReminderJob (findTrialsEndingInDays): status = 'TRIALING' AND
+-- trial_end_date en el rango de los recordatorios. Solo indexa trials
+-- activos; reemplaza a idx_subscriptions_trial_end (todas las filas).
+-- Expiración y suspensión usan idx_subscriptions_next_deadline (V15).
+CREATE INDEX idx_subscriptions_trialing_end ON subscriptions(trial_end_date)
+    WHERE status = 'TRIALING';
+DROP INDEX IF EXISTS idx_subscriptions_trial_end;
+
+-- Invoices
+
+-- Historial de facturación (findBySubscriptionIdOrderByCreatedAtDesc):
+-- filtra y ordena con el mismo índice. Cubre también la FK a
+-- subscriptions, por eso reemplaza a idx_invoices_subscription_id.
+CREATE INDEX idx_invoices_subscription_created ON invoices(subscription_id, created_at DESC);
+DROP INDEX IF EXISTS idx_invoices_subscription_id;
+
+-- Webhooks de PayPal (findByPaypalInvoiceId). NULL mientras no hay invoice en PayPal.
+CREATE INDEX idx_invoices_paypal_invoice_id ON invoices(paypal_invoice_id)
+    WHERE paypal_invoice_id IS NOT NULL;
+
+-- Invoices vencidas (findByStatusAndDueDateBefore). También sirve a
+-- findByStatus, por eso reemplaza a idx_invoices_status.
+CREATE INDEX idx_invoices_status_due_date ON invoices(status, due_date);
+DROP INDEX IF EXISTS idx_invoices_status;
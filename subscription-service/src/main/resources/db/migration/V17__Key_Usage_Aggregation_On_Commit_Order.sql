@@ -0,0 +1,39 @@
+-- V17__Key_Usage_Aggregation_On_Commit_Order.sql
+
+-- UsageRecordJob pasa de un watermark (recorded_at, id) a uno por orden de
+-- commit. recorded_at e id se asignan antes del commit: un flush tardío del
+-- buffer write-behind insertaba filas por detrás del watermark y nunca se
+-- agregaban.
+--
+-- ingest_xid es el id (xid8, 64 bits, sin wraparound) de la transacción que
+-- insertó la fila. El job solo lee filas con ingest_xid menor al xmin del
+-- snapshot actual: todas esas transacciones ya terminaron, así que ninguna
+-- fila nueva puede quedar por detrás del watermark.
+
+-- Constante: no reescribe la tabla. Las filas existentes quedan en '0'.
+ALTER TABLE usage_records ADD COLUMN ingest_xid xid8 NOT NULL DEFAULT '0';
+
+-- Filas que el job todavía no agregó (todas, si nunca corrió): pasan a
+-- ingest_xid > 0 para que el nuevo watermark las procese.
+UPDATE usage_records ur
+SET ingest_xid = pg_current_xact_id()
+WHERE NOT EXISTS (
+    SELECT 1 FROM job_checkpoints c
+    WHERE c.job_name = 'usage-daily-aggregation'
+    AND (ur.recorded_at, ur.id) <= (c.watermark_at, c.watermark_id)
+);
+
+ALTER TABLE usage_records ALTER COLUMN ingest_xid SET DEFAULT pg_current_xact_id();
+
+-- Keyset de UsageRecordJob: (ingest_xid, id) > watermark
+CREATE INDEX idx_usage_records_ingest ON usage_records(ingest_xid, id);
+DROP INDEX IF EXISTS idx_usage_records_recorded_id;
+
+-- Checkpoint: (watermark_xid, watermark_id). Las filas ya agregadas quedan
+-- en (0, id <= MAX(id)), es decir, detrás del watermark.
+ALTER TABLE job_checkpoints ADD COLUMN watermark_xid BIGINT NOT NULL DEFAULT 0;
+UPDATE job_checkpoints
+SET watermark_xid = 0,
+    watermark_id = (SELECT COALESCE(MAX(id), 0) FROM usage_records)
+WHERE job_name = 'usage-daily-aggregation';
+ALTER TABLE job_checkpoints DROP COLUMN watermark_at;
@@ -0,0 +1,20 @@
+-- V18__Key_Entitlement_Changes_On_Commit_Order.sql
+
+-- El stream de cambios (GET /api/entitlements/changes, SSE y el dispatch
+-- que invalida el cache local) pasa de un cursor por id a uno por orden de
+-- commit, igual que UsageRecordJob en V17. Los ids se asignan antes del
+-- commit: una transacción que hacía commit más de gap-timeout después de
+-- un id mayor quedaba detrás del cursor y su cambio nunca se entregaba.
+--
+-- ingest_xid es el id (xid8) de la transacción que insertó la fila. Solo se
+-- entregan filas con ingest_xid menor al xmin del snapshot actual: esas
+-- transacciones ya terminaron, así que ningún cambio nuevo puede quedar
+-- por detrás del cursor.
+
+-- Constante: no reescribe la tabla. Las filas existentes quedan en '0'
+-- (cursor (0, id): un cursor numérico anterior sigue siendo válido).
+ALTER TABLE entitlement_changes ADD COLUMN ingest_xid xid8 NOT NULL DEFAULT '0';
+ALTER TABLE entitlement_changes ALTER COLUMN ingest_xid SET DEFAULT pg_current_xact_id();
+
+-- Keyset del stream: (ingest_xid, id) > cursor
+CREATE INDEX idx_entitlement_changes_ingest ON entitlement_changes(ingest_xid, id);
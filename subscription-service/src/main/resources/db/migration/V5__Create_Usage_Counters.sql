@@ -0,0 +1,41 @@
+-- V5__Create_Usage_Counters.sql
+
+-- Tabla: usage_counters
+-- Contador actual por (subscription, feature). Se actualiza de forma atómica
+-- (UPDATE condicional) para que varios pods de crm-service no puedan pasar
+-- el soft limit al mismo tiempo.
+CREATE TABLE usage_counters (
+    id BIGSERIAL PRIMARY KEY,
+    subscription_id BIGINT NOT NULL REFERENCES subscriptions(id) ON DELETE CASCADE,
+    feature_code VARCHAR(50) NOT NULL,
+    used_count INTEGER NOT NULL DEFAULT 0,
+    reserved_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uq_usage_counters_subscription_feature UNIQUE (subscription_id, feature_code),
+    CONSTRAINT chk_usage_counters_non_negative CHECK (used_count >= 0 AND reserved_count >= 0)
+);
+CREATE TRIGGER update_usage_counters_updated_at BEFORE UPDATE ON usage_counters FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- Tabla: usage_reservations
+-- Reservas pendientes (reserve -> commit/release). Las que expiran se liberan por job.
+CREATE TABLE usage_reservations (
+    id BIGSERIAL PRIMARY KEY,
+    reservation_token VARCHAR(36) UNIQUE NOT NULL,
+    subscription_id BIGINT NOT NULL REFERENCES subscriptions(id) ON DELETE CASCADE,
+    feature_code VARCHAR(50) NOT NULL,
+    amount INTEGER NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT chk_usage_reservations_amount CHECK (amount > 0)
+);
+CREATE TRIGGER update_usage_reservations_updated_at BEFORE UPDATE ON usage_reservations FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+CREATE INDEX idx_usage_reservations_expires_at ON usage_reservations(expires_at);
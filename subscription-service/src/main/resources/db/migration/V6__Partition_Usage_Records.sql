@@ -0,0 +1,141 @@
+-- V6__Partition_Usage_Records.sql
+
+-- usage_records pasa a ser una tabla particionada por mes (recorded_at).
+-- - Las lecturas del último uso se resuelven con un índice compuesto
+-- - El job de retención borra particiones completas (DROP, sin DELETE ni bloat)
+--
+-- NOTA: En tablas particionadas la PK debe incluir la columna de partición,
+-- por eso la PK pasa a (id, recorded_at). El id sigue saliendo de la misma secuencia.
+
+-- ============================================
+-- FUNCIONES DE MANTENIMIENTO
+-- ============================================
+
+-- Crea la partición mensual que contiene p_month (si no existe).
+-- Retorna true si la creó.
+CREATE OR REPLACE FUNCTION create_usage_records_partition(p_month DATE)
+RETURNS BOOLEAN AS $$
+DECLARE
+    v_from DATE := date_trunc('month', p_month)::DATE;
+    v_to DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    v_name TEXT := 'usage_records_p' || to_char(v_from, 'YYYYMM');
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    EXECUTE format(
+        'CREATE TABLE %I PARTITION OF usage_records FOR VALUES FROM (%L) TO (%L)',
+        v_name,
+        v_from::TIMESTAMP AT TIME ZONE 'UTC',
+        v_to::TIMESTAMP AT TIME ZONE 'UTC'
+    );
+    RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Elimina las particiones mensuales que terminan antes de p_before.
+-- Retorna la cantidad de particiones eliminadas.
+CREATE OR REPLACE FUNCTION drop_usage_records_partitions_before(p_before DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    v_partition RECORD;
+    v_dropped INTEGER := 0;
+BEGIN
+    FOR v_partition IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        WHERE p.relname = 'usage_records'
+          AND c.relname ~ '^usage_records_p[0-9]{6}$'
+          AND (to_date(substring(c.relname FROM '[0-9]{6}$'), 'YYYYMM') + INTERVAL '1 month') <= p_before
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('DROP TABLE %I', v_partition.relname);
+        v_dropped := v_dropped + 1;
+    END LOOP;
+
+    RETURN v_dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ============================================
+-- TABLA PARTICIONADA
+-- ============================================
+
+-- La secuencia se conserva (la tabla vieja se elimina más abajo)
+ALTER SEQUENCE usage_records_id_seq OWNED BY NONE;
+
+CREATE TABLE usage_records_partitioned (
+    id BIGINT NOT NULL DEFAULT nextval('usage_records_id_seq'),
+    subscription_id BIGINT NOT NULL REFERENCES subscriptions(id) ON DELETE CASCADE,
+    feature_code VARCHAR(50) NOT NULL,
+    usage_count INTEGER NOT NULL DEFAULT 0,
+    plan_limit INTEGER,
+    usage_percentage DECIMAL(5,2),
+    recorded_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    limit_exceeded BOOLEAN NOT NULL DEFAULT false,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, recorded_at)
+) PARTITION BY RANGE (recorded_at);
+
+-- Red de seguridad: filas fuera de las particiones mensuales creadas
+CREATE TABLE usage_records_default PARTITION OF usage_records_partitioned DEFAULT;
+
+-- Swap: la tabla vieja queda como usage_records_legacy hasta copiar los datos
+ALTER TABLE usage_records RENAME TO usage_records_legacy;
+ALTER TABLE usage_records_partitioned RENAME TO usage_records;
+
+-- Particiones mensuales: desde el registro más antiguo hasta 3 meses adelante
+DO $$
+DECLARE
+    v_month DATE;
+    v_last DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(recorded_at AT TIME ZONE 'UTC'))::DATE, date_trunc('month', CURRENT_DATE)::DATE)
+    INTO v_month
+    FROM usage_records_legacy;
+
+    WHILE v_month <= v_last LOOP
+        PERFORM create_usage_records_partition(v_month);
+        v_month := (v_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO usage_records (
+    id, subscription_id, feature_code, usage_count, plan_limit, usage_percentage,
+    recorded_at, limit_exceeded, created_at, updated_at, created_by, updated_by, version
+)
+SELECT
+    id, subscription_id, feature_code, usage_count, plan_limit, usage_percentage,
+    recorded_at, limit_exceeded, created_at, updated_at, created_by, updated_by, version
+FROM usage_records_legacy;
+
+-- Elimina también los índices single-column de V3
+DROP TABLE usage_records_legacy;
+
+ALTER SEQUENCE usage_records_id_seq OWNED BY usage_records.id;
+ALTER INDEX usage_records_partitioned_pkey RENAME TO usage_records_pkey;
+
+CREATE TRIGGER update_usage_records_updated_at BEFORE UPDATE ON usage_records FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- ============================================
+-- ÍNDICES
+-- ============================================
+
+-- Último uso por (subscription, feature): findTopBy...OrderByRecordedAtDesc y el
+-- DISTINCT ON de getCurrentLimits. INCLUDE usage_count permite index-only scans.
+CREATE INDEX idx_usage_records_subscription_feature_recorded
+    ON usage_records(subscription_id, feature_code, recorded_at DESC)
+    INCLUDE (usage_count);
+
+-- Alertas: findByLimitExceededTrueAndRecordedAtAfter
+CREATE INDEX idx_usage_records_exceeded_recorded
+    ON usage_records(recorded_at DESC)
+    WHERE limit_exceeded = true;
@@ -0,0 +1,44 @@
+-- V7__Create_Usage_Daily_Aggregates.sql
+
+-- Tabla: usage_daily_aggregates
+-- Resumen por (subscription, feature, día) construido por UsageRecordJob a
+-- partir de usage_records. Analytics e histórico de límites leen de aquí.
+CREATE TABLE usage_daily_aggregates (
+    id BIGSERIAL PRIMARY KEY,
+    subscription_id BIGINT NOT NULL REFERENCES subscriptions(id) ON DELETE CASCADE,
+    feature_code VARCHAR(50) NOT NULL,
+    usage_date DATE NOT NULL,
+    min_usage INTEGER NOT NULL,
+    max_usage INTEGER NOT NULL,
+    last_usage INTEGER NOT NULL,
+    plan_limit INTEGER,
+    sample_count INTEGER NOT NULL,
+    limit_exceeded BOOLEAN NOT NULL DEFAULT false,
+    last_recorded_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uq_usage_daily_aggregates_subscription_feature_date UNIQUE (subscription_id, feature_code, usage_date)
+);
+CREATE TRIGGER update_usage_daily_aggregates_updated_at BEFORE UPDATE ON usage_daily_aggregates FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- Tabla: job_checkpoints
+-- Watermark de jobs incrementales. Se actualiza en la misma transacción
+-- que el trabajo del chunk: después de un crash el job retoma desde aquí.
+CREATE TABLE job_checkpoints (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(100) UNIQUE NOT NULL,
+    watermark_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    watermark_id BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0
+);
+CREATE TRIGGER update_job_checkpoints_updated_at BEFORE UPDATE ON job_checkpoints FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- Keyset de UsageRecordJob: (recorded_at, id) > watermark
+CREATE INDEX idx_usage_records_recorded_id ON usage_records(recorded_at, id);
@@ -0,0 +1,7 @@
+-- V8__Create_Subscription_Change_Index.sql
+
+-- Feed incremental de entitlements (GET /api/entitlements/feed):
+-- keyset sobre (última modificación, id). updated_at es NULL en filas
+-- que nunca se actualizaron, por eso la expresión con COALESCE.
+CREATE INDEX idx_subscriptions_changed
+    ON subscriptions ((COALESCE(updated_at, created_at)), id);
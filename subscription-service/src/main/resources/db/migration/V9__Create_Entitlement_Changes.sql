@@ -0,0 +1,22 @@
+-- V9__Create_Entitlement_Changes.sql
+
+-- Tabla: entitlement_changes
+-- Log append-only de cambios de entitlements (status / plan) por organización.
+-- Se inserta en la MISMA transacción que el cambio de la subscription.
+-- El id (secuencia) es el cursor de GET /api/entitlements/changes.
+-- Las filas viejas se eliminan con EntitlementChangeRetentionJob.
+CREATE TABLE entitlement_changes (
+    id BIGSERIAL PRIMARY KEY,
+    organization_id BIGINT NOT NULL,
+    subscription_id BIGINT NOT NULL REFERENCES subscriptions(id) ON DELETE CASCADE,
+    change_type VARCHAR(30) NOT NULL,
+    plan_code VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_entitlement_changes_created_at ON entitlement_changes(created_at);
@@ -0,0 +1,87 @@
+package com.eklesa.subscription.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Índices usados por las queries de scheduler y webhooks (EXPLAIN).
+ *
+ * Con tablas casi vacías el planner prefiere un seq scan; se desactiva
+ * para verificar que exista un índice aplicable a cada query.
+ */
+@SpringBootTest
+class QueryIndexUsageTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void trialRemindersUsePartialTrialingIndex() {
+		assertThat(explain("SELECT * FROM subscriptions WHERE status = 'TRIALING' "
+				+ "AND trial_end_date >= now() AND trial_end_date < now() + interval '8 days'"))
+			.contains("idx_subscriptions_trialing_end");
+	}
+
+	@Test
+	void dueDeadlinesUseDeadlineIndex() {
+		assertThat(explain("SELECT id FROM subscriptions WHERE next_deadline_action = 'EXPIRE_TRIAL' "
+				+ "AND next_deadline_at <= now() AND status = 'TRIALING' ORDER BY next_deadline_at LIMIT 100"))
+			.contains("idx_subscriptions_next_deadline");
+		assertThat(explain("SELECT id FROM subscriptions WHERE next_deadline_action = 'SUSPEND' "
+				+ "AND next_deadline_at <= now() AND status = 'GRACE_PERIOD' ORDER BY next_deadline_at LIMIT 100"))
+			.contains("idx_subscriptions_next_deadline");
+	}
+
+	@Test
+	void invoiceLookupsUseMatchingIndexes() {
+		assertThat(explain("SELECT * FROM invoices WHERE subscription_id = 1 ORDER BY created_at DESC LIMIT 20"))
+			.contains("idx_invoices_subscription_created");
+		assertThat(explain("SELECT * FROM invoices WHERE paypal_invoice_id = 'INV2-TEST'"))
+			.contains("idx_invoices_paypal_invoice_id");
+		assertThat(explain("SELECT * FROM invoices WHERE status = 'PENDING' AND due_date < now()"))
+			.contains("idx_invoices_status_due_date");
+	}
+
+	@Test
+	void redundantIndexesAreDropped() {
+		List<String> indexes = jdbcTemplate.queryForList(
+			"SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()", String.class);
+
+		assertThat(indexes).doesNotContain(
+			"idx_plans_code",
+			"idx_subscriptions_organization_id",
+			"idx_subscriptions_paypal_id",
+			"idx_subscriptions_trial_end",
+			"idx_invoices_subscription_id",
+			"idx_invoices_status");
+	}
+
+	private String explain(String sql) {
+		return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("SET enable_seqscan = off");
+				try {
+					StringBuilder plan = new StringBuilder();
+					try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+						while (rs.next()) {
+							plan.append(rs.getString(1)).append('\n');
+						}
+					}
+					return plan.toString();
+				} finally {
+					statement.execute("RESET enable_seqscan");
+				}
+			}
+		});
+	}
+
+}
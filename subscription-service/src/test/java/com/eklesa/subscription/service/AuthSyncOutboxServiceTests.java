@@ -0,0 +1,141 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.client.AuthServiceClient;
+import com.eklesa.subscription.client.dto.UpdateSubscriptionStatusRequest;
+import com.eklesa.subscription.model.AuthSyncOutbox;
+import com.eklesa.subscription.repository.AuthSyncOutboxRepository;
+import com.eklesa.subscription.scheduler.AuthSyncRelayJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * auth_sync_outbox: coalescing por org, claim con lease, borrado de lo
+ * entregado y backoff de los fallos.
+ *
+ * auth-service es un mock; el relay programado también.
+ */
+@SpringBootTest(properties = "app.auth-sync.initial-backoff=PT30S")
+class AuthSyncOutboxServiceTests {
+
+	@Autowired
+	private AuthSyncOutboxService authSyncOutboxService;
+
+	@Autowired
+	private AuthSyncOutboxRepository authSyncOutboxRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	private AuthServiceClient authServiceClient;
+
+	@MockitoBean
+	private AuthSyncRelayJob authSyncRelayJob;
+
+	private Long orgA;
+	private Long orgB;
+
+	@BeforeEach
+	void setUp() {
+		orgA = SubscriptionFixtures.newOrganizationId();
+		orgB = SubscriptionFixtures.newOrganizationId();
+	}
+
+	@Test
+	void enqueueCoalescesToLatestStatusPerOrganization() {
+		authSyncOutboxRepository.upsert(orgA, "TRIALING", null);
+		authSyncOutboxRepository.upsert(orgA, "GRACE_PERIOD", null);
+
+		List<AuthSyncOutbox> claimed = claim();
+		assertThat(claimed).hasSize(1);
+		assertThat(claimed.get(0).getSubscriptionStatus()).isEqualTo("GRACE_PERIOD");
+		assertThat(claimed.get(0).getRevision()).isEqualTo(1L);
+
+		// Lease vigente: no se reclama otra vez
+		assertThat(claim()).isEmpty();
+	}
+
+	@Test
+	void deliveredRowsAreDeleted() {
+		authSyncOutboxRepository.upsert(orgA, "ACTIVE", null);
+
+		int delivered = authSyncOutboxService.deliver(claim());
+
+		assertThat(delivered).isEqualTo(1);
+		assertThat(row(orgA)).isNull();
+	}
+
+	@Test
+	void failureBacksOffAndReleasesRestOfBatch() {
+		authSyncOutboxRepository.upsert(orgA, "ACTIVE", null);
+		authSyncOutboxRepository.upsert(orgB, "ACTIVE", null);
+		doThrow(new IllegalStateException("auth-service down"))
+			.when(authServiceClient).updateSubscriptionStatus(argThat(request -> request != null));
+
+		List<AuthSyncOutbox> claimed = claim();
+		int delivered = authSyncOutboxService.deliver(claimed);
+
+		assertThat(delivered).isZero();
+
+		Map<String, Object> failed = row(claimed.get(0).getOrganizationId());
+		assertThat(failed.get("attempts")).isEqualTo(1);
+		assertThat(failed.get("locked_until")).isNull();
+		assertThat(((Timestamp) failed.get("next_attempt_at")).toLocalDateTime())
+			.isAfter(LocalDateTime.now().plusSeconds(20));
+		assertThat((String) failed.get("last_error")).contains("auth-service down");
+
+		// El resto del lote se libera sin contar un intento
+		Map<String, Object> released = row(claimed.get(1).getOrganizationId());
+		assertThat(released.get("attempts")).isEqualTo(0);
+		assertThat(released.get("locked_until")).isNull();
+	}
+
+	@Test
+	void revisionEnqueuedDuringDeliveryIsKept() {
+		authSyncOutboxRepository.upsert(orgA, "TRIALING", null);
+		doAnswer(invocation -> {
+			// Cambio de estado mientras el PUT está en curso
+			authSyncOutboxRepository.upsert(orgA, "ACTIVE", null);
+			return null;
+		}).when(authServiceClient).updateSubscriptionStatus(argThat(this::isOrgATrialing));
+
+		int delivered = authSyncOutboxService.deliver(claim());
+
+		assertThat(delivered).isEqualTo(1);
+		Map<String, Object> pending = row(orgA);
+		assertThat(pending.get("subscription_status")).isEqualTo("ACTIVE");
+		assertThat(pending.get("locked_until")).isNull();
+	}
+
+	private boolean isOrgATrialing(UpdateSubscriptionStatusRequest request) {
+		return request != null && orgA.equals(request.getOrganizationId())
+			&& "TRIALING".equals(request.getSubscriptionStatus());
+	}
+
+	private List<AuthSyncOutbox> claim() {
+		return authSyncOutboxService.claimBatch(1_000).stream()
+			.filter(entry -> entry.getOrganizationId().equals(orgA) || entry.getOrganizationId().equals(orgB))
+			.toList();
+	}
+
+	private Map<String, Object> row(Long organizationId) {
+		List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+			"SELECT * FROM auth_sync_outbox WHERE organization_id = ?", organizationId);
+		return rows.isEmpty() ? null : rows.get(0);
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.response.EntitlementChangeDTO;
+import com.eklesa.subscription.dto.response.EntitlementChangesResponse;
+import com.eklesa.subscription.dto.response.SubscriptionDTO;
+import com.eklesa.subscription.exception.SubscriptionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Stream de cambios: cursor por orden de commit.
+ */
+@SpringBootTest
+class EntitlementChangeServiceTests {
+
+	@Autowired
+	private EntitlementChangeService entitlementChangeService;
+
+	@Autowired
+	private SubscriptionService subscriptionService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void lateCommitIsNotSkipped() throws Exception {
+		SubscriptionDTO late = SubscriptionFixtures.startTrial(subscriptionService);
+		SubscriptionDTO early = SubscriptionFixtures.startTrial(subscriptionService);
+		Set<Long> organizations = Set.of(late.getOrganizationId(), early.getOrganizationId());
+		String start = entitlementChangeService.getChanges(null, 1).getCursor();
+
+		// Transacción con xid menor que hace commit después
+		CountDownLatch inserted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> pending = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.update("INSERT INTO entitlement_changes (organization_id, subscription_id, change_type, "
+				+ "plan_code, status, created_at, version) VALUES (?, ?, 'SUSPENDED', 'TRIAL', 'SUSPENDED', CURRENT_TIMESTAMP, 0)",
+				late.getOrganizationId(), late.getId());
+			inserted.countDown();
+			await(release);
+		}));
+		assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+		subscriptionService.suspendSubscription(early.getId());
+
+		// Mientras la primera no termina, ninguna de las dos se entrega
+		List<EntitlementChangeDTO> beforeCommit = new ArrayList<>();
+		String cursor = drain(start, beforeCommit);
+		assertThat(beforeCommit).extracting(EntitlementChangeDTO::getOrganizationId).doesNotContainAnyElementsOf(organizations);
+
+		release.countDown();
+		pending.get(10, TimeUnit.SECONDS);
+
+		// Desde el cursor ya avanzado: las dos, en orden de commit por xid
+		List<EntitlementChangeDTO> afterCommit = new ArrayList<>();
+		drain(cursor, afterCommit);
+		assertThat(afterCommit)
+			.filteredOn(change -> organizations.contains(change.getOrganizationId()))
+			.extracting(EntitlementChangeDTO::getOrganizationId)
+			.containsExactly(late.getOrganizationId(), early.getOrganizationId());
+	}
+
+	@Test
+	void cursorWithoutXidIsReadAsPreMigrationPosition() {
+		EntitlementChangesResponse legacy = entitlementChangeService.getChanges("5", 10);
+		EntitlementChangesResponse current = entitlementChangeService.getChanges("0_5", 10);
+
+		assertThat(legacy.getCursor()).isEqualTo(current.getCursor());
+		assertThat(legacy.getChanges()).extracting(EntitlementChangeDTO::getCursor)
+			.isEqualTo(current.getChanges().stream().map(EntitlementChangeDTO::getCursor).toList());
+		assertThatThrownBy(() -> entitlementChangeService.getChanges("not-a-cursor", 10))
+			.isInstanceOf(SubscriptionException.class);
+	}
+
+	private String drain(String cursor, List<EntitlementChangeDTO> changes) {
+		EntitlementChangesResponse page;
+		do {
+			page = entitlementChangeService.getChanges(cursor, 1_000);
+			changes.addAll(page.getChanges());
+			cursor = page.getCursor();
+		} while (page.getHasMore());
+		return cursor;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
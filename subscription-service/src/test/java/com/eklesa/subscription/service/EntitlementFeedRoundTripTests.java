@@ -0,0 +1,127 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.request.ValidateFeatureLimitRequest;
+import com.eklesa.subscription.dto.response.FeatureLimitValidationResponse;
+import com.eklesa.subscription.dto.response.SubscriptionDTO;
+import com.eklesa.subscription.entitlement.LimitDecision;
+import com.eklesa.subscription.entitlement.client.EntitlementClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Feed de entitlements de punta a punta: EntitlementFeedService -> JSON ->
+ * EntitlementClient, y la decisión local igual a la del servidor.
+ *
+ * El feed se sirve en proceso (sin la cadena de seguridad del controller).
+ */
+@SpringBootTest(properties = "app.entitlements.feed.lag=PT0S")
+class EntitlementFeedRoundTripTests {
+
+	private static final String[] FEATURES = {"CONTACTS", "DEALS", "USERS"};
+
+	@Autowired
+	private EntitlementFeedService entitlementFeedService;
+
+	@Autowired
+	private FeatureLimitService featureLimitService;
+
+	@Autowired
+	private SubscriptionService subscriptionService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private HttpServer server;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/api/entitlements/feed", exchange -> {
+			Map<String, String> params = params(exchange.getRequestURI().getRawQuery());
+			byte[] body = objectMapper.writeValueAsBytes(entitlementFeedService.getFeed(
+				params.get("cursor"), params.get("registryVersion"), Integer.parseInt(params.get("limit"))));
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void clientDecisionsMatchServer() throws Exception {
+		SubscriptionDTO trial = SubscriptionFixtures.startTrial(subscriptionService);
+		EntitlementClient client = EntitlementClient.builder("http://127.0.0.1:" + server.getAddress().getPort())
+			.build();
+
+		client.refresh();
+
+		assertThat(client.getOrganization(trial.getOrganizationId()))
+			.hasValueSatisfying(organization -> {
+				assertThat(organization.subscriptionId()).isEqualTo(trial.getId());
+				assertThat(organization.planId()).isEqualTo(trial.getPlan().getId());
+			});
+
+		for (String feature : FEATURES) {
+			for (int currentCount : new int[] {0, 1, 9, 10, 49, 50, 100, 1_000}) {
+				FeatureLimitValidationResponse server = featureLimitService.validateFeatureLimit(
+					ValidateFeatureLimitRequest.builder()
+						.organizationId(trial.getOrganizationId())
+						.featureCode(feature)
+						.currentCount(currentCount)
+						.incrementBy(1)
+						.build());
+				LimitDecision local = client.validate(trial.getOrganizationId(), feature, currentCount, 1).orElseThrow();
+
+				assertThat(local.allowed()).as("%s at %d", feature, currentCount).isEqualTo(server.getAllowed());
+				assertThat(local.maxLimit()).as("%s at %d", feature, currentCount).isEqualTo(server.getMaxLimit());
+			}
+		}
+	}
+
+	@Test
+	void incrementalRefreshPicksUpStatusChange() throws Exception {
+		SubscriptionDTO trial = SubscriptionFixtures.startTrial(subscriptionService);
+		EntitlementClient client = EntitlementClient.builder("http://127.0.0.1:" + server.getAddress().getPort())
+			.build();
+		client.refresh();
+		assertThat(client.validate(trial.getOrganizationId(), "CONTACTS", 0, 1).orElseThrow().allowed()).isTrue();
+
+		subscriptionService.suspendSubscription(trial.getId());
+		client.refresh();
+
+		assertThat(client.getOrganization(trial.getOrganizationId()).orElseThrow().status()).isEqualTo("SUSPENDED");
+		assertThat(client.validate(trial.getOrganizationId(), "CONTACTS", 0, 1).orElseThrow().outcome())
+			.isEqualTo(LimitDecision.Outcome.INACTIVE);
+	}
+
+	private static Map<String, String> params(String query) {
+		Map<String, String> params = new HashMap<>();
+		for (String pair : query.split("&")) {
+			int separator = pair.indexOf('=');
+			params.put(pair.substring(0, separator), URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+		}
+		return params;
+	}
+
+}
@@ -0,0 +1,127 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.model.EventOutbox;
+import com.eklesa.subscription.repository.EventOutboxRepository;
+import com.eklesa.subscription.scheduler.EventOutboxRelayJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * event_outbox: claim por cabeza de cola de cada org, borrado de los
+ * publicados y backoff de los fallidos.
+ *
+ * SQS es un mock; el relay programado también (no compite por los eventos).
+ */
+@SpringBootTest(properties = "app.events.outbox.initial-backoff=PT30S")
+class EventOutboxServiceTests {
+
+	@Autowired
+	private EventOutboxService eventOutboxService;
+
+	@Autowired
+	private EventOutboxRepository eventOutboxRepository;
+
+	@MockitoBean
+	private SqsAsyncClient sqsAsyncClient;
+
+	@MockitoBean
+	private EventOutboxRelayJob eventOutboxRelayJob;
+
+	private Long orgA;
+	private Long orgB;
+
+	@BeforeEach
+	void setUp() {
+		orgA = SubscriptionFixtures.newOrganizationId();
+		orgB = SubscriptionFixtures.newOrganizationId();
+	}
+
+	@Test
+	void claimTakesOnlyTheHeadOfEachOrganization() {
+		EventOutbox a1 = save(orgA);
+		save(orgA);
+		EventOutbox b1 = save(orgB);
+
+		assertThat(claim()).extracting(EventOutbox::getId).containsExactlyInAnyOrder(a1.getId(), b1.getId());
+
+		// Lease vigente: no se reclaman otra vez
+		assertThat(claim()).isEmpty();
+	}
+
+	@Test
+	void publishDeletesSentEventsAndBacksOffFailedOnes() {
+		EventOutbox a1 = save(orgA);
+		EventOutbox a2 = save(orgA);
+		EventOutbox b1 = save(orgB);
+		failEntries(Set.of(String.valueOf(b1.getId())));
+
+		List<EventOutbox> claimed = claim();
+		int published = eventOutboxService.publish(claimed);
+
+		assertThat(published).isEqualTo(1);
+		assertThat(eventOutboxRepository.findById(a1.getId())).isEmpty();
+
+		EventOutbox failed = eventOutboxRepository.findById(b1.getId()).orElseThrow();
+		assertThat(failed.getAttempts()).isEqualTo(1);
+		assertThat(failed.getLockedUntil()).isNull();
+		assertThat(failed.getLastError()).startsWith("ServiceUnavailable");
+		assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+
+		// a2 pasa a ser la cabeza de orgA; b1 espera su backoff
+		assertThat(claim()).extracting(EventOutbox::getId).containsExactly(a2.getId());
+	}
+
+	private EventOutbox save(Long organizationId) {
+		return eventOutboxRepository.save(EventOutbox.builder()
+			.eventId(UUID.randomUUID().toString())
+			.organizationId(organizationId)
+			.eventType("TEST_EVENT")
+			.payload("{}")
+			.nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+			.build());
+	}
+
+	private List<EventOutbox> claim() {
+		return eventOutboxService.claimBatch(1_000).stream()
+			.filter(event -> event.getOrganizationId().equals(orgA) || event.getOrganizationId().equals(orgB))
+			.toList();
+	}
+
+	private void failEntries(Set<String> failedIds) {
+		when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+			SendMessageBatchRequest request = invocation.getArgument(0);
+			SendMessageBatchResponse.Builder response = SendMessageBatchResponse.builder()
+				.successful(request.entries().stream()
+					.map(SendMessageBatchRequestEntry::id)
+					.filter(id -> !failedIds.contains(id))
+					.map(id -> SendMessageBatchResultEntry.builder().id(id).messageId(UUID.randomUUID().toString()).build())
+					.toList())
+				.failed(request.entries().stream()
+					.map(SendMessageBatchRequestEntry::id)
+					.filter(failedIds::contains)
+					.map(id -> BatchResultErrorEntry.builder().id(id).code("ServiceUnavailable").message("try again").senderFault(false).build())
+					.toList());
+			return CompletableFuture.completedFuture(response.build());
+		});
+	}
+
+}
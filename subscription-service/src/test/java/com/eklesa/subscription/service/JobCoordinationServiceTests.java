@@ -0,0 +1,155 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.repository.SchedulerInstanceRepository;
+import com.eklesa.subscription.repository.SchedulerLeaseRepository;
+import com.eklesa.subscription.service.JobCoordinationService.JobShard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Leases de scheduler_leases (acquire/release, min-lease) y membresía de
+ * instancias por heartbeat.
+ *
+ * Cada test usa su propio lock_name e instance_id: no compite con los jobs
+ * programados.
+ */
+@SpringBootTest
+class JobCoordinationServiceTests {
+
+	private static final long LEASE_SECONDS = 300;
+
+	@Autowired
+	private JobCoordinationService jobCoordinationService;
+
+	@Autowired
+	private SchedulerLeaseRepository schedulerLeaseRepository;
+
+	@Autowired
+	private SchedulerInstanceRepository schedulerInstanceRepository;
+
+	private String lockName;
+
+	@BeforeEach
+	void setUp() {
+		lockName = "test-" + UUID.randomUUID();
+	}
+
+	@Test
+	void leaseIsExclusiveUntilReleased() {
+		assertThat(schedulerLeaseRepository.tryAcquire(lockName, "instance-a", LEASE_SECONDS)).isEqualTo(1);
+		assertThat(schedulerLeaseRepository.tryAcquire(lockName, "instance-b", LEASE_SECONDS)).isZero();
+
+		// El dueño puede renovarlo
+		assertThat(schedulerLeaseRepository.tryAcquire(lockName, "instance-a", LEASE_SECONDS)).isEqualTo(1);
+
+		// Solo el dueño lo libera
+		assertThat(schedulerLeaseRepository.release(lockName, "instance-b", 0)).isZero();
+		assertThat(schedulerLeaseRepository.release(lockName, "instance-a", 0)).isEqualTo(1);
+
+		assertThat(schedulerLeaseRepository.tryAcquire(lockName, "instance-b", LEASE_SECONDS)).isEqualTo(1);
+	}
+
+	@Test
+	void releaseKeepsLeaseUntilMinLease() {
+		assertThat(schedulerLeaseRepository.tryAcquire(lockName, "instance-a", LEASE_SECONDS)).isEqualTo(1);
+		assertThat(schedulerLeaseRepository.release(lockName, "instance-a", LEASE_SECONDS)).isEqualTo(1);
+
+		// Un cron tardío en otra instancia no repite el job
+		assertThat(schedulerLeaseRepository.tryAcquire(lockName, "instance-b", LEASE_SECONDS)).isZero();
+	}
+
+	@Test
+	void runExclusiveSkipsWhenAnotherInstanceHoldsLease() {
+		schedulerLeaseRepository.tryAcquire(lockName, "instance-other", LEASE_SECONDS);
+		AtomicBoolean ran = new AtomicBoolean();
+
+		assertThat(jobCoordinationService.runExclusive(lockName, () -> ran.set(true))).isFalse();
+		assertThat(ran).isFalse();
+	}
+
+	@Test
+	void runExclusiveRunsAndKeepsMinLease() {
+		AtomicBoolean ran = new AtomicBoolean();
+
+		assertThat(jobCoordinationService.runExclusive(lockName, () -> ran.set(true))).isTrue();
+		assertThat(ran).isTrue();
+
+		// min-lease (PT5M por defecto) sigue vigente tras terminar
+		assertThat(schedulerLeaseRepository.tryAcquire(lockName, "instance-other", LEASE_SECONDS)).isZero();
+	}
+
+	@Test
+	void heartbeatJoinsAndDeregisterLeavesLiveInstances() {
+		String instanceId = "test-" + UUID.randomUUID();
+
+		schedulerInstanceRepository.heartbeat(instanceId);
+		assertThat(schedulerInstanceRepository.findLiveInstanceIds(30)).contains(instanceId);
+
+		schedulerInstanceRepository.deleteByInstanceId(instanceId);
+		assertThat(schedulerInstanceRepository.findLiveInstanceIds(30)).doesNotContain(instanceId);
+	}
+
+	@Test
+	void currentShardCoversThisInstance() {
+		JobShard shard = jobCoordinationService.currentShard();
+
+		assertThat(shard.count()).isGreaterThanOrEqualTo(1);
+		assertThat(shard.index()).isBetween(0, shard.count() - 1);
+	}
+
+	@Test
+	void runShardedCoversShardOfInstanceThatNeverRuns() {
+		String idleInstance = "test-" + UUID.randomUUID();
+		schedulerInstanceRepository.heartbeat(idleInstance);
+		try {
+			List<JobShard> shards = new CopyOnWriteArrayList<>();
+
+			int ran = jobCoordinationService.runSharded(lockName, shards::add);
+
+			int count = shards.get(0).count();
+			assertThat(count).isGreaterThanOrEqualTo(2);
+			assertThat(ran).isEqualTo(count);
+			assertThat(shards).extracting(JobShard::index)
+				.containsExactlyInAnyOrderElementsOf(IntStream.range(0, count).boxed().toList());
+		} finally {
+			schedulerInstanceRepository.deleteByInstanceId(idleInstance);
+		}
+	}
+
+	@Test
+	void runShardedSkipsShardsHeldByAnotherInstance() {
+		JobShard own = jobCoordinationService.currentShard();
+		for (int index = 0; index < own.count(); index++) {
+			schedulerLeaseRepository.tryAcquire(lockName + "#" + new JobShard(index, own.count()), "instance-other", LEASE_SECONDS);
+		}
+		AtomicBoolean ran = new AtomicBoolean();
+
+		assertThat(jobCoordinationService.runSharded(lockName, shard -> ran.set(true))).isZero();
+		assertThat(ran).isFalse();
+	}
+
+	@Test
+	void shardsPartitionOrganizations() {
+		int count = 3;
+		for (long organizationId = 0; organizationId < 30; organizationId++) {
+			long owners = 0;
+			for (int index = 0; index < count; index++) {
+				if (new JobShard(index, count).contains(organizationId)) {
+					owners++;
+				}
+			}
+			assertThat(owners).isEqualTo(1);
+		}
+	}
+
+}
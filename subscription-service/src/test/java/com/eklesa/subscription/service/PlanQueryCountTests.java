@@ -0,0 +1,150 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.catalog.PlanCatalog;
+import com.eklesa.subscription.dto.request.UpgradePlanRequest;
+import com.eklesa.subscription.dto.response.SubscriptionDTO;
+import com.eklesa.subscription.model.Plan;
+import com.eklesa.subscription.model.enums.BillingPeriod;
+import com.eklesa.subscription.repository.PlanRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cantidad de statements SQL de las lecturas de planes (sin N+1).
+ *
+ * Las operaciones de subscription mapean el plan con
+ * PlanCatalogService.getPlanDTO: el plan sale del catálogo, sin queries
+ * extra. Se cuentan con ThreadStatementCounter (solo el hilo del test).
+ */
+@SpringBootTest(properties = {
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.eklesa.subscription.service.ThreadStatementCounter"
+})
+@AutoConfigureMockMvc
+class PlanQueryCountTests {
+
+	@Autowired
+	private PlanRepository planRepository;
+
+	@Autowired
+	private PlanService planService;
+
+	@Autowired
+	private PlanCatalogService planCatalogService;
+
+	@Autowired
+	private SubscriptionService subscriptionService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		// Catálogo ya construido: no cuenta en las operaciones
+		planCatalogService.getCatalog();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		ThreadStatementCounter.reset();
+	}
+
+	@Test
+	void activePlansAndFeaturesLoadInOneStatement() {
+		List<Plan> plans = planRepository.findActiveWithFeatures();
+		plans.forEach(planService::mapToDTO);
+
+		assertThat(plans).isNotEmpty();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void plansEndpointIsServedFromCatalog() throws Exception {
+		PlanCatalog catalog = planCatalogService.getCatalog();
+		statistics.clear();
+
+		mockMvc.perform(get("/api/plans"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, catalog.getEtag()));
+
+		mockMvc.perform(get("/api/plans").header(HttpHeaders.IF_NONE_MATCH, catalog.getEtag()))
+			.andExpect(status().isNotModified());
+
+		mockMvc.perform(get("/api/plans/featured"))
+			.andExpect(status().isOk());
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void subscriptionReadMapsPlanFromCatalog() {
+		Long organizationId = SubscriptionFixtures.startTrial(subscriptionService).getOrganizationId();
+		ThreadStatementCounter.reset();
+
+		SubscriptionDTO subscription = subscriptionService.getByOrganizationId(organizationId);
+
+		assertThat(subscription.getPlan()).isNotNull();
+		// subscription + plan (EAGER)
+		assertThat(ThreadStatementCounter.count()).isEqualTo(2);
+	}
+
+	@Test
+	void startTrialMapsPlanFromCatalog() {
+		SubscriptionDTO subscription = SubscriptionFixtures.startTrial(subscriptionService);
+
+		assertThat(subscription.getPlan()).isNotNull();
+		// subscription previa, plan del trial, INSERT subscription, auth_sync_outbox,
+		// entitlement_changes, event_outbox
+		assertThat(ThreadStatementCounter.count()).isEqualTo(6);
+	}
+
+	@Test
+	void activateMapsPlanFromCatalog() {
+		Long organizationId = SubscriptionFixtures.startTrial(subscriptionService).getOrganizationId();
+		ThreadStatementCounter.reset();
+
+		SubscriptionDTO subscription = subscriptionService.activateSubscription(
+			organizationId, "PROFESSIONAL", "I-" + organizationId, "PAYER-" + organizationId, "MONTHLY");
+
+		assertThat(subscription.getPlan().getCode()).isEqualTo("PROFESSIONAL");
+		// subscription + plan (EAGER), plan nuevo, UPDATE subscription, auth_sync_outbox,
+		// entitlement_changes, event_outbox
+		assertThat(ThreadStatementCounter.count()).isEqualTo(7);
+	}
+
+	@Test
+	void upgradeMapsPlanFromCatalog() {
+		Long organizationId = SubscriptionFixtures.startTrial(subscriptionService).getOrganizationId();
+		ThreadStatementCounter.reset();
+
+		SubscriptionDTO subscription = subscriptionService.upgradePlan(UpgradePlanRequest.builder()
+			.organizationId(organizationId)
+			.planCode("PROFESSIONAL")
+			.billingPeriod(BillingPeriod.MONTHLY)
+			.build());
+
+		assertThat(subscription.getPlan().getCode()).isEqualTo("PROFESSIONAL");
+		// subscription + plan (EAGER), plan nuevo, UPDATE subscription, auth_sync_outbox,
+		// entitlement_changes, event_outbox
+		assertThat(ThreadStatementCounter.count()).isEqualTo(7);
+	}
+
+}
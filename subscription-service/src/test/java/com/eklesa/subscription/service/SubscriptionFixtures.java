@@ -0,0 +1,32 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.request.StartTrialRequest;
+import com.eklesa.subscription.dto.response.SubscriptionDTO;
+import com.eklesa.subscription.model.enums.OrganizationType;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Datos de prueba compartidos por los tests de integración.
+ *
+ * Cada test crea sus propias organizaciones (ids al azar): no depende de
+ * datos previos ni de lo que dejen otros tests en la misma BD.
+ */
+final class SubscriptionFixtures {
+
+	private SubscriptionFixtures() {
+	}
+
+	static long newOrganizationId() {
+		return ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+	}
+
+	static SubscriptionDTO startTrial(SubscriptionService subscriptionService) {
+		return subscriptionService.startTrial(StartTrialRequest.builder()
+			.organizationId(newOrganizationId())
+			.organizationType(OrganizationType.BUSINESS)
+			.ownerEmail("owner@example.com")
+			.build());
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.eklesa.subscription.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta los statements SQL que Hibernate prepara en el hilo actual.
+ *
+ * A diferencia de Statistics (global), no cuenta los scheduled jobs ni los
+ * listeners @Async que corren en otros hilos después del commit.
+ *
+ * Se registra con hibernate.session_factory.statement_inspector.
+ */
+public class ThreadStatementCounter implements StatementInspector {
+
+	private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+	@Override
+	public String inspect(String sql) {
+		COUNT.set(COUNT.get() + 1);
+		return sql;
+	}
+
+	static void reset() {
+		COUNT.set(0);
+	}
+
+	static int count() {
+		return COUNT.get();
+	}
+
+}
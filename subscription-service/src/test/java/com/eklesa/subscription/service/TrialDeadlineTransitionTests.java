@@ -0,0 +1,124 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.response.SubscriptionDTO;
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.enums.SubscriptionDeadlineAction;
+import com.eklesa.subscription.model.enums.SubscriptionStatus;
+import com.eklesa.subscription.repository.SubscriptionRepository;
+import com.eklesa.subscription.scheduler.AuthSyncRelayJob;
+import com.eklesa.subscription.scheduler.EventOutboxRelayJob;
+import com.eklesa.subscription.scheduler.TrialExpirationJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cola de deadlines: TRIALING -> GRACE_PERIOD -> SUSPENDED vía
+ * next_deadline_at / next_deadline_action.
+ *
+ * Los deadlines se mueven al pasado con JdbcTemplate; el job programado es
+ * un mock para que no tome las filas del test.
+ */
+@SpringBootTest
+class TrialDeadlineTransitionTests {
+
+	private static final LocalDateTime PAST = LocalDateTime.of(2000, 1, 1, 0, 0);
+	private static final int LIMIT = 100;
+
+	@Autowired
+	private SubscriptionService subscriptionService;
+
+	@Autowired
+	private SubscriptionRepository subscriptionRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	private TrialExpirationJob trialExpirationJob;
+
+	@MockitoBean
+	private AuthSyncRelayJob authSyncRelayJob;
+
+	@MockitoBean
+	private EventOutboxRelayJob eventOutboxRelayJob;
+
+	@Test
+	void startTrialSchedulesExpiration() {
+		Subscription subscription = find(SubscriptionFixtures.startTrial(subscriptionService));
+
+		assertThat(subscription.getNextDeadlineAction()).isEqualTo(SubscriptionDeadlineAction.EXPIRE_TRIAL);
+		assertThat(subscription.getNextDeadlineAt()).isEqualTo(subscription.getTrialEndDate());
+	}
+
+	@Test
+	void dueTrialMovesToGracePeriodThenSuspended() {
+		SubscriptionDTO trial = SubscriptionFixtures.startTrial(subscriptionService);
+		LocalDateTime movedAt = moveDeadlineToPast(trial.getId());
+
+		LocalDateTime now = LocalDateTime.now();
+		assertThat(subscriptionService.expireTrials(now, LIMIT))
+			.extracting(Subscription::getId).contains(trial.getId());
+
+		Subscription grace = find(trial);
+		assertThat(grace.getStatus()).isEqualTo(SubscriptionStatus.GRACE_PERIOD);
+		assertThat(grace.getNextDeadlineAction()).isEqualTo(SubscriptionDeadlineAction.SUSPEND);
+		assertThat(grace.getNextDeadlineAt()).isAfter(now.plusDays(6));
+		assertThat(grace.getUpdatedAt()).isAfter(movedAt);
+		assertThat(pendingAuthSync(trial.getOrganizationId())).isEqualTo("GRACE_PERIOD");
+
+		// El grace period aún no vence: no se suspende
+		assertThat(subscriptionService.suspendExpiredGracePeriods(LocalDateTime.now(), LIMIT))
+			.extracting(Subscription::getId).doesNotContain(trial.getId());
+
+		movedAt = moveDeadlineToPast(trial.getId());
+		assertThat(subscriptionService.suspendExpiredGracePeriods(LocalDateTime.now(), LIMIT))
+			.extracting(Subscription::getId).contains(trial.getId());
+
+		Subscription suspended = find(trial);
+		assertThat(suspended.getStatus()).isEqualTo(SubscriptionStatus.SUSPENDED);
+		assertThat(suspended.getNextDeadlineAt()).isNull();
+		assertThat(suspended.getNextDeadlineAction()).isNull();
+		assertThat(suspended.getUpdatedAt()).isAfter(movedAt);
+		assertThat(pendingAuthSync(trial.getOrganizationId())).isEqualTo("SUSPENDED");
+
+		// Sin deadline: ninguna corrida posterior la vuelve a tomar
+		assertThat(subscriptionService.expireTrials(LocalDateTime.now(), LIMIT))
+			.extracting(Subscription::getId).doesNotContain(trial.getId());
+	}
+
+	@Test
+	void trialIsNotExpiredBeforeItsDeadline() {
+		SubscriptionDTO trial = SubscriptionFixtures.startTrial(subscriptionService);
+
+		assertThat(subscriptionService.expireTrials(LocalDateTime.now(), LIMIT))
+			.extracting(Subscription::getId).doesNotContain(trial.getId());
+		assertThat(find(trial).getStatus()).isEqualTo(SubscriptionStatus.TRIALING);
+	}
+
+	private Subscription find(SubscriptionDTO subscription) {
+		return subscriptionRepository.findById(subscription.getId()).orElseThrow();
+	}
+
+	/**
+	 * RETORNA: updated_at después de mover el deadline (el trigger de
+	 * subscriptions lo pone en CURRENT_TIMESTAMP).
+	 */
+	private LocalDateTime moveDeadlineToPast(Long subscriptionId) {
+		return jdbcTemplate.queryForObject("UPDATE subscriptions SET next_deadline_at = ? WHERE id = ? RETURNING updated_at",
+			Timestamp.class, PAST, subscriptionId).toLocalDateTime();
+	}
+
+	private String pendingAuthSync(Long organizationId) {
+		return jdbcTemplate.queryForObject(
+			"SELECT subscription_status FROM auth_sync_outbox WHERE organization_id = ?", String.class, organizationId);
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.response.SubscriptionDTO;
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.enums.TrialReminderKind;
+import com.eklesa.subscription.repository.SubscriptionRepository;
+import com.eklesa.subscription.scheduler.EventOutboxRelayJob;
+import com.eklesa.subscription.scheduler.TrialReminderJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * trial_reminders_sent: registro, liberación de los emails fallidos y
+ * TrialExpiringEvent solo para los enviados.
+ *
+ * El job de recordatorios y el relay del outbox son mocks: no toman las
+ * filas del test.
+ */
+@SpringBootTest
+class TrialReminderClaimTests {
+
+	private static final TrialReminderKind KIND = TrialReminderKind.EXPIRING_7_DAYS;
+
+	@Autowired
+	private SubscriptionService subscriptionService;
+
+	@Autowired
+	private SubscriptionRepository subscriptionRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	private TrialReminderJob trialReminderJob;
+
+	@MockitoBean
+	private EventOutboxRelayJob eventOutboxRelayJob;
+
+	@Test
+	void claimSkipsAlreadyRegisteredReminders() {
+		Subscription trial = find(SubscriptionFixtures.startTrial(subscriptionService));
+
+		assertThat(subscriptionService.claimTrialReminders(List.of(trial), KIND))
+			.extracting(Subscription::getId).containsExactly(trial.getId());
+		assertThat(subscriptionService.claimTrialReminders(List.of(trial), KIND)).isEmpty();
+	}
+
+	@Test
+	void releasedReminderIsClaimedAgainAndPublishedOnce() {
+		Subscription trial = find(SubscriptionFixtures.startTrial(subscriptionService));
+
+		// Primer intento: el email falla
+		subscriptionService.claimTrialReminders(List.of(trial), KIND);
+		subscriptionService.releaseTrialReminders(List.of(trial), KIND);
+		assertThat(trialExpiringEvents(trial)).isZero();
+
+		// Reintento: se registra de nuevo y el email sale
+		assertThat(subscriptionService.claimTrialReminders(List.of(trial), KIND))
+			.extracting(Subscription::getId).containsExactly(trial.getId());
+		subscriptionService.confirmTrialReminders(List.of(trial), KIND);
+
+		assertThat(trialExpiringEvents(trial)).isEqualTo(1);
+	}
+
+	private Subscription find(SubscriptionDTO subscription) {
+		return subscriptionRepository.findById(subscription.getId()).orElseThrow();
+	}
+
+	private int trialExpiringEvents(Subscription subscription) {
+		return jdbcTemplate.queryForObject(
+			"SELECT COUNT(*) FROM event_outbox WHERE organization_id = ? AND event_type = 'TRIAL_EXPIRING'",
+			Integer.class, subscription.getOrganizationId());
+	}
+
+}
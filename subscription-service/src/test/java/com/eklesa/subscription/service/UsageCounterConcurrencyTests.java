@@ -0,0 +1,215 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.dto.request.ReserveUsageRequest;
+import com.eklesa.subscription.dto.request.ValidateFeatureLimitRequest;
+import com.eklesa.subscription.dto.response.FeatureLimitValidationResponse;
+import com.eklesa.subscription.dto.response.SubscriptionDTO;
+import com.eklesa.subscription.dto.response.UsageReservationResponse;
+import com.eklesa.subscription.exception.SubscriptionException;
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.UsageCounter;
+import com.eklesa.subscription.model.UsageRecord;
+import com.eklesa.subscription.repository.SubscriptionRepository;
+import com.eklesa.subscription.repository.UsageCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Contadores de uso: reserve/commit/release concurrentes, siembra desde
+ * usage_records y reconciliación con GREATEST.
+ */
+@SpringBootTest
+class UsageCounterConcurrencyTests {
+
+	private static final String FEATURE = "DEALS";
+	private static final int THREADS = 16;
+
+	@Autowired
+	private UsageCounterService usageCounterService;
+
+	@Autowired
+	private SubscriptionService subscriptionService;
+
+	@Autowired
+	private EntitlementCacheService entitlementCacheService;
+
+	@Autowired
+	private FeatureLimitService featureLimitService;
+
+	@Autowired
+	private UsageCounterRepository usageCounterRepository;
+
+	@Autowired
+	private SubscriptionRepository subscriptionRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void concurrentReservationsNeverPassSoftLimit() throws Exception {
+		SubscriptionDTO subscription = SubscriptionFixtures.startTrial(subscriptionService);
+		Integer softLimit = softLimit(subscription.getOrganizationId());
+		assertThat(softLimit).isNotNull();
+
+		List<UsageReservationResponse> responses = runConcurrently(softLimit + 20,
+			() -> usageCounterService.reserve(reserveRequest(subscription.getOrganizationId())));
+
+		List<String> reserved = responses.stream()
+			.filter(response -> Boolean.TRUE.equals(response.getAllowed()))
+			.map(UsageReservationResponse::getReservationId)
+			.toList();
+		assertThat(reserved).hasSize(softLimit).doesNotHaveDuplicates();
+
+		UsageCounter counter = counter(subscription.getId());
+		assertThat(counter.getUsedCount()).isZero();
+		assertThat(counter.getReservedCount()).isEqualTo(softLimit);
+	}
+
+	@Test
+	void concurrentCommitAndReleaseSettleReservations() throws Exception {
+		SubscriptionDTO subscription = SubscriptionFixtures.startTrial(subscriptionService);
+		List<String> reserved = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			reserved.add(usageCounterService.reserve(reserveRequest(subscription.getOrganizationId())).getReservationId());
+		}
+
+		List<String> toCommit = reserved.subList(0, 6);
+		List<String> toRelease = reserved.subList(6, 10);
+		List<Callable<Void>> tasks = new ArrayList<>();
+		toCommit.forEach(token -> tasks.add(() -> {
+			usageCounterService.commit(token);
+			return null;
+		}));
+		toRelease.forEach(token -> tasks.add(() -> {
+			usageCounterService.release(token);
+			return null;
+		}));
+		runAll(tasks);
+
+		UsageCounter counter = counter(subscription.getId());
+		assertThat(counter.getUsedCount()).isEqualTo(6);
+		assertThat(counter.getReservedCount()).isZero();
+
+		// Cada reserva se procesa una sola vez
+		assertThatThrownBy(() -> usageCounterService.commit(toCommit.get(0)))
+			.isInstanceOf(SubscriptionException.class);
+		assertThatThrownBy(() -> usageCounterService.release(toRelease.get(0)))
+			.isInstanceOf(SubscriptionException.class);
+	}
+
+	@Test
+	void newCounterIsSeededFromLatestUsageRecord() {
+		SubscriptionDTO subscription = SubscriptionFixtures.startTrial(subscriptionService);
+		insertUsageRecord(subscription.getId(), "deals", 3, LocalDateTime.now().minusMinutes(5));
+		insertUsageRecord(subscription.getId(), "DEALS", 7, LocalDateTime.now().minusMinutes(1));
+
+		usageCounterService.reserve(reserveRequest(subscription.getOrganizationId()));
+
+		UsageCounter counter = counter(subscription.getId());
+		assertThat(counter.getUsedCount()).isEqualTo(7);
+		assertThat(counter.getReservedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void reportedUsageNeverLowersServerCount() {
+		SubscriptionDTO subscription = SubscriptionFixtures.startTrial(subscriptionService);
+		String token = usageCounterService.reserve(reserveRequest(subscription.getOrganizationId())).getReservationId();
+		usageCounterService.commit(token);
+		Subscription entity = subscriptionRepository.findById(subscription.getId()).orElseThrow();
+
+		usageCounterRepository.upsertUsedCounts(List.of(usageRecord(entity, 0)));
+		assertThat(counter(subscription.getId()).getUsedCount()).isEqualTo(1);
+
+		usageCounterRepository.upsertUsedCounts(List.of(usageRecord(entity, 5)));
+		assertThat(counter(subscription.getId()).getUsedCount()).isEqualTo(5);
+	}
+
+	@Test
+	void batchResolvesMissingCountsFromCounterAndHistory() {
+		SubscriptionDTO withCounter = SubscriptionFixtures.startTrial(subscriptionService);
+		usageCounterService.commit(usageCounterService.reserve(reserveRequest(withCounter.getOrganizationId())).getReservationId());
+		SubscriptionDTO withHistory = SubscriptionFixtures.startTrial(subscriptionService);
+		insertUsageRecord(withHistory.getId(), "deals", 4, LocalDateTime.now().minusMinutes(1));
+
+		List<FeatureLimitValidationResponse> results = featureLimitService.validateFeatureLimits(List.of(
+			validateRequest(withCounter.getOrganizationId(), null),
+			validateRequest(withHistory.getOrganizationId(), null),
+			validateRequest(withHistory.getOrganizationId(), 2))).getResults();
+
+		assertThat(results).extracting(FeatureLimitValidationResponse::getCurrentUsage).containsExactly(1, 4, 2);
+	}
+
+	private Integer softLimit(Long organizationId) {
+		return featureLimitService.getSoftLimit(entitlementCacheService.get(organizationId).orElseThrow(), FEATURE);
+	}
+
+	private ReserveUsageRequest reserveRequest(Long organizationId) {
+		return ReserveUsageRequest.builder()
+			.organizationId(organizationId)
+			.featureCode(FEATURE)
+			.amount(1)
+			.build();
+	}
+
+	private ValidateFeatureLimitRequest validateRequest(Long organizationId, Integer currentCount) {
+		return ValidateFeatureLimitRequest.builder()
+			.organizationId(organizationId)
+			.featureCode(FEATURE.toLowerCase())
+			.currentCount(currentCount)
+			.build();
+	}
+
+	private UsageCounter counter(Long subscriptionId) {
+		return usageCounterRepository.findBySubscriptionIdAndFeatureCode(subscriptionId, FEATURE).orElseThrow();
+	}
+
+	private UsageRecord usageRecord(Subscription subscription, int usageCount) {
+		return UsageRecord.builder()
+			.subscription(subscription)
+			.featureCode(FEATURE)
+			.usageCount(usageCount)
+			.recordedAt(LocalDateTime.now())
+			.limitExceeded(false)
+			.build();
+	}
+
+	private void insertUsageRecord(Long subscriptionId, String featureCode, int usageCount, LocalDateTime recordedAt) {
+		jdbcTemplate.update("INSERT INTO usage_records (subscription_id, feature_code, usage_count, recorded_at) "
+			+ "VALUES (?, ?, ?, ?)", subscriptionId, featureCode, usageCount, recordedAt);
+	}
+
+	private <T> List<T> runConcurrently(int count, Callable<T> task) throws Exception {
+		List<Callable<T>> tasks = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			tasks.add(task);
+		}
+		return runAll(tasks);
+	}
+
+	private <T> List<T> runAll(List<Callable<T>> tasks) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : executor.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,157 @@
+package com.eklesa.subscription.service;
+
+import com.eklesa.subscription.model.Subscription;
+import com.eklesa.subscription.model.UsageRecord;
+import com.eklesa.subscription.repository.UsageCounterRepository;
+import com.eklesa.subscription.repository.UsageRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Buffer write-behind: coalescing, capacity y re-encolado tras un flush fallido.
+ *
+ * Sin BD: los repositories son mocks.
+ */
+class UsageIngestionBufferTests {
+
+	private UsageRecordRepository usageRecordRepository;
+	private UsageCounterRepository usageCounterRepository;
+	private PlatformTransactionManager transactionManager;
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		usageRecordRepository = mock(UsageRecordRepository.class);
+		usageCounterRepository = mock(UsageCounterRepository.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@Test
+	void flushWritesOnlyLatestRecordPerKey() {
+		UsageIngestionBuffer buffer = buffer(100);
+
+		buffer.offer(record(1L, "contacts", 10));
+		buffer.offer(record(1L, "CONTACTS", 11));
+		buffer.offer(record(1L, "contacts", 12));
+		buffer.offer(record(2L, "CONTACTS", 5));
+		buffer.flush();
+
+		List<UsageRecord> written = capturedBatches(1).get(0);
+		assertThat(written).extracting(UsageRecord::getUsageCount).containsExactlyInAnyOrder(12, 5);
+		assertThat(meterRegistry.counter("usage.ingestion.coalesced").count()).isEqualTo(2);
+		assertThat(bufferSize()).isZero();
+	}
+
+	@Test
+	void fullBufferRejectsNewKeysButCoalescesPendingOnes() {
+		UsageIngestionBuffer buffer = buffer(2);
+
+		assertThat(buffer.offer(record(1L, "CONTACTS", 1))).isTrue();
+		assertThat(buffer.offer(record(2L, "CONTACTS", 1))).isTrue();
+		assertThat(buffer.offer(record(3L, "CONTACTS", 1))).isFalse();
+		assertThat(buffer.offer(record(1L, "CONTACTS", 2))).isTrue();
+
+		assertThat(meterRegistry.counter("usage.ingestion.rejected").count()).isEqualTo(1);
+		assertThat(bufferSize()).isEqualTo(2);
+	}
+
+	@Test
+	void failedFlushRequeuesWithoutOverwritingNewerRecords() {
+		UsageIngestionBuffer buffer = buffer(100);
+		when(usageRecordRepository.insertBatch(anyList()))
+			.thenThrow(new IllegalStateException("database down"))
+			.thenReturn(2);
+
+		buffer.offer(record(1L, "CONTACTS", 10));
+		buffer.offer(record(2L, "CONTACTS", 20));
+		buffer.flush();
+
+		assertThat(bufferSize()).isEqualTo(2);
+
+		buffer.offer(record(1L, "CONTACTS", 11));
+		buffer.flush();
+
+		List<UsageRecord> retried = capturedBatches(2).get(1);
+		assertThat(retried).extracting(UsageRecord::getUsageCount).containsExactlyInAnyOrder(11, 20);
+		assertThat(bufferSize()).isZero();
+	}
+
+	@Test
+	void concurrentOffersNeverExceedCapacity() throws Exception {
+		int capacity = 100;
+		UsageIngestionBuffer buffer = buffer(capacity);
+
+		List<Callable<Boolean>> offers = IntStream.range(0, 2_000)
+			.mapToObj(i -> (Callable<Boolean>) () -> buffer.offer(record((long) i, "CONTACTS", 1)))
+			.toList();
+
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		long accepted;
+		try {
+			accepted = 0;
+			for (Future<Boolean> future : executor.invokeAll(offers)) {
+				if (future.get()) {
+					accepted++;
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(accepted).isEqualTo(capacity);
+		assertThat(bufferSize()).isEqualTo(capacity);
+		assertThat(meterRegistry.counter("usage.ingestion.rejected").count()).isEqualTo(2_000 - capacity);
+	}
+
+	private UsageIngestionBuffer buffer(int capacity) {
+		return new UsageIngestionBuffer(usageRecordRepository, usageCounterRepository, transactionManager,
+			meterRegistry, capacity, 1_000);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<List<UsageRecord>> capturedBatches(int flushes) {
+		ArgumentCaptor<List<UsageRecord>> captor = ArgumentCaptor.forClass(List.class);
+		verify(usageRecordRepository, times(flushes)).insertBatch(captor.capture());
+		return captor.getAllValues();
+	}
+
+	private double bufferSize() {
+		return meterRegistry.get("usage.ingestion.buffer.size").gauge().value();
+	}
+
+	private UsageRecord record(Long subscriptionId, String featureCode, int usageCount) {
+		Subscription subscription = Subscription.builder().build();
+		subscription.setId(subscriptionId);
+
+		return UsageRecord.builder()
+			.subscription(subscription)
+			.featureCode(featureCode)
+			.usageCount(usageCount)
+			.recordedAt(LocalDateTime.now())
+			.build();
+	}
+
+}